@@ -0,0 +1,135 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.common;
+
+import static org.jboss.as.controller.client.helpers.ClientConstants.OUTCOME;
+import static org.jboss.as.controller.client.helpers.ClientConstants.RESULT;
+import static org.jboss.as.controller.client.helpers.ClientConstants.SUCCESS;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures matching deployment names with {@link DeploymentInspector} against large lists of deployments.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DeploymentInspectorBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int deployments;
+
+    private ModelControllerClient client;
+    private String exactName;
+
+    @Setup
+    public void setup() {
+        final ModelNode result = new ModelNode();
+        result.get(OUTCOME).set(SUCCESS);
+        final ModelNode names = result.get(RESULT).setEmptyList();
+        for (int i = 0; i < deployments; i++) {
+            names.add(String.format("application-%05d-1.0.%d.war", i, i % 10));
+        }
+        client = new ListDeploymentsClient(result);
+        exactName = String.format("application-%05d-1.0.%d.war", deployments / 2, (deployments / 2) % 10);
+    }
+
+    @Benchmark
+    public List<String> exactName() {
+        return DeploymentInspector.getDeployments(client, exactName, null);
+    }
+
+    @Benchmark
+    public List<String> matchPattern() {
+        return DeploymentInspector.getDeployments(client, null, "application-\\d+-1\\.0\\.1\\.war");
+    }
+
+    /**
+     * A client that always returns the same deployment names without a server.
+     */
+    private static class ListDeploymentsClient implements ModelControllerClient {
+        private final ModelNode result;
+
+        ListDeploymentsClient(final ModelNode result) {
+            this.result = result;
+        }
+
+        @Override
+        public ModelNode execute(final ModelNode operation) throws IOException {
+            return result;
+        }
+
+        @Override
+        public ModelNode execute(final Operation operation) throws IOException {
+            return result;
+        }
+
+        @Override
+        public ModelNode execute(final ModelNode operation, final OperationMessageHandler messageHandler) throws IOException {
+            return result;
+        }
+
+        @Override
+        public ModelNode execute(final Operation operation, final OperationMessageHandler messageHandler) throws IOException {
+            return result;
+        }
+
+        @Override
+        public AsyncFuture<ModelNode> executeAsync(final ModelNode operation, final OperationMessageHandler messageHandler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AsyncFuture<ModelNode> executeAsync(final Operation operation, final OperationMessageHandler messageHandler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() throws IOException {
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment.resource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.dmr.ModelNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the address parsing and the building of add operations used by the {@code add-resource} goal.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ResourceProcessorBenchmark {
+
+    private static final String ADDRESS = "subsystem=datasources,data-source=java:jboss/datasources/BenchmarkDS";
+
+    @Param({"10", "100"})
+    private int properties;
+
+    private ModelNode address;
+    private Map<String, String> plainProperties;
+    private Map<String, String> nestedProperties;
+
+    @Setup
+    public void setup() {
+        address = ResourceProcessor.parseAddress(null, ADDRESS);
+        plainProperties = new LinkedHashMap<String, String>();
+        nestedProperties = new LinkedHashMap<String, String>();
+        for (int i = 0; i < properties; i++) {
+            plainProperties.put("property-" + i, "value-" + i);
+            switch (i % 3) {
+                case 0:
+                    nestedProperties.put(String.format("level-%d,nested-%d", i % 5, i), "value-" + i);
+                    break;
+                case 1:
+                    nestedProperties.put("dmr-" + i, String.format("!!{\"name\" => \"value-%d\", \"list\" => [1, 2, 3], \"flag\" => true}", i));
+                    break;
+                default:
+                    nestedProperties.put(String.format("level-%d,nested-%d", i % 5, i), String.format("!![\"a-%d\", \"b-%d\"]", i, i));
+                    break;
+            }
+        }
+    }
+
+    @Benchmark
+    public ModelNode parseAddress() {
+        return ResourceProcessor.parseAddress(null, ADDRESS);
+    }
+
+    @Benchmark
+    public ModelNode parseDomainAddress() {
+        return ResourceProcessor.parseAddress("full-ha", ADDRESS);
+    }
+
+    @Benchmark
+    public ModelNode buildAddOperation() {
+        return ResourceProcessor.buildAddOperation(address, plainProperties);
+    }
+
+    @Benchmark
+    public ModelNode buildNestedAddOperation() {
+        return ResourceProcessor.buildAddOperation(address, nestedProperties);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures parsing JVM arguments with {@link Arguments} and converting them back to a command line.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ArgumentsBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private String[] args;
+    private Arguments arguments;
+
+    @Setup
+    public void setup() {
+        final List<String> result = new ArrayList<String>(size);
+        for (int i = 0; i < size; i++) {
+            switch (i % 4) {
+                case 0:
+                    result.add(String.format("-Dproperty.%d=value-%d", i, i));
+                    break;
+                case 1:
+                    result.add(String.format("-Dflag.%d", i));
+                    break;
+                case 2:
+                    result.add(String.format("-XX:MaxMetaspaceSize=%dm", i));
+                    break;
+                default:
+                    result.add(String.format("-Xoption%d", i));
+                    break;
+            }
+        }
+        args = result.toArray(new String[result.size()]);
+        arguments = new Arguments();
+        arguments.addAll(args);
+    }
+
+    @Benchmark
+    public void parse(final Blackhole blackhole) {
+        for (String arg : args) {
+            blackhole.consume(Arguments.parse(arg));
+        }
+    }
+
+    @Benchmark
+    public List<String> addAllAsList() {
+        final Arguments result = new Arguments();
+        result.addAll(args);
+        return result.asList();
+    }
+
+    @Benchmark
+    public List<String> asList() {
+        return arguments.asList();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.server;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures scanning server console output the way the {@code ConsoleConsumer} of a {@link Server} does; reading lines,
+ * checking for the shutdown id and handing the lines to a {@link ConsoleSink}.
+ * <p/>
+ * The sink only mirrors fatal output so the Maven log is not part of the measurement.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConsoleBenchmark {
+
+    private static final String SHUTDOWN_ID = "jboss-as-maven-plugin-benchmark-shutdown-id";
+
+    @Param({"1000", "5000"})
+    private int lines;
+
+    private byte[] output;
+
+    @Setup
+    public void setup() {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            if (i % 10 == 9) {
+                // Stack trace lines have no level
+                sb.append("\tat org.jboss.as.server.Benchmark.method").append(i).append("(Benchmark.java:").append(i).append(')');
+            } else {
+                sb.append(String.format("%02d:%02d:%02d,%03d %s  [org.jboss.as.server.deployment] (MSC service thread 1-%d) JBAS015876: Starting deployment of \"app-%d.war\"",
+                        i / 3600 % 24, i / 60 % 60, i % 60, i % 1000, (i % 7 == 0 ? "WARN" : "INFO"), i % 8, i));
+            }
+            sb.append('\n');
+        }
+        output = sb.toString().getBytes(Charset.forName("UTF-8"));
+    }
+
+    @Benchmark
+    public int scan() throws IOException, InterruptedException {
+        final ConsoleSink sink = ConsoleSink.start(new SystemStreamLog(), null, ConsoleSink.Level.FATAL, 0);
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(output)), 64 * 1024);
+        int matches = 0;
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sink.offer(line);
+                if (line.contains(SHUTDOWN_ID)) {
+                    matches++;
+                }
+            }
+        } finally {
+            sink.close();
+        }
+        sink.awaitCompletion(1L, TimeUnit.MINUTES);
+        return matches;
+    }
+
+    @Benchmark
+    public ConsoleSink.Level parseLevel() throws IOException {
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(output)), 64 * 1024);
+        ConsoleSink.Level level = ConsoleSink.Level.INFO;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            level = ConsoleSink.parseLevel(line, level);
+        }
+        return level;
+    }
+}
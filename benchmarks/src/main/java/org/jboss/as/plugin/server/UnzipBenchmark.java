@@ -0,0 +1,143 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.server;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.as.plugin.common.ArchiveEntryFilter;
+import org.jboss.as.plugin.common.Files;
+import org.jboss.as.plugin.common.IoUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures extracting a synthetic server distribution with {@link Files#unzip(File, File, ArchiveEntryFilter)}.
+ * <p/>
+ * The distribution mimics the layout of an AS7 zip; a modules directory with a {@code module.xml} and a jar per
+ * module plus the standalone, domain, bin and docs directories.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class UnzipBenchmark {
+
+    private static final String ROOT = "jboss-as-7.x/";
+
+    @Param({"200", "1000"})
+    private int modules;
+
+    @Param({"full", "standalone"})
+    private String profile;
+
+    private File workDir;
+    private File zipFile;
+    private File targetDir;
+    private ArchiveEntryFilter filter;
+
+    @Setup(Level.Trial)
+    public void createDistribution() throws IOException {
+        workDir = File.createTempFile("unzip-benchmark", "");
+        if (!workDir.delete() || !workDir.mkdirs()) {
+            throw new IOException(String.format("Could not create directory %s", workDir));
+        }
+        zipFile = new File(workDir, "distribution.zip");
+        final Random random = new Random(17L);
+        final ZipOutputStream out = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(zipFile)));
+        try {
+            addEntry(out, "jboss-modules.jar", random, 256 * 1024);
+            for (int i = 0; i < modules; i++) {
+                final String dir = String.format("modules/system/layers/base/org/benchmark/module%d/main/", i);
+                addEntry(out, dir + "module.xml", random, 512);
+                // Vary the jar sizes from a few KiB to half a MiB
+                addEntry(out, dir + String.format("module%d.jar", i), random, 4096 + random.nextInt(512 * 1024));
+            }
+            for (String dir : new String[] {"standalone", "domain"}) {
+                addEntry(out, dir + "/configuration/" + dir + ".xml", random, 64 * 1024);
+                addEntry(out, dir + "/configuration/logging.properties", random, 2048);
+            }
+            for (int i = 0; i < 50; i++) {
+                addEntry(out, String.format("bin/script%d.sh", i), random, 8192);
+                addEntry(out, String.format("docs/schema/schema%d.xsd", i), random, 32 * 1024);
+            }
+        } finally {
+            IoUtils.safeClose(out);
+        }
+        filter = DistributionFilter.create(profile, null, null, null);
+    }
+
+    @Setup(Level.Invocation)
+    public void createTarget() {
+        targetDir = new File(workDir, "target-" + System.nanoTime());
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteTarget() {
+        Files.deleteRecursively(targetDir);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteDistribution() {
+        Files.deleteRecursively(workDir);
+    }
+
+    @Benchmark
+    public File unzip() throws IOException {
+        Files.unzip(zipFile, targetDir, filter);
+        return targetDir;
+    }
+
+    private static void addEntry(final ZipOutputStream out, final String name, final Random random, final int size) throws IOException {
+        out.putNextEntry(new ZipEntry(ROOT + name));
+        // Half random, half repeated content to give a realistic compression ratio
+        final byte[] content = new byte[size];
+        random.nextBytes(content);
+        for (int i = size / 2; i < size; i++) {
+            content[i] = (byte) (i % 31);
+        }
+        out.write(content);
+        out.closeEntry();
+    }
+}
@@ -23,6 +23,8 @@
 package org.jboss.as.plugin.common;
 
 import java.io.Closeable;
+import java.io.File;
+import java.io.FileWriter;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
@@ -117,11 +119,53 @@ public abstract class AbstractServerMojo extends AbstractMojo implements Connect
     @Parameter(property = PropertyNames.TIMEOUT)
     private int timeout = 5000;
 
+    /**
+     * The maximum time, in seconds, a single management operation may take once connected. An operation exceeding the
+     * time is cancelled and the goal fails. A value of {@code 0} or less means no limit.
+     */
+    @Parameter(alias = "operation-timeout", defaultValue = "0", property = PropertyNames.OPERATION_TIMEOUT)
+    private int operationTimeout;
+
+    /**
+     * The maximum time, in seconds, all the management operations of the goal may take together. Once the time has
+     * elapsed the operation in progress is cancelled and the goal fails. A value of {@code 0} or less means no limit.
+     */
+    @Parameter(alias = "goal-timeout", defaultValue = "0", property = PropertyNames.GOAL_TIMEOUT)
+    private int goalTimeout;
+
+    /**
+     * The file a JSON report describing operations that exceeded the {@code operationTimeout} or {@code goalTimeout} is
+     * written to.
+     */
+    @Parameter(alias = "timeout-report", defaultValue = "${project.build.directory}/jboss-as-timeout-report.json", property = PropertyNames.TIMEOUT_REPORT)
+    private File timeoutReport;
+
+    /**
+     * Indicates whether or not a summary of the management operations executed, with their latency percentiles, should
+     * be logged when the goal completes. The operations are only measured if the summary is logged or a
+     * {@code metricsFile} is defined.
+     */
+    @Parameter(alias = "metrics-summary", defaultValue = "false", property = PropertyNames.METRICS_SUMMARY)
+    private boolean metricsSummary;
+
+    /**
+     * The file the latency of each management operation executed is written to as JSON. If not defined no samples
+     * are written, e.g. {@code ${project.build.directory}/jboss-as-metrics.json}.
+     * <p/>
+     * Goals executed in the same build append their operations to the file.
+     */
+    @Parameter(alias = "metrics-file", property = PropertyNames.METRICS_FILE)
+    private File metricsFile;
+
     @Component(role = SettingsDecrypter.class)
     private DefaultSettingsDecrypter settingsDecrypter;
 
     private ModelControllerClient client;
 
+    private OperationMetrics metrics;
+
+    private ModelNode timeouts;
+
     /**
      * The hostname to deploy the archive to. The default is localhost.
      *
@@ -172,7 +216,23 @@ public abstract class AbstractServerMojo extends AbstractMojo implements Connect
             } catch (UnknownHostException e) {
                 throw new IllegalArgumentException(String.format("Host name '%s' is invalid.", hostname), e);
             }
-            if (isDomainServer(result)) {
+            final boolean domainServer = isDomainServer(result);
+            // Only measure the operations if the metrics are reported
+            if (metricsSummary || metricsFile != null) {
+                if (metrics == null) {
+                    metrics = new OperationMetrics(goal(), metricsFile != null);
+                }
+                result = client = new InstrumentedModelControllerClient(result, metrics);
+            }
+            if (operationTimeout > 0 || goalTimeout > 0) {
+                result = client = new DeadlineModelControllerClient(result, operationTimeout, goalTimeout, new DeadlineModelControllerClient.TimeoutHandler() {
+                    @Override
+                    public void timedOut(final ModelNode report) {
+                        reportTimeout(report);
+                    }
+                });
+            }
+            if (domainServer) {
                 result = client = DomainClient.Factory.create(result);
             }
         }
@@ -183,6 +243,7 @@ public abstract class AbstractServerMojo extends AbstractMojo implements Connect
     public final synchronized void close() {
         IoUtils.safeClose(client);
         client = null;
+        reportMetrics();
     }
 
     /**
@@ -231,6 +292,51 @@ public abstract class AbstractServerMojo extends AbstractMojo implements Connect
         return skip;
     }
 
+    private synchronized void reportTimeout(final ModelNode report) {
+        report.get("goal").set(goal());
+        report.get("server").set(String.format("%s:%d", hostname, port));
+        getLog().error(String.format("Management operation timed out: %s", report.toJSONString(true)));
+        if (timeouts == null) {
+            timeouts = new ModelNode().setEmptyList();
+        }
+        timeouts.add(report);
+        if (timeoutReport != null) {
+            final File parent = timeoutReport.getParentFile();
+            FileWriter writer = null;
+            try {
+                if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+                    throw new IOException(String.format("Could not create directory %s", parent));
+                }
+                writer = new FileWriter(timeoutReport);
+                final ModelNode content = new ModelNode();
+                content.get("timeouts").set(timeouts);
+                writer.write(content.toJSONString(false));
+            } catch (IOException e) {
+                getLog().warn(String.format("Could not write the timeout report to %s", timeoutReport), e);
+            } finally {
+                IoUtils.safeClose(writer);
+            }
+        }
+    }
+
+    private void reportMetrics() {
+        final OperationMetrics metrics = this.metrics;
+        this.metrics = null;
+        if (metrics == null || metrics.isEmpty()) {
+            return;
+        }
+        if (metricsSummary) {
+            metrics.logSummary(getLog());
+        }
+        if (metricsFile != null) {
+            try {
+                metrics.write(metricsFile);
+            } catch (IOException e) {
+                getLog().warn(String.format("Could not write the management operation metrics to %s", metricsFile), e);
+            }
+        }
+    }
+
     private void getCredentialsFromSettings() {
         if (settings != null) {
             Server server = settings.getServer(id);
@@ -0,0 +1,51 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.common;
+
+/**
+ * A filter for the entries extracted from an archive.
+ *
+ * @author agent
+ */
+public interface ArchiveEntryFilter {
+
+    /**
+     * A filter that accepts every entry.
+     */
+    ArchiveEntryFilter ALL = new ArchiveEntryFilter() {
+        @Override
+        public boolean accept(final String name, final boolean directory) {
+            return true;
+        }
+    };
+
+    /**
+     * Checks whether or not the entry should be extracted.
+     *
+     * @param name      the name of the entry, relative to the root of the archive
+     * @param directory {@code true} if the entry is a directory
+     *
+     * @return {@code true} if the entry should be extracted, otherwise {@code false}
+     */
+    boolean accept(String name, boolean directory);
+}
@@ -0,0 +1,184 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.common;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deletes directory trees in the background.
+ * <p/>
+ * The directory is first renamed to a sibling with a {@code .deleting-} suffix. The rename is atomic on the same file
+ * system which allows the original path to be reused immediately. The renamed tree is then deleted in parallel chunks
+ * on daemon threads. If the JVM exits before the deletion completes the leftover directory is removed by a later
+ * {@link #sweep(File) sweep}.
+ *
+ * @author agent
+ */
+public final class BackgroundDeleter {
+
+    static final String DELETING_SUFFIX = ".deleting-";
+
+    // The depth of the directories deleted as a single chunk
+    private static final int CHUNK_DEPTH = 2;
+
+    private static ExecutorService executor;
+
+    private BackgroundDeleter() {
+    }
+
+    /**
+     * Moves the directory aside and deletes it in the background. If the directory could not be moved it is deleted
+     * before this method returns.
+     *
+     * @param dir the directory to delete
+     *
+     * @return a future which returns {@code true} if the directory was deleted
+     */
+    public static Future<Boolean> delete(final File dir) {
+        if (!dir.exists()) {
+            return completed(true);
+        }
+        final File moved = new File(dir.getParentFile(), dir.getName() + DELETING_SUFFIX + System.nanoTime());
+        if (!dir.renameTo(moved)) {
+            return completed(Files.deleteRecursively(dir));
+        }
+        return deleteMoved(moved);
+    }
+
+    /**
+     * Deletes any directories left over from previous background deletions of the directory, e.g. from an interrupted
+     * build.
+     *
+     * @param dir the directory which was previously deleted in the background
+     *
+     * @return the number of leftover directories being deleted
+     */
+    public static int sweep(final File dir) {
+        final File parent = dir.getAbsoluteFile().getParentFile();
+        if (parent == null) {
+            return 0;
+        }
+        final String prefix = dir.getName() + DELETING_SUFFIX;
+        final File[] leftovers = parent.listFiles(new FileFilter() {
+            @Override
+            public boolean accept(final File file) {
+                return file.getName().startsWith(prefix);
+            }
+        });
+        if (leftovers == null) {
+            return 0;
+        }
+        for (File leftover : leftovers) {
+            deleteMoved(leftover);
+        }
+        return leftovers.length;
+    }
+
+    private static Future<Boolean> deleteMoved(final File moved) {
+        final FutureTask<Boolean> result = new FutureTask<Boolean>(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                // Delete the deepest chunks in parallel, then the remaining shallow tree
+                final List<File> chunks = new ArrayList<File>();
+                collectChunks(moved, 0, chunks);
+                final List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>(chunks.size());
+                for (final File chunk : chunks) {
+                    futures.add(getExecutor().submit(new Callable<Boolean>() {
+                        @Override
+                        public Boolean call() throws Exception {
+                            return Files.deleteRecursively(chunk);
+                        }
+                    }));
+                }
+                boolean deleted = true;
+                for (Future<Boolean> future : futures) {
+                    try {
+                        deleted = future.get() && deleted;
+                    } catch (ExecutionException e) {
+                        deleted = false;
+                    }
+                }
+                return Files.deleteRecursively(moved) && deleted;
+            }
+        });
+        final Thread t = new Thread(result);
+        t.setName("AS7-Delete-" + moved.getName());
+        t.setDaemon(true);
+        t.start();
+        return result;
+    }
+
+    private static void collectChunks(final File dir, final int depth, final List<File> chunks) {
+        final File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                if (depth + 1 < CHUNK_DEPTH) {
+                    collectChunks(file, depth + 1, chunks);
+                } else {
+                    chunks.add(file);
+                }
+            }
+        }
+    }
+
+    private static Future<Boolean> completed(final boolean value) {
+        final FutureTask<Boolean> result = new FutureTask<Boolean>(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return value;
+            }
+        });
+        result.run();
+        return result;
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            final AtomicInteger count = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable r) {
+                    final Thread t = new Thread(r);
+                    t.setName("AS7-Delete-Worker-" + count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+        }
+        return executor;
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.common;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Utility for computing the SHA-1 checksums of files.
+ * <p>
+ * Files are memory-mapped and hashed in large sequential regions rather than copied through a stream buffer. Large
+ * files can also be hashed as a tree, where chunks are hashed in parallel and the checksum is the hash of the chunk
+ * hashes. Note that a tree hash differs from the plain SHA-1 of the file, e.g. the content hash reported by the server.
+ * </p>
+ * <p>
+ * An instance caches the checksums of files in an index file keyed by the path, size and last modified time of the
+ * file, so unchanged files are not read again.
+ * </p>
+ *
+ * @author agent
+ */
+public class Checksums {
+
+    /**
+     * The default size of the chunks of a tree hash.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 16 * 1024 * 1024;
+
+    private static final String ALGORITHM = "SHA-1";
+    private static final long MAP_SIZE = 64L * 1024L * 1024L;
+
+    private final File indexFile;
+    private final Properties index;
+    private boolean loaded;
+
+    /**
+     * Creates a cache of checksums stored in the index file.
+     *
+     * @param indexFile the file to store the checksums in
+     */
+    public Checksums(final File indexFile) {
+        this.indexFile = indexFile;
+        index = new Properties();
+        loaded = false;
+    }
+
+    /**
+     * Returns the SHA-1 checksum of the file. If the size and last modified time of the file did not change since the
+     * checksum was cached the file is not read.
+     *
+     * @param file the file to compute the checksum for
+     *
+     * @return the checksum
+     *
+     * @throws IOException if the file could not be read
+     */
+    public synchronized byte[] checksum(final File file) throws IOException {
+        load();
+        final String key = file.getAbsolutePath();
+        final String stamp = file.length() + ":" + file.lastModified() + ":";
+        final String value = index.getProperty(key);
+        if (value != null && value.startsWith(stamp)) {
+            return fromHexString(value.substring(stamp.length()));
+        }
+        final byte[] result = sha1(file);
+        index.setProperty(key, stamp + toHexString(result));
+        store();
+        return result;
+    }
+
+    /**
+     * Computes the SHA-1 checksum of the file by memory-mapping it.
+     *
+     * @param file the file to compute the checksum for
+     *
+     * @return the checksum
+     *
+     * @throws IOException if the file could not be read
+     */
+    public static byte[] sha1(final File file) throws IOException {
+        final RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            final FileChannel channel = raf.getChannel();
+            return digest(channel, 0, channel.size());
+        } finally {
+            IoUtils.safeClose(raf);
+        }
+    }
+
+    /**
+     * Computes the SHA-1 checksum of the bytes.
+     *
+     * @param bytes the bytes to compute the checksum for
+     *
+     * @return the checksum
+     */
+    public static byte[] sha1(final byte[] bytes) {
+        return newDigest().digest(bytes);
+    }
+
+    /**
+     * Computes the tree hash of the file. The file is split into chunks which are hashed in parallel, the result is the
+     * SHA-1 checksum of the concatenated chunk checksums.
+     *
+     * @param file      the file to compute the checksum for
+     * @param chunkSize the size of the chunks
+     * @param threads   the number of threads used to hash the chunks
+     *
+     * @return the checksum
+     *
+     * @throws IOException if the file could not be read
+     */
+    public static byte[] treeHash(final File file, final int chunkSize, final int threads) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid chunk size %d", chunkSize));
+        }
+        final RandomAccessFile raf = new RandomAccessFile(file, "r");
+        final ExecutorService executor = (threads > 1 ? Executors.newFixedThreadPool(threads) : null);
+        try {
+            final FileChannel channel = raf.getChannel();
+            final long size = channel.size();
+            final List<Future<byte[]>> chunks = new ArrayList<Future<byte[]>>();
+            final MessageDigest result = newDigest();
+            long position = 0;
+            do {
+                final long start = position;
+                final long length = Math.min(chunkSize, size - position);
+                if (executor == null) {
+                    result.update(digest(channel, start, length));
+                } else {
+                    chunks.add(executor.submit(new Callable<byte[]>() {
+                        @Override
+                        public byte[] call() throws IOException {
+                            return digest(channel, start, length);
+                        }
+                    }));
+                }
+                position += length;
+            } while (position < size);
+            for (Future<byte[]> chunk : chunks) {
+                result.update(chunk.get());
+            }
+            return result.digest();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(String.format("Interrupted while computing the checksum of %s", file));
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(String.format("Could not compute the checksum of %s", file), cause);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            IoUtils.safeClose(raf);
+        }
+    }
+
+    /**
+     * Converts the checksum into a lower case hexadecimal string.
+     *
+     * @param checksum the checksum
+     *
+     * @return the hexadecimal string
+     */
+    public static String toHexString(final byte[] checksum) {
+        final StringBuilder result = new StringBuilder(checksum.length * 2);
+        for (byte b : checksum) {
+            result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return result.toString();
+    }
+
+    /**
+     * Converts the hexadecimal string into a checksum.
+     *
+     * @param value the hexadecimal string
+     *
+     * @return the checksum
+     */
+    public static byte[] fromHexString(final String value) {
+        final byte[] result = new byte[value.length() / 2];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (byte) ((Character.digit(value.charAt(i * 2), 16) << 4) | Character.digit(value.charAt(i * 2 + 1), 16));
+        }
+        return result;
+    }
+
+    private static byte[] digest(final FileChannel channel, final long position, final long length) throws IOException {
+        final MessageDigest digest = newDigest();
+        final long end = position + length;
+        long offset = position;
+        while (offset < end) {
+            final long size = Math.min(MAP_SIZE, end - offset);
+            final MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, offset, size);
+            digest.update(buffer);
+            offset += size;
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (indexFile.isFile()) {
+            InputStream in = null;
+            try {
+                in = new FileInputStream(indexFile);
+                index.load(in);
+            } catch (IOException ignore) {
+                // The index is only a cache, start with an empty index
+                index.clear();
+            } finally {
+                IoUtils.safeClose(in);
+            }
+        }
+    }
+
+    private void store() {
+        // Remove the entries of files which no longer exist to keep the index small
+        final Iterator<Map.Entry<Object, Object>> iterator = index.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (!new File(iterator.next().getKey().toString()).isFile()) {
+                iterator.remove();
+            }
+        }
+        final File dir = indexFile.getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            return;
+        }
+        final File tmp = new File(indexFile.getPath() + ".tmp");
+        OutputStream out = null;
+        try {
+            out = new FileOutputStream(tmp);
+            index.store(out, null);
+            out.close();
+            out = null;
+            if (!tmp.renameTo(indexFile) && (!indexFile.delete() || !tmp.renameTo(indexFile))) {
+                tmp.delete();
+            }
+        } catch (IOException ignore) {
+            tmp.delete();
+        } finally {
+            IoUtils.safeClose(out);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.common;
+
+import static org.jboss.as.controller.client.helpers.ClientConstants.OP;
+import static org.jboss.as.controller.client.helpers.ClientConstants.OP_ADDR;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.OperationBuilder;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+
+/**
+ * A client that enforces a deadline for each operation and for all the operations of a goal.
+ * <p/>
+ * Synchronous operations are executed asynchronously and waited on until the deadline. Asynchronous operations are
+ * watched and cancelled once the deadline expires, if the server does not acknowledge the cancellation within
+ * {@link #CANCEL_GRACE_PERIOD} the connection is closed to release any thread waiting on the result. Each timeout is
+ * reported to the {@link TimeoutHandler}.
+ *
+ * @author agent
+ */
+class DeadlineModelControllerClient implements ModelControllerClient {
+
+    /**
+     * The time, in seconds, to wait for a cancelled operation to complete before closing the connection.
+     */
+    static final long CANCEL_GRACE_PERIOD = 10L;
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private static ScheduledExecutorService watchdog;
+
+    /**
+     * Handles operations that did not complete before their deadline.
+     */
+    interface TimeoutHandler {
+
+        /**
+         * Invoked after an operation was cancelled.
+         *
+         * @param report a description of the timed out operation and the operations still in flight
+         */
+        void timedOut(ModelNode report);
+    }
+
+    private final ModelControllerClient delegate;
+    private final long operationTimeout;
+    private final long goalDeadline;
+    private final long goalTimeout;
+    private final TimeoutHandler handler;
+    private final Map<ModelNode, Long> inFlight;
+
+    /**
+     * Creates a new client.
+     *
+     * @param delegate         the client to execute the operations
+     * @param operationTimeout the maximum time, in seconds, for a single operation or {@code 0} for no limit
+     * @param goalTimeout      the maximum time, in seconds, for all operations starting now or {@code 0} for no
+     *                         limit
+     * @param handler          the handler invoked when an operation times out
+     */
+    DeadlineModelControllerClient(final ModelControllerClient delegate, final int operationTimeout, final int goalTimeout, final TimeoutHandler handler) {
+        this.delegate = delegate;
+        this.operationTimeout = (operationTimeout > 0 ? TimeUnit.SECONDS.toNanos(operationTimeout) : NO_DEADLINE);
+        this.goalTimeout = (goalTimeout > 0 ? TimeUnit.SECONDS.toNanos(goalTimeout) : NO_DEADLINE);
+        this.goalDeadline = (goalTimeout > 0 ? System.nanoTime() + this.goalTimeout : NO_DEADLINE);
+        this.handler = handler;
+        // Identity based as equal operations may be executed concurrently
+        inFlight = Collections.synchronizedMap(new IdentityHashMap<ModelNode, Long>());
+    }
+
+    @Override
+    public ModelNode execute(final ModelNode operation) throws IOException {
+        return execute(OperationBuilder.create(operation).build(), null);
+    }
+
+    @Override
+    public ModelNode execute(final Operation operation) throws IOException {
+        return execute(operation, null);
+    }
+
+    @Override
+    public ModelNode execute(final ModelNode operation, final OperationMessageHandler messageHandler) throws IOException {
+        return execute(OperationBuilder.create(operation).build(), messageHandler);
+    }
+
+    @Override
+    public ModelNode execute(final Operation operation, final OperationMessageHandler messageHandler) throws IOException {
+        final long start = System.nanoTime();
+        final Deadline deadline = deadline(start);
+        if (deadline == null) {
+            return delegate.execute(operation, messageHandler);
+        }
+        if (deadline.remaining <= 0L) {
+            throw timedOut(operation.getOperation(), deadline, start, null);
+        }
+        final ModelNode op = operation.getOperation();
+        inFlight.put(op, start);
+        final AsyncFuture<ModelNode> future = delegate.executeAsync(operation, messageHandler);
+        try {
+            return future.get(deadline.remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw timedOut(op, deadline, start, future);
+        } catch (InterruptedException e) {
+            future.asyncCancel(true);
+            Thread.currentThread().interrupt();
+            final InterruptedIOException ioe = new InterruptedIOException(String.format("Interrupted while executing operation '%s'", op.get(OP).asString()));
+            ioe.initCause(e);
+            throw ioe;
+        } catch (CancellationException e) {
+            throw new IOException(String.format("Operation '%s' was cancelled", op.get(OP).asString()), e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        } finally {
+            inFlight.remove(op);
+        }
+    }
+
+    @Override
+    public AsyncFuture<ModelNode> executeAsync(final ModelNode operation, final OperationMessageHandler messageHandler) {
+        return executeAsync(OperationBuilder.create(operation).build(), messageHandler);
+    }
+
+    @Override
+    public AsyncFuture<ModelNode> executeAsync(final Operation operation, final OperationMessageHandler messageHandler) {
+        final long start = System.nanoTime();
+        final Deadline deadline = deadline(start);
+        final AsyncFuture<ModelNode> future = delegate.executeAsync(operation, messageHandler);
+        if (deadline != null) {
+            final ModelNode op = operation.getOperation();
+            inFlight.put(op, start);
+            final ScheduledFuture<?> task = getWatchdog().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    if (future.getStatus() == AsyncFuture.Status.WAITING) {
+                        timedOut(op, deadline, start, future);
+                    }
+                }
+            }, Math.max(0L, deadline.remaining), TimeUnit.NANOSECONDS);
+            future.addListener(new AsyncFuture.Listener<ModelNode, Object>() {
+                @Override
+                public void handleComplete(final AsyncFuture<? extends ModelNode> future, final Object attachment) {
+                    done();
+                }
+
+                @Override
+                public void handleFailed(final AsyncFuture<? extends ModelNode> future, final Throwable cause, final Object attachment) {
+                    done();
+                }
+
+                @Override
+                public void handleCancelled(final AsyncFuture<? extends ModelNode> future, final Object attachment) {
+                    done();
+                }
+
+                private void done() {
+                    task.cancel(false);
+                    inFlight.remove(op);
+                }
+            }, null);
+        }
+        return future;
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    /**
+     * Determines the deadline for an operation started at the time.
+     *
+     * @param start the start time in nanoseconds
+     *
+     * @return the deadline or {@code null} if there is no deadline
+     */
+    private Deadline deadline(final long start) {
+        if (operationTimeout == NO_DEADLINE && goalDeadline == NO_DEADLINE) {
+            return null;
+        }
+        final long goalRemaining = (goalDeadline == NO_DEADLINE ? NO_DEADLINE : goalDeadline - start);
+        if (goalRemaining < operationTimeout) {
+            return new Deadline("goal", goalTimeout, goalRemaining);
+        }
+        return new Deadline("operation", operationTimeout, operationTimeout);
+    }
+
+    private OperationTimeoutException timedOut(final ModelNode op, final Deadline deadline, final long start, final AsyncFuture<ModelNode> future) {
+        final long now = System.nanoTime();
+        if (future != null) {
+            future.asyncCancel(true);
+            scheduleClose(future);
+        }
+        final ModelNode report = new ModelNode();
+        report.get("timestamp").set(System.currentTimeMillis());
+        report.get("deadline").set(deadline.type);
+        report.get("timeout-ms").set(TimeUnit.NANOSECONDS.toMillis(deadline.timeout));
+        report.get("elapsed-ms").set(TimeUnit.NANOSECONDS.toMillis(now - start));
+        report.get("operation").set(op.get(OP).asString());
+        report.get("address").set(op.get(OP_ADDR));
+        report.get("cancelled").set(future != null);
+        final ModelNode others = report.get("in-flight").setEmptyList();
+        synchronized (inFlight) {
+            inFlight.remove(op);
+            for (Map.Entry<ModelNode, Long> entry : inFlight.entrySet()) {
+                final ModelNode other = others.add();
+                other.get("operation").set(entry.getKey().get(OP).asString());
+                other.get("address").set(entry.getKey().get(OP_ADDR));
+                other.get("elapsed-ms").set(TimeUnit.NANOSECONDS.toMillis(now - entry.getValue()));
+            }
+        }
+        handler.timedOut(report);
+        return new OperationTimeoutException("Operation '%s' on %s did not complete within the %s deadline of %d ms and was cancelled.",
+                op.get(OP).asString(), op.get(OP_ADDR).asString(), deadline.type, TimeUnit.NANOSECONDS.toMillis(deadline.timeout));
+    }
+
+    private void scheduleClose(final AsyncFuture<ModelNode> future) {
+        getWatchdog().schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (future.getStatus() == AsyncFuture.Status.WAITING) {
+                    // The server did not acknowledge the cancellation, closing the connection fails the operation
+                    IoUtils.safeClose(delegate);
+                }
+            }
+        }, CANCEL_GRACE_PERIOD, TimeUnit.SECONDS);
+    }
+
+    private static synchronized ScheduledExecutorService getWatchdog() {
+        if (watchdog == null) {
+            watchdog = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable r) {
+                    final Thread thread = new Thread(r, "AS7-Operation-Watchdog");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return watchdog;
+    }
+
+    private static class Deadline {
+        final String type;
+        final long timeout;
+        final long remaining;
+
+        Deadline(final String type, final long timeout, final long remaining) {
+            this.type = type;
+            this.timeout = timeout;
+            this.remaining = remaining;
+        }
+    }
+}
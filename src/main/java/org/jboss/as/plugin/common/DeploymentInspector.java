@@ -22,8 +22,13 @@
 
 package org.jboss.as.plugin.common;
 
+import static org.jboss.as.controller.client.helpers.ClientConstants.CONTENT;
+import static org.jboss.as.controller.client.helpers.ClientConstants.DEPLOYMENT;
+import static org.jboss.as.controller.client.helpers.ClientConstants.SERVER_GROUP;
+
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -38,6 +43,9 @@ import org.jboss.dmr.ModelNode;
  */
 public class DeploymentInspector {
 
+    private static final String ENABLED = "enabled";
+    private static final String HASH = "hash";
+
     /**
      * Utility Constructor.
      */
@@ -60,7 +68,24 @@ public class DeploymentInspector {
             throw new IllegalArgumentException("exactComparisonName and matchPattern are null. One of them must "
                     + "be set in order to find an existing deployment.");
         }
+        final List<String> result = new ArrayList<String>();
+        for (String deployment : getDeployments(client)) {
+            if (matches(deployment, exactComparisonName, matchPattern)) {
+                result.add(deployment);
+            }
+        }
+        return result;
+
+    }
 
+    /**
+     * Lists the names of all the deployments on the server.
+     *
+     * @param client the client used to query the server
+     *
+     * @return the sorted names of the deployments
+     */
+    public static List<String> getDeployments(ModelControllerClient client) {
         // CLI :read-children-names(child-type=deployment)
         final ModelNode op = ServerOperations.createListDeploymentsOperation();
         final ModelNode listDeploymentsResult;
@@ -72,10 +97,7 @@ public class DeploymentInspector {
                 if (ServerOperations.isSuccessfulOutcome(listDeploymentsResult)) {
                     final List<ModelNode> deployments = ServerOperations.readResult(listDeploymentsResult).asList();
                     for (ModelNode n : deployments) {
-
-                        if (matches(n.asString(), exactComparisonName, matchPattern)) {
-                            result.add(n.asString());
-                        }
+                        result.add(n.asString());
                     }
                 }
             } else {
@@ -87,7 +109,66 @@ public class DeploymentInspector {
 
         Collections.sort(result);
         return result;
+    }
+
+    /**
+     * Checks whether the deployment exists with the content and is enabled.
+     *
+     * @param client       the client used to query the server
+     * @param name         the name of the deployment
+     * @param hash         the SHA-1 hash of the content
+     * @param serverGroups for a domain server the server groups the deployment must be enabled on, otherwise
+     *                     {@code null}
+     *
+     * @return {@code true} if the deployment is enabled with the same content, otherwise {@code false}
+     *
+     * @throws IOException if the server could not be queried
+     */
+    public static boolean isDeployed(final ModelControllerClient client, final String name, final byte[] hash, final List<String> serverGroups) throws IOException {
+        final ModelNode deployment = readResource(client, ServerOperations.createAddress(DEPLOYMENT, name));
+        if (deployment == null || !Arrays.equals(hash, getContentHash(deployment))) {
+            return false;
+        }
+        if (serverGroups == null) {
+            return deployment.get(ENABLED).asBoolean(false);
+        }
+        for (String serverGroup : serverGroups) {
+            final ModelNode address = ServerOperations.createAddress(SERVER_GROUP, serverGroup);
+            address.add(DEPLOYMENT, name);
+            final ModelNode serverGroupDeployment = readResource(client, address);
+            if (serverGroupDeployment == null || !serverGroupDeployment.get(ENABLED).asBoolean(false)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the SHA-1 hash of the content of the deployment as stored by the server.
+     *
+     * @param client the client used to query the server
+     * @param name   the name of the deployment
+     *
+     * @return the hash or {@code null} if the deployment does not exist or its content has no hash
+     *
+     * @throws IOException if the server could not be queried
+     */
+    public static byte[] getContentHash(final ModelControllerClient client, final String name) throws IOException {
+        final ModelNode deployment = readResource(client, ServerOperations.createAddress(DEPLOYMENT, name));
+        return (deployment == null ? null : getContentHash(deployment));
+    }
+
+    private static byte[] getContentHash(final ModelNode deployment) {
+        if (!deployment.hasDefined(CONTENT)) {
+            return null;
+        }
+        final ModelNode content = deployment.get(CONTENT).asList().get(0);
+        return (content.hasDefined(HASH) ? content.get(HASH).asBytes() : null);
+    }
 
+    private static ModelNode readResource(final ModelControllerClient client, final ModelNode address) throws IOException {
+        final ModelNode result = client.execute(ServerOperations.createReadResourceOperation(address));
+        return (ServerOperations.isSuccessfulOutcome(result) ? ServerOperations.readResult(result) : null);
     }
 
     private static boolean matches(String deploymentName, String exactComparisonName, String matchPattern) {
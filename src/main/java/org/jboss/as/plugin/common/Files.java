@@ -125,6 +125,19 @@ public class Files {
      * @throws IOException if an I/O error occurs
      */
     public static void unzip(final File zipFile, final File targetDir) throws IOException {
+        unzip(zipFile, targetDir, ArchiveEntryFilter.ALL);
+    }
+
+    /**
+     * Unzips the entries of the zip file accepted by the filter to the target directory.
+     *
+     * @param zipFile   the zip file to unzip
+     * @param targetDir the directory to extract the zip file to
+     * @param filter    the filter for the entries to extract
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public static void unzip(final File zipFile, final File targetDir, final ArchiveEntryFilter filter) throws IOException {
         final File file;
         if (requiresExtraction(zipFile)) {
             file = extract(zipFile);
@@ -138,6 +151,9 @@ public class Files {
             final byte[] buff = new byte[1024];
             ArchiveEntry entry;
             while ((entry = in.getNextEntry()) != null) {
+                if (!filter.accept(entry.getName(), entry.isDirectory())) {
+                    continue;
+                }
                 final File extractTarget = new File(targetDir.getAbsolutePath(), entry.getName());
                 if (entry.isDirectory()) {
                     extractTarget.mkdirs();
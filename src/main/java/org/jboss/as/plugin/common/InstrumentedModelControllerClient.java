@@ -0,0 +1,278 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.common;
+
+import static org.jboss.as.controller.client.helpers.ClientConstants.OP;
+import static org.jboss.as.controller.client.helpers.ClientConstants.OP_ADDR;
+import static org.jboss.as.controller.client.helpers.ClientConstants.OUTCOME;
+
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.OperationBuilder;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+import org.jboss.threads.AsyncFuture;
+
+/**
+ * A client that records the name, address, request and response size and latency of every operation executed in the
+ * {@link OperationMetrics metrics}.
+ * <p/>
+ * The sizes are the sizes of the DMR encoded operation and response. The request size includes the bytes read from
+ * any attached streams.
+ *
+ * @author agent
+ */
+class InstrumentedModelControllerClient implements ModelControllerClient {
+
+    private final ModelControllerClient delegate;
+    private final OperationMetrics metrics;
+
+    InstrumentedModelControllerClient(final ModelControllerClient delegate, final OperationMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ModelNode execute(final ModelNode operation) throws IOException {
+        return execute(operation, null);
+    }
+
+    @Override
+    public ModelNode execute(final Operation operation) throws IOException {
+        return execute(operation, null);
+    }
+
+    @Override
+    public ModelNode execute(final ModelNode operation, final OperationMessageHandler messageHandler) throws IOException {
+        final Sample sample = new Sample(operation, null);
+        final ModelNode result;
+        try {
+            result = delegate.execute(operation, messageHandler);
+        } catch (IOException e) {
+            sample.failed();
+            throw e;
+        } catch (RuntimeException e) {
+            sample.failed();
+            throw e;
+        }
+        sample.complete(result);
+        return result;
+    }
+
+    @Override
+    public ModelNode execute(final Operation operation, final OperationMessageHandler messageHandler) throws IOException {
+        final List<CountingInputStream> streams = new ArrayList<CountingInputStream>();
+        final Operation op = wrap(operation, streams);
+        final Sample sample = new Sample(operation.getOperation(), streams);
+        final ModelNode result;
+        try {
+            result = delegate.execute(op, messageHandler);
+        } catch (IOException e) {
+            sample.failed();
+            throw e;
+        } catch (RuntimeException e) {
+            sample.failed();
+            throw e;
+        }
+        sample.complete(result);
+        return result;
+    }
+
+    @Override
+    public AsyncFuture<ModelNode> executeAsync(final ModelNode operation, final OperationMessageHandler messageHandler) {
+        final Sample sample = new Sample(operation, null);
+        return listen(delegate.executeAsync(operation, messageHandler), sample);
+    }
+
+    @Override
+    public AsyncFuture<ModelNode> executeAsync(final Operation operation, final OperationMessageHandler messageHandler) {
+        final List<CountingInputStream> streams = new ArrayList<CountingInputStream>();
+        final Operation op = wrap(operation, streams);
+        final Sample sample = new Sample(operation.getOperation(), streams);
+        return listen(delegate.executeAsync(op, messageHandler), sample);
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    private static AsyncFuture<ModelNode> listen(final AsyncFuture<ModelNode> future, final Sample sample) {
+        future.addListener(new AsyncFuture.Listener<ModelNode, Sample>() {
+            @Override
+            public void handleComplete(final AsyncFuture<? extends ModelNode> future, final Sample attachment) {
+                try {
+                    attachment.complete(future.get());
+                } catch (Exception e) {
+                    attachment.failed();
+                }
+            }
+
+            @Override
+            public void handleFailed(final AsyncFuture<? extends ModelNode> future, final Throwable cause, final Sample attachment) {
+                attachment.failed();
+            }
+
+            @Override
+            public void handleCancelled(final AsyncFuture<? extends ModelNode> future, final Sample attachment) {
+                attachment.record(0L, "cancelled");
+            }
+        }, sample);
+        return future;
+    }
+
+    private static Operation wrap(final Operation operation, final List<CountingInputStream> streams) {
+        if (operation.getInputStreams().isEmpty()) {
+            return operation;
+        }
+        final OperationBuilder builder = new OperationBuilder(operation.getOperation(), operation.isAutoCloseStreams());
+        for (InputStream in : operation.getInputStreams()) {
+            final CountingInputStream stream = new CountingInputStream(in);
+            streams.add(stream);
+            builder.addInputStream(stream);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the size of the DMR encoded model node.
+     *
+     * @param node the node
+     *
+     * @return the size in bytes
+     */
+    static long sizeOf(final ModelNode node) {
+        final CountingOutputStream counter = new CountingOutputStream();
+        final DataOutputStream out = new DataOutputStream(counter);
+        try {
+            node.writeExternal(out);
+            out.flush();
+        } catch (IOException ignore) {
+            // Not possible writing to the counter
+        }
+        return counter.count;
+    }
+
+    private static String addressOf(final ModelNode operation) {
+        if (!operation.hasDefined(OP_ADDR)) {
+            return "/";
+        }
+        final StringBuilder result = new StringBuilder();
+        for (Property property : operation.get(OP_ADDR).asPropertyList()) {
+            result.append('/').append(property.getName()).append('=').append(property.getValue().asString());
+        }
+        return (result.length() == 0 ? "/" : result.toString());
+    }
+
+    private class Sample {
+        private final long start;
+        private final String name;
+        private final String address;
+        private final long operationBytes;
+        private final List<CountingInputStream> streams;
+
+        Sample(final ModelNode operation, final List<CountingInputStream> streams) {
+            name = operation.get(OP).asString();
+            address = addressOf(operation);
+            operationBytes = sizeOf(operation);
+            this.streams = streams;
+            start = System.nanoTime();
+        }
+
+        void complete(final ModelNode result) {
+            record(sizeOf(result), result.hasDefined(OUTCOME) ? result.get(OUTCOME).asString() : "unknown");
+        }
+
+        void failed() {
+            record(0L, "error");
+        }
+
+        void record(final long responseBytes, final String outcome) {
+            final long latency = System.nanoTime() - start;
+            long requestBytes = operationBytes;
+            if (streams != null) {
+                for (CountingInputStream stream : streams) {
+                    requestBytes += stream.count.get();
+                }
+            }
+            metrics.record(name, address, latency, requestBytes, responseBytes, outcome);
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private final AtomicLong count = new AtomicLong();
+
+        CountingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int result = super.read();
+            if (result != -1) {
+                count.incrementAndGet();
+            }
+            return result;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int result = super.read(b, off, len);
+            if (result > 0) {
+                count.addAndGet(result);
+            }
+            return result;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long result = super.skip(n);
+            count.addAndGet(result);
+            return result;
+        }
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(final int b) {
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            count += len;
+        }
+    }
+}
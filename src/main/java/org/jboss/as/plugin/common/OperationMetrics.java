@@ -0,0 +1,283 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.common;
+
+import static org.jboss.as.controller.client.helpers.ClientConstants.SUCCESS;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.logging.Log;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Records the latency and size of the management operations executed by a goal.
+ * <p/>
+ * Latencies are recorded in a histogram per operation name. The histogram uses log-linear buckets, each power of two
+ * is split into 64 buckets, which keeps the relative error of the reported percentiles below 2% regardless of the
+ * magnitude of the latency.
+ *
+ * @author agent
+ */
+final class OperationMetrics {
+
+    /**
+     * Identifies the build the metrics file was written by, the plugin classes are loaded once per build.
+     */
+    private static final String SESSION_ID = UUID.randomUUID().toString();
+
+    private static final double[] PERCENTILES = {50D, 90D, 99D};
+
+    private final String goal;
+    private final boolean keepSamples;
+    private final Map<String, Stats> stats;
+    private final List<ModelNode> samples;
+
+    OperationMetrics(final String goal, final boolean keepSamples) {
+        this.goal = goal;
+        this.keepSamples = keepSamples;
+        stats = new TreeMap<String, Stats>();
+        samples = new ArrayList<ModelNode>();
+    }
+
+    /**
+     * Records an executed operation.
+     *
+     * @param operation     the name of the operation
+     * @param address       the address the operation was executed on
+     * @param latency       the latency in nanoseconds
+     * @param requestBytes  the size of the request including attachments
+     * @param responseBytes the size of the response, {@code 0} if the operation did not complete
+     * @param outcome       the outcome of the operation
+     */
+    synchronized void record(final String operation, final String address, final long latency, final long requestBytes,
+                             final long responseBytes, final String outcome) {
+        Stats s = stats.get(operation);
+        if (s == null) {
+            s = new Stats();
+            stats.put(operation, s);
+        }
+        s.histogram.record(latency);
+        s.requestBytes += requestBytes;
+        s.responseBytes += responseBytes;
+        if (!SUCCESS.equals(outcome)) {
+            s.failures++;
+        }
+        if (keepSamples) {
+            final ModelNode sample = new ModelNode();
+            sample.get("timestamp").set(System.currentTimeMillis());
+            sample.get("operation").set(operation);
+            sample.get("address").set(address);
+            sample.get("latency-ms").set(toMillis(latency));
+            sample.get("request-bytes").set(requestBytes);
+            sample.get("response-bytes").set(responseBytes);
+            sample.get("outcome").set(outcome);
+            samples.add(sample);
+        }
+    }
+
+    /**
+     * Checks whether any operations were recorded.
+     *
+     * @return {@code true} if no operations were recorded
+     */
+    synchronized boolean isEmpty() {
+        return stats.isEmpty();
+    }
+
+    /**
+     * Logs a summary table of the recorded operations.
+     *
+     * @param log the log to write the summary to
+     */
+    synchronized void logSummary(final Log log) {
+        if (stats.isEmpty()) {
+            return;
+        }
+        log.info(String.format("Management operations executed by %s:", goal));
+        log.info(String.format("  %-28s %6s %6s %9s %9s %9s %9s %9s %10s %10s", "Operation", "Count", "Failed",
+                "Min ms", "p50 ms", "p90 ms", "p99 ms", "Max ms", "Req KiB", "Resp KiB"));
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            final Stats s = entry.getValue();
+            final Histogram h = s.histogram;
+            log.info(String.format("  %-28s %6d %6d %9.1f %9.1f %9.1f %9.1f %9.1f %10.1f %10.1f", entry.getKey(), h.getCount(), s.failures,
+                    toMillis(h.getMin()), toMillis(h.getValueAtPercentile(PERCENTILES[0])), toMillis(h.getValueAtPercentile(PERCENTILES[1])),
+                    toMillis(h.getValueAtPercentile(PERCENTILES[2])), toMillis(h.getMax()), s.requestBytes / 1024D, s.responseBytes / 1024D));
+        }
+    }
+
+    /**
+     * Writes the summary and the raw samples as JSON. If the file was written earlier in the same build the goal is
+     * appended to the executions already in the file, otherwise the file is replaced.
+     *
+     * @param file the file to write to
+     *
+     * @throws IOException if the file could not be read or written
+     */
+    synchronized void write(final File file) throws IOException {
+        ModelNode report = null;
+        if (file.isFile()) {
+            final Reader reader = new FileReader(file);
+            try {
+                final StringWriter content = new StringWriter();
+                final char[] buffer = new char[8192];
+                int len;
+                while ((len = reader.read(buffer)) != -1) {
+                    content.write(buffer, 0, len);
+                }
+                final ModelNode existing = ModelNode.fromJSONString(content.toString());
+                if (existing.hasDefined("session") && SESSION_ID.equals(existing.get("session").asString())) {
+                    report = existing;
+                }
+            } catch (IllegalArgumentException ignore) {
+                // Not a metrics file written by this build, replace it
+            } finally {
+                IoUtils.safeClose(reader);
+            }
+        }
+        if (report == null) {
+            report = new ModelNode();
+            report.get("session").set(SESSION_ID);
+            report.get("executions").setEmptyList();
+        }
+        final ModelNode execution = report.get("executions").add();
+        execution.get("goal").set(goal);
+        final ModelNode summary = execution.get("operations").setEmptyObject();
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            final Stats s = entry.getValue();
+            final Histogram h = s.histogram;
+            final ModelNode node = summary.get(entry.getKey());
+            node.get("count").set(h.getCount());
+            node.get("failures").set(s.failures);
+            node.get("min-ms").set(toMillis(h.getMin()));
+            for (double percentile : PERCENTILES) {
+                node.get(String.format("p%d-ms", (int) percentile)).set(toMillis(h.getValueAtPercentile(percentile)));
+            }
+            node.get("max-ms").set(toMillis(h.getMax()));
+            node.get("request-bytes").set(s.requestBytes);
+            node.get("response-bytes").set(s.responseBytes);
+        }
+        final ModelNode raw = execution.get("samples").setEmptyList();
+        for (ModelNode sample : samples) {
+            raw.add(sample);
+        }
+        final File parent = file.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException(String.format("Could not create directory %s", parent));
+        }
+        final FileWriter writer = new FileWriter(file);
+        try {
+            writer.write(report.toJSONString(false));
+        } finally {
+            IoUtils.safeClose(writer);
+        }
+    }
+
+    private static double toMillis(final long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1L);
+    }
+
+    private static class Stats {
+        final Histogram histogram = new Histogram();
+        long failures;
+        long requestBytes;
+        long responseBytes;
+    }
+
+    /**
+     * A histogram of positive values with log-linear buckets.
+     */
+    static final class Histogram {
+        private static final int SUB_BUCKET_BITS = 6;
+        private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+        // Values below 2 * SUB_BUCKET_COUNT are exact, every following power of two has SUB_BUCKET_COUNT buckets
+        private final long[] counts = new long[(Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT];
+        private long count;
+        private long min = Long.MAX_VALUE;
+        private long max;
+
+        void record(final long value) {
+            final long v = Math.max(0L, value);
+            counts[indexOf(v)]++;
+            count++;
+            min = Math.min(min, v);
+            max = Math.max(max, v);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        long getMin() {
+            return (count == 0L ? 0L : min);
+        }
+
+        long getMax() {
+            return max;
+        }
+
+        /**
+         * Returns the highest value equivalent to the value at the percentile.
+         *
+         * @param percentile the percentile
+         *
+         * @return the value
+         */
+        long getValueAtPercentile(final double percentile) {
+            if (count == 0L) {
+                return 0L;
+            }
+            final long rank = Math.max(1L, (long) Math.ceil((percentile / 100D) * count));
+            long seen = 0L;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(max, highestEquivalentValue(i));
+                }
+            }
+            return max;
+        }
+
+        static int indexOf(final long value) {
+            final int bucket = Math.max(0, Long.SIZE - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS + 1));
+            return (bucket * SUB_BUCKET_COUNT) + (int) (value >>> bucket);
+        }
+
+        static long highestEquivalentValue(final int index) {
+            final int bucket = Math.max(0, (index / SUB_BUCKET_COUNT) - 1);
+            final long subBucket = index - ((long) bucket * SUB_BUCKET_COUNT);
+            return ((subBucket + 1L) << bucket) - 1L;
+        }
+    }
+}
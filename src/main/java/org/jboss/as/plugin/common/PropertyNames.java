@@ -29,10 +29,54 @@ public interface PropertyNames {
 
     String ADD_RESOURCE_FORCE = "add-resource.force";
 
+    String ADMIN_ONLY_CONFIGURATION = "jboss-as.adminOnlyConfiguration";
+
+    String ANALYSIS_BANDWIDTHS = "jboss-as.analysis.bandwidths";
+
+    String ANALYSIS_REPORT = "jboss-as.analysis.report";
+
+    String ANALYSIS_TOP = "jboss-as.analysis.top";
+
+    String ANALYZE_SERVER_LIBRARIES = "jboss-as.analyzeServerLibraries";
+
+    String BENCHMARK_CYCLES = "jboss-as.benchmark.cycles";
+
+    String BENCHMARK_ITERATIONS = "jboss-as.benchmark.iterations";
+
+    String BENCHMARK_RECOMPRESSION = "jboss-as.benchmark.recompression";
+
+    String BENCHMARK_REPORT = "jboss-as.benchmark.report";
+
+    String BENCHMARK_WARMUP = "jboss-as.benchmark.warmup";
+
+    String BOOT_PROFILE = "jboss-as.bootProfile";
+
     String BUNDLES_PATH = "jboss-as.bundlesPath";
 
     String CHECK_PACKAGING = "jboss-as.checkPackaging";
 
+    String CLASS_DATA_SHARING = "jboss-as.classDataSharing";
+
+    String CLASS_DATA_SHARING_DIR = "jboss-as.classDataSharingDir";
+
+    String CONSOLE_LEVEL = "jboss-as.consoleLevel";
+
+    String CONSOLE_LOG = "jboss-as.consoleLog";
+
+    String CONSOLE_MAX_LINES_PER_SECOND = "jboss-as.consoleMaxLinesPerSecond";
+
+    String DEPENDENCY_EXCLUDES = "jboss-as.dependencies.excludes";
+
+    String DEPENDENCY_INCLUDES = "jboss-as.dependencies.includes";
+
+    String DEPENDENCY_SCOPES = "jboss-as.dependencies.scopes";
+
+    String DEPENDENCY_TRANSITIVE = "jboss-as.dependencies.transitive";
+
+    String DEPENDENCY_TYPES = "jboss-as.dependencies.types";
+
+    String DEPLOY_AGGREGATE = "deploy.aggregate";
+
     String DEPLOY_FORCE = "deploy.force";
 
     String DEPLOY_ENABLED = "deploy.enabled";
@@ -41,14 +85,30 @@ public interface PropertyNames {
 
     String DEPLOYMENT_TARGET_DIR = "jboss-as.deployment.targetDir";
 
+    String DISTRIBUTION_EXCLUDES = "jboss-as.distributionExcludes";
+
+    String DISTRIBUTION_INCLUDES = "jboss-as.distributionIncludes";
+
+    String DISTRIBUTION_MODULES = "jboss-as.distributionModules";
+
+    String DISTRIBUTION_PROFILE = "jboss-as.distributionProfile";
+
     String ENABLE_RESOURCE = "add-resource.enableResource";
 
+    String GENERATE_INDEX = "jboss-as.generateIndex";
+
+    String GOAL_TIMEOUT = "jboss-as.goalTimeout";
+
+    String HEALTH_CHECK_INTERVAL = "jboss-as.healthCheckInterval";
+
     String HOSTNAME = "jboss-as.hostname";
 
     String ID = "jboss-as.id";
 
     String IGNORE_MISSING_DEPLOYMENT = "undeploy.ignoreMissingDeployment";
 
+    String INDEX_CACHE_DIRECTORY = "jboss-as.indexCacheDirectory";
+
     String JAVA_HOME = "java.home";
 
     String JBOSS_ARTIFACT = "jboss-as.artifact";
@@ -67,26 +127,60 @@ public interface PropertyNames {
 
     String JVM_ARGS = "jboss-as.jvmArgs";
 
+    String MAX_ARCHIVE_SIZE = "jboss-as.maxArchiveSize";
+
+    String MAX_DUPLICATE_CLASSES = "jboss-as.maxDuplicateClasses";
+
+    String METRICS_FILE = "jboss-as.metricsFile";
+
+    String METRICS_SUMMARY = "jboss-as.metricsSummary";
+
+    String MODULES_DIRECTORY = "jboss-as.modulesDirectory";
+
     String MODULES_PATH = "jboss-as.modulesPath";
 
+    String NORMALIZE = "jboss-as.normalize";
+
+    String OPERATION_TIMEOUT = "jboss-as.operationTimeout";
+
     String PASSWORD = "jboss-as.password";
 
     String TIMEOUT = "jboss-as.timeout";
 
     String PORT = "jboss-as.port";
 
+    String RECOMPRESSION = "jboss-as.recompression";
+
+    String REDEPLOY_DELTA = "jboss-as.redeploy.delta";
+
+    String REDEPLOY_DELTA_DIRECTORY = "jboss-as.redeploy.deltaDirectory";
+
     String RELOAD = "jboss-as.reload";
 
+    String RELOAD_IF_REQUIRED = "jboss-as.reloadIfRequired";
+
     String RELOAD_TIMEOUT = "jboss-as.reload.timeout";
 
     String SERVER_CONFIG = "jboss-as.serverConfig";
 
+    String SHUTDOWN_TIMEOUT = "jboss-as.shutdownTimeout";
+
     String SKIP = "jboss-as.skip";
 
+    String SKIP_UNCHANGED = "jboss-as.skipUnchanged";
+
     String STARTUP_TIMEOUT = "jboss-as.startupTimeout";
 
+    String STRIP_SERVER_LIBRARIES = "jboss-as.stripServerLibraries";
+
+    String TIMEOUT_REPORT = "jboss-as.timeoutReport";
+
     String USERNAME = "jboss-as.username";
 
+    String VOLATILE_HEADERS = "jboss-as.volatileHeaders";
+
+    String PROFILE_BOOT = "jboss-as.profileBoot";
+
     String PROPERTIES_FILE = "jboss-as.propertiesFile";
 
     String SERVER_ARGS = "jboss-as.serverArgs";
@@ -0,0 +1,171 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.common;
+
+import static org.jboss.as.controller.client.helpers.ClientConstants.CONTROLLER_PROCESS_STATE_STARTING;
+import static org.jboss.as.controller.client.helpers.ClientConstants.CONTROLLER_PROCESS_STATE_STOPPING;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Waits for a standalone server to come back into service after a {@code reload} operation has been executed.
+ * <p/>
+ * A reload closes the management channel of any existing client. Each check therefore uses a new short lived
+ * connection. If the server can not be reached the next attempt is delayed with a jittered exponential back-off. The
+ * server is considered reloaded once the {@code server-state} is neither {@code starting} nor {@code stopping} and the
+ * reload was observed, i.e. the server was unreachable or reported it was stopping or starting. If the reload was too
+ * fast to be observed the server is assumed to be reloaded after a short grace period.
+ *
+ * @author agent
+ */
+public final class ReloadWaiter {
+
+    private static final long INITIAL_DELAY = 25L;
+    private static final long MAX_DELAY = 1000L;
+    private static final long CONNECT_TIMEOUT = 2000L;
+    private static final long UNOBSERVED_GRACE_PERIOD = 1000L;
+
+    private final ConnectionInfo connectionInfo;
+    private final Random random;
+
+    private ReloadWaiter(final ConnectionInfo connectionInfo) {
+        this.connectionInfo = connectionInfo;
+        random = new Random();
+    }
+
+    /**
+     * Creates a new waiter.
+     *
+     * @param connectionInfo the information used to connect to the server
+     *
+     * @return the waiter
+     */
+    public static ReloadWaiter create(final ConnectionInfo connectionInfo) {
+        return new ReloadWaiter(connectionInfo);
+    }
+
+    /**
+     * Executes a {@code reload} operation with the client and waits for the server to come back into service.
+     * <p/>
+     * The client should not be used once this method returns as its channel has been closed by the server.
+     *
+     * @param client  the client used to execute the reload operation
+     * @param timeout the maximum time to wait for the server
+     * @param unit    the time unit of the timeout
+     *
+     * @return the time, in milliseconds, it took for the server to reload
+     *
+     * @throws IOException          if the reload operation could not be executed
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public long reload(final ModelControllerClient client, final long timeout, final TimeUnit unit) throws IOException, InterruptedException {
+        final long start = System.nanoTime();
+        final ModelNode result = client.execute(ServerOperations.createOperation(ServerOperations.RELOAD));
+        if (!ServerOperations.isSuccessfulOutcome(result)) {
+            throw new IllegalStateException(ServerOperations.getFailureDescriptionAsString(result));
+        }
+        await(unit.toNanos(timeout) - (System.nanoTime() - start), unit.toSeconds(timeout));
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /**
+     * Waits for the server to come back into service after a reload operation was executed.
+     *
+     * @param timeout the maximum time to wait for the server
+     * @param unit    the time unit of the timeout
+     *
+     * @return the time, in milliseconds, it took for the server to come back into service
+     *
+     * @throws InterruptedException if the thread was interrupted while waiting
+     */
+    public long waitForReload(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long start = System.nanoTime();
+        await(unit.toNanos(timeout), unit.toSeconds(timeout));
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private void await(final long timeoutNanos, final long timeoutSeconds) throws InterruptedException {
+        final long start = System.nanoTime();
+        final long deadline = start + timeoutNanos;
+        boolean reloadObserved = false;
+        long delay = INITIAL_DELAY;
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0L) {
+            final String state = readServerState(TimeUnit.NANOSECONDS.toMillis(remaining));
+            if (state == null) {
+                // Server could not be reached, back-off before trying to reconnect
+                reloadObserved = true;
+                delay = Math.min(delay * 2, MAX_DELAY);
+            } else if (CONTROLLER_PROCESS_STATE_STARTING.equals(state) || CONTROLLER_PROCESS_STATE_STOPPING.equals(state)) {
+                // Server is reachable, poll quickly
+                reloadObserved = true;
+                delay = INITIAL_DELAY;
+            } else if (reloadObserved || TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= UNOBSERVED_GRACE_PERIOD) {
+                return;
+            }
+            final long sleep = Math.min(jitter(delay), TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            if (sleep > 0L) {
+                TimeUnit.MILLISECONDS.sleep(sleep);
+            }
+        }
+        throw new IllegalStateException(String.format("The server did not reload within %s seconds.", timeoutSeconds));
+    }
+
+    /**
+     * Reads the server state on a new connection.
+     *
+     * @param remaining the time remaining until the deadline, in milliseconds
+     *
+     * @return the server state or {@code null} if the server could not be reached
+     */
+    private String readServerState(final long remaining) {
+        ModelControllerClient client = null;
+        try {
+            final int connectTimeout = (int) Math.max(1L, Math.min(remaining, CONNECT_TIMEOUT));
+            client = ModelControllerClient.Factory.create(connectionInfo.getHostAddress(), connectionInfo.getPort(), connectionInfo.getCallbackHandler(), null, connectTimeout);
+            final ModelNode result = client.execute(ServerOperations.createReadAttributeOperation(ServerOperations.SERVER_STATE));
+            if (ServerOperations.isSuccessfulOutcome(result)) {
+                return ServerOperations.readResultAsString(result);
+            }
+            // The management model is not available yet
+            return CONTROLLER_PROCESS_STATE_STARTING;
+        } catch (IOException e) {
+            return null;
+        } catch (RuntimeException e) {
+            return null;
+        } finally {
+            IoUtils.safeClose(client);
+        }
+    }
+
+    private long jitter(final long delay) {
+        // Use a random delay between half and the full delay to avoid polling in lock step
+        final long half = delay / 2L;
+        return half + (long) (random.nextDouble() * (delay - half + 1L));
+    }
+}
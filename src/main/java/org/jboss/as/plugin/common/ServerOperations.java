@@ -42,6 +42,7 @@ import org.jboss.dmr.Property;
  */
 public class ServerOperations extends Operations {
 
+    public static final String ADMIN_ONLY = "admin-only";
     public static final String ENABLE = "enable";
     public static final String LAUNCH_TYPE = "launch-type";
     public static final String PROFILE = "profile";
@@ -23,11 +23,26 @@
 package org.jboss.as.plugin.deployment;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.List;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.plugin.common.Checksums;
+import org.jboss.as.plugin.common.DeploymentExecutionException;
+import org.jboss.as.plugin.common.DeploymentFailureException;
+import org.jboss.as.plugin.common.DeploymentInspector;
 import org.jboss.as.plugin.common.PropertyNames;
+import org.jboss.as.plugin.deployment.archive.AnnotationIndexer;
+import org.jboss.as.plugin.deployment.archive.Recompression;
+import org.jboss.as.plugin.deployment.archive.ReproducibleArchive;
+import org.jboss.as.plugin.deployment.archive.ServerModules;
+import org.jboss.as.plugin.deployment.archive.ServerModules.ModuleLibrary;
+import org.jboss.as.plugin.deployment.archive.SkinnyArchive;
+import org.jboss.as.plugin.deployment.archive.SkinnyArchive.ProvidedLibrary;
+import org.jboss.as.plugin.deployment.standalone.StandaloneOverlayDeployment;
 
 /**
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
@@ -59,20 +74,278 @@ abstract class AbstractAppDeployment extends AbstractDeployment {
     @Parameter(alias = "check-packaging", property = PropertyNames.CHECK_PACKAGING, defaultValue = "true")
     private boolean checkPackaging;
 
+    /**
+     * Specifies whether the Jandex annotation index, {@code META-INF/jandex.idx}, of each module of the archive should
+     * be generated before deploying so the server does not have to scan the classes for annotations.
+     * <p>
+     * The indexed copy of the archive is written to the {@code jboss-as-index} directory of the target directory and
+     * deployed instead of the archive.
+     * </p>
+     */
+    @Parameter(alias = "generate-index", defaultValue = "false", property = PropertyNames.GENERATE_INDEX)
+    private boolean generateIndex;
+
+    /**
+     * The directory the indexes of the libraries are cached in, by checksum, across builds.
+     */
+    @Parameter(alias = "index-cache-directory", defaultValue = "${settings.localRepository}/.cache/jboss-as-maven-plugin/jandex",
+            property = PropertyNames.INDEX_CACHE_DIRECTORY)
+    private File indexCacheDirectory;
+
+    /**
+     * The modules directory of the target server, e.g. {@code $JBOSS_HOME/modules}. Required to analyze or strip the
+     * libraries provided by the server.
+     */
+    @Parameter(alias = "modules-directory", property = PropertyNames.MODULES_DIRECTORY)
+    private File modulesDirectory;
+
+    /**
+     * Specifies whether the libraries of the archive that are provided by the server modules should be reported.
+     */
+    @Parameter(alias = "analyze-server-libraries", defaultValue = "false", property = PropertyNames.ANALYZE_SERVER_LIBRARIES)
+    private boolean analyzeServerLibraries;
+
+    /**
+     * Specifies whether the libraries of the archive that are provided by the server modules should be removed before
+     * deploying.
+     * <p>
+     * The stripped copy of the archive is written to the {@code jboss-as-skinny} directory of the target directory with
+     * a generated {@code jboss-deployment-structure.xml} depending on the modules and deployed instead of the archive.
+     * Archives which already contain a {@code jboss-deployment-structure.xml} are only analyzed.
+     * </p>
+     */
+    @Parameter(alias = "strip-server-libraries", defaultValue = "false", property = PropertyNames.STRIP_SERVER_LIBRARIES)
+    private boolean stripServerLibraries;
+
+    /**
+     * The compression of the deployed archive; {@code keep} deploys the archive as built, {@code store} stores every
+     * entry, including the entries of nested archives, without compression and {@code store-media} only stores the
+     * entries which are already compressed, like images and nested archives, without compressing them again.
+     * <p>
+     * Uncompressed archives are larger to upload but cheaper for the server to read classes and resources from, which
+     * suits local servers and fast networks. The repacked copy is written to the {@code jboss-as-<policy>} directory of
+     * the target directory and deployed instead of the archive.
+     * </p>
+     */
+    @Parameter(defaultValue = "keep", property = PropertyNames.RECOMPRESSION)
+    private String recompression;
+
+    /**
+     * Specifies whether the archive should be normalized before deploying so that unchanged builds produce an
+     * identical archive. Entries are sorted, timestamps are fixed and volatile manifest headers and the comments of
+     * {@code pom.properties} files are removed, including those of nested archives.
+     * <p>
+     * The normalized copy of the archive is written to the {@code jboss-as-normalized} directory of the target
+     * directory and deployed instead of the archive.
+     * </p>
+     */
+    @Parameter(defaultValue = "false", property = PropertyNames.NORMALIZE)
+    private boolean normalize;
+
+    /**
+     * The manifest headers removed when normalizing the archive. Defaults to the headers written by common build
+     * tools, e.g. {@code Built-By}, {@code Build-Jdk} and {@code Bnd-LastModified}.
+     */
+    @Parameter(alias = "volatile-headers", property = PropertyNames.VOLATILE_HEADERS)
+    private List<String> volatileHeaders;
+
+    /**
+     * Specifies whether a redeploy should be skipped when the server already has the content of the archive deployed
+     * and enabled. Works best with {@code normalize} enabled so that rebuilding unchanged sources results in the same
+     * content.
+     */
+    @Parameter(alias = "skip-unchanged", defaultValue = "false", property = PropertyNames.SKIP_UNCHANGED)
+    private boolean skipUnchanged;
+
+    /**
+     * The directory the entries of the deployed archives are recorded in for delta redeploys. Any other deployment of
+     * the archive removes the recorded entries and the overlay of the delta redeploys from the server.
+     */
+    @Parameter(alias = "delta-directory", defaultValue = "${project.build.directory}/jboss-as-delta", property = PropertyNames.REDEPLOY_DELTA_DIRECTORY)
+    private File deltaDirectory;
+
     private PackageType packageType;
 
+    private File preparedFile;
+
     @Override
     protected void doExecute() throws MojoExecutionException, MojoFailureException {
-        final PackageType packageType = getPackageType();
-        if (checkPackaging && packageType.isIgnored()) {
-            getLog().debug(String.format("Ignoring packaging type %s.", packageType.getPackaging()));
+        if (isPackagingIgnored()) {
+            getLog().debug(String.format("Ignoring packaging type %s.", getPackageType().getPackaging()));
         } else {
+            prepareArchive();
             super.doExecute();
         }
     }
 
+    /**
+     * Applies the transformations enabled for the archive before deploying. Once prepared {@link #file()} returns the
+     * transformed archive.
+     *
+     * @throws MojoExecutionException if the archive could not be transformed
+     */
+    protected final void prepareArchive() throws MojoExecutionException {
+        if (preparedFile != null) {
+            return;
+        }
+        File file = file();
+        try {
+            if (analyzeServerLibraries || stripServerLibraries) {
+                file = stripServerLibraries(file);
+            }
+            if (generateIndex) {
+                file = new AnnotationIndexer(indexCacheDirectory, getLog()).index(file, new File(new File(targetDir, "jboss-as-index"), file.getName()));
+            }
+            if (normalize) {
+                final List<String> headers = (volatileHeaders == null ? ReproducibleArchive.VOLATILE_HEADERS : volatileHeaders);
+                file = new ReproducibleArchive(headers).normalize(file, new File(new File(targetDir, "jboss-as-normalized"), file.getName()));
+            }
+            file = recompress(file, getRecompression());
+        } catch (IOException e) {
+            throw new MojoExecutionException(String.format("Could not prepare %s for deployment", file), e);
+        }
+        preparedFile = file;
+    }
+
+    @Override
+    protected Deployment createDeployment(final ModelControllerClient client) {
+        if (getMatchPattern() != null) {
+            return super.createDeployment(client);
+        }
+        final File file = file();
+        final String deploymentName = (name == null ? file.getName() : name);
+        if (isUnchanged(client, deploymentName, file)) {
+            return new UnchangedDeployment(getType());
+        }
+        final Deployment deployment = super.createDeployment(client);
+        // Entries of previous delta redeploys would shadow the new content
+        return new ResetOverlayDeployment(client, deploymentName, file, deployment);
+    }
+
+    /**
+     * Checks whether {@code skipUnchanged} is enabled for the goal and the server already runs the content of the
+     * archive. Content with an overlay of delta redeploys is never unchanged.
+     *
+     * @param client         the client connected to the server
+     * @param deploymentName the name of the deployment
+     * @param file           the archive
+     *
+     * @return {@code true} if the deployment of the archive can be skipped, otherwise {@code false}
+     */
+    protected final boolean isUnchanged(final ModelControllerClient client, final String deploymentName, final File file) {
+        final Deployment.Type type = getType();
+        if (skipUnchanged && (type == Deployment.Type.FORCE_DEPLOY || type == Deployment.Type.REDEPLOY)) {
+            final Checksums checksums = new Checksums(new File(targetDir, "jboss-as-checksums.properties"));
+            try {
+                final boolean domainServer = isDomainServer();
+                final List<String> serverGroups = (domainServer ? getDomain().getServerGroups() : null);
+                if (DeploymentInspector.isDeployed(client, deploymentName, checksums.checksum(file), serverGroups)
+                        && (domainServer || !createOverlayDeployment(client, deploymentName, file).hasOverlay())) {
+                    getLog().info(String.format("The content of %s is already deployed, skipping %s", deploymentName, type));
+                    return true;
+                }
+            } catch (IOException e) {
+                getLog().warn(String.format("Could not compare %s with the deployed content: %s", deploymentName, e.getMessage()));
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the overlay of previous delta redeploys of the archive from a standalone server, so its entries do not
+     * shadow the content of the next deployment.
+     *
+     * @param client         the client connected to the server
+     * @param deploymentName the name of the deployment
+     * @param file           the archive
+     *
+     * @throws DeploymentExecutionException if the overlay could not be removed
+     */
+    protected final void resetOverlay(final ModelControllerClient client, final String deploymentName, final File file) throws DeploymentExecutionException {
+        if (!isDomainServer()) {
+            try {
+                createOverlayDeployment(client, deploymentName, file).reset();
+            } catch (IOException e) {
+                throw new DeploymentExecutionException(e, "Could not remove the overlay of the delta redeploys of %s", deploymentName);
+            }
+        }
+    }
+
+    private StandaloneOverlayDeployment createOverlayDeployment(final ModelControllerClient client, final String deploymentName, final File file) {
+        return StandaloneOverlayDeployment.create(client, file, deploymentName, getDeltaManifest(deploymentName));
+    }
+
+    /**
+     * Returns the file the entries of the deployed archive are recorded in for delta redeploys.
+     *
+     * @param deploymentName the name of the deployment
+     *
+     * @return the manifest file
+     */
+    protected final File getDeltaManifest(final String deploymentName) {
+        return new File(deltaDirectory, deploymentName + ".properties");
+    }
+
+    /**
+     * Applies the compression policy to the archive.
+     *
+     * @param file          the archive
+     * @param recompression the compression policy
+     *
+     * @return the repacked archive or the archive itself for {@link Recompression#KEEP}
+     *
+     * @throws IOException if the archive could not be repacked
+     */
+    protected final File recompress(final File file, final Recompression recompression) throws IOException {
+        return recompression.apply(file, new File(new File(targetDir, "jboss-as-" + recompression), file.getName()));
+    }
+
+    private Recompression getRecompression() throws MojoExecutionException {
+        try {
+            return Recompression.fromName(recompression);
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+    }
+
+    private File stripServerLibraries(final File file) throws IOException, MojoExecutionException {
+        if (modulesDirectory == null) {
+            throw new MojoExecutionException("The modules directory of the server is required to analyze the server libraries");
+        }
+        final SkinnyArchive skinnyArchive = SkinnyArchive.analyze(file, ServerModules.scan(modulesDirectory));
+        for (ProvidedLibrary library : skinnyArchive.getMismatchedLibraries()) {
+            final ModuleLibrary moduleLibrary = library.getModuleLibrary();
+            getLog().warn(String.format("%s is kept as the module %s:%s provides the different major version %s", library.getEntryName(),
+                    moduleLibrary.getModuleName(), moduleLibrary.getSlot(), moduleLibrary.getVersion()));
+        }
+        if (skinnyArchive.getProvidedLibraries().isEmpty()) {
+            getLog().info(String.format("No libraries of %s are provided by the server", file.getName()));
+            return file;
+        }
+        for (ProvidedLibrary library : skinnyArchive.getProvidedLibraries()) {
+            final ModuleLibrary moduleLibrary = library.getModuleLibrary();
+            getLog().info(String.format("%s (%d bytes) is provided by the module %s:%s as %s", library.getEntryName(), library.getSize(),
+                    moduleLibrary.getModuleName(), moduleLibrary.getSlot(), moduleLibrary.getJarName()));
+        }
+        if (!stripServerLibraries) {
+            getLog().info(String.format("%d bytes of %s are provided by the server", skinnyArchive.getProvidedBytes(), file.getName()));
+            return file;
+        }
+        if (!skinnyArchive.canStrip()) {
+            getLog().warn(String.format("%s has its own jboss-deployment-structure.xml, the server libraries are not stripped", file.getName()));
+            return file;
+        }
+        final File result = skinnyArchive.strip(new File(new File(targetDir, "jboss-as-skinny"), file.getName()));
+        getLog().info(String.format("Stripped %d libraries from %s saving %d bytes, %d bytes compressed", skinnyArchive.getProvidedLibraries().size(),
+                file.getName(), skinnyArchive.getProvidedBytes(), file.length() - result.length()));
+        return result;
+    }
+
     @Override
     protected File file() {
+        if (preparedFile != null) {
+            return preparedFile;
+        }
         final PackageType packageType = getPackageType();
         final String filename;
         if (this.filename == null) {
@@ -83,10 +356,68 @@ abstract class AbstractAppDeployment extends AbstractDeployment {
         return new File(targetDir, filename);
     }
 
+    /**
+     * Checks whether the packaging of the project is one that is not deployed.
+     *
+     * @return {@code true} if the project has nothing to deploy, otherwise {@code false}
+     */
+    protected final boolean isPackagingIgnored() {
+        return checkPackaging && getPackageType().isIgnored();
+    }
+
     protected final synchronized PackageType getPackageType() {
         if (packageType == null) {
             packageType = PackageType.resolve(project);
         }
         return packageType;
     }
+
+    /**
+     * A deployment which removes the overlay of previous delta redeploys before executing the deployment.
+     */
+    private class ResetOverlayDeployment implements Deployment {
+        private final ModelControllerClient client;
+        private final String deploymentName;
+        private final File file;
+        private final Deployment delegate;
+
+        ResetOverlayDeployment(final ModelControllerClient client, final String deploymentName, final File file, final Deployment delegate) {
+            this.client = client;
+            this.deploymentName = deploymentName;
+            this.file = file;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Status execute() throws DeploymentExecutionException, DeploymentFailureException {
+            resetOverlay(client, deploymentName, file);
+            return delegate.execute();
+        }
+
+        @Override
+        public Type getType() {
+            return delegate.getType();
+        }
+    }
+
+    /**
+     * A deployment which does nothing as the server already has the content deployed.
+     */
+    private static class UnchangedDeployment implements Deployment {
+        private final Type type;
+
+        UnchangedDeployment(final Type type) {
+            this.type = type;
+        }
+
+        @Override
+        public Status execute() {
+            return Status.SUCCESS;
+        }
+
+        @Override
+        public Type getType() {
+            return type;
+        }
+    }
 }
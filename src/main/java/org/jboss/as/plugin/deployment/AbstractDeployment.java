@@ -24,6 +24,7 @@ package org.jboss.as.plugin.deployment;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Map;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -38,7 +39,9 @@ import org.jboss.as.plugin.common.DeploymentFailureException;
 import org.jboss.as.plugin.deployment.Deployment.Status;
 import org.jboss.as.plugin.deployment.domain.Domain;
 import org.jboss.as.plugin.deployment.domain.DomainDeployment;
+import org.jboss.as.plugin.deployment.domain.DomainMultiDeployment;
 import org.jboss.as.plugin.deployment.standalone.StandaloneDeployment;
+import org.jboss.as.plugin.deployment.standalone.StandaloneMultiDeployment;
 
 /**
  * The default implementation for executing build plans on the server.
@@ -107,11 +110,20 @@ abstract class AbstractDeployment extends AbstractServerMojo {
     public final void execute() throws MojoExecutionException, MojoFailureException {
         if (isSkip()) {
             getLog().debug(String.format("Skipping deployment of %s:%s", project.getGroupId(), project.getArtifactId()));
+            skipped();
             return;
         }
         doExecute();
     }
 
+    /**
+     * Invoked instead of {@link #doExecute()} when the goal is skipped. By default nothing is done.
+     *
+     * @see #execute()
+     */
+    protected void skipped() throws MojoExecutionException, MojoFailureException {
+    }
+
     protected final Status executeDeployment(final ModelControllerClient client, final Deployment deployment)
             throws DeploymentExecutionException, DeploymentFailureException, IOException {
         // Execute before deployment commands
@@ -135,14 +147,7 @@ abstract class AbstractDeployment extends AbstractServerMojo {
         try {
             validate();
             final ModelControllerClient client = getClient();
-            final String matchPattern = getMatchPattern();
-            final MatchPatternStrategy matchPatternStrategy = getMatchPatternStrategy();
-            final Deployment deployment;
-            if (isDomainServer()) {
-                deployment = DomainDeployment.create((DomainClient) client, domain, file(), name, getType(), matchPattern, matchPatternStrategy);
-            } else {
-                deployment = StandaloneDeployment.create(client, file(), name, getType(), matchPattern, matchPatternStrategy);
-            }
+            final Deployment deployment = createDeployment(client);
             switch (executeDeployment(client, deployment)) {
                 case REQUIRES_RESTART: {
                     getLog().info("Server requires a restart");
@@ -163,6 +168,94 @@ abstract class AbstractDeployment extends AbstractServerMojo {
         }
     }
 
+    /**
+     * Returns the configuration for a domain server.
+     *
+     * @return the domain configuration or {@code null} if not configured
+     */
+    protected final Domain getDomain() {
+        return domain;
+    }
+
+    /**
+     * Creates the deployment executed by {@link #doExecute()}. By default the {@link #file() archive} is deployed with
+     * the {@link #getType() type} of the goal.
+     *
+     * @param client the client connected to the server
+     *
+     * @return the deployment
+     */
+    protected Deployment createDeployment(final ModelControllerClient client) {
+        return createDeployment(client, file(), getType(), getMatchPattern(), getMatchPatternStrategy());
+    }
+
+    /**
+     * Creates a deployment for the server the client is connected to. For a domain server the client is wrapped in a
+     * {@link DomainClient} if required.
+     *
+     * @param client               the client connected to the server
+     * @param file                 the content for the deployment
+     * @param type                 the deployment type
+     * @param matchPattern         the pattern for matching multiple artifacts, if {@code null} the name is used
+     * @param matchPatternStrategy the strategy for handling multiple artifacts
+     *
+     * @return the deployment
+     */
+    protected final Deployment createDeployment(final ModelControllerClient client, final File file, final Deployment.Type type,
+                                                final String matchPattern, final MatchPatternStrategy matchPatternStrategy) {
+        if (isDomainServer()) {
+            final DomainClient domainClient = (client instanceof DomainClient ? (DomainClient) client : DomainClient.Factory.create(client));
+            return DomainDeployment.create(domainClient, domain, file, name, type, matchPattern, matchPatternStrategy);
+        }
+        return StandaloneDeployment.create(client, file, name, type, matchPattern, matchPatternStrategy);
+    }
+
+    /**
+     * Creates a deployment of several archives executed as a single plan for the server the client is connected to.
+     *
+     * @param client   the client connected to the server
+     * @param contents the deployment names mapped to the content in the order the actions should be executed
+     * @param type     the deployment type
+     *
+     * @return the deployment
+     */
+    protected final Deployment createDeployment(final ModelControllerClient client, final Map<String, File> contents, final Deployment.Type type) {
+        if (isDomainServer()) {
+            final DomainClient domainClient = (client instanceof DomainClient ? (DomainClient) client : DomainClient.Factory.create(client));
+            return DomainMultiDeployment.create(domainClient, domain, contents, type);
+        }
+        return StandaloneMultiDeployment.create(client, contents, type);
+    }
+
+    /**
+     * Executes the {@link #getType() deployment type} for all the archives in a single deployment plan.
+     *
+     * @param contents the deployment names mapped to the content in the order the actions should be executed
+     *
+     * @throws MojoExecutionException if the deployment fails
+     * @throws MojoFailureException   if the deployment is invalid
+     */
+    protected final void executeDeployments(final Map<String, File> contents) throws MojoExecutionException, MojoFailureException {
+        try {
+            validate();
+            final ModelControllerClient client = getClient();
+            final Deployment deployment = createDeployment(client, contents, getType());
+            getLog().info(String.format("Executing %s of %d archives in a single deployment plan", getType(), contents.size()));
+            if (executeDeployment(client, deployment) == Status.REQUIRES_RESTART) {
+                getLog().info("Server requires a restart");
+            }
+        } catch (MojoFailureException e) {
+            throw e;
+        } catch (MojoExecutionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new MojoExecutionException(String.format("Could not execute goal %s on %s. Reason: %s", goal(), contents.values(),
+                    e.getMessage()), e);
+        } finally {
+            close();
+        }
+    }
+
     /**
      * Returns the matching pattern for undeploy and redeploy goals. By default {@code null} is returned.
      *
@@ -0,0 +1,63 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment;
+
+import java.io.File;
+
+import org.apache.maven.plugins.annotations.Parameter;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.plugin.common.PropertyNames;
+import org.jboss.as.plugin.deployment.standalone.StandaloneOverlayDeployment;
+
+/**
+ * The base for the redeploy goals.
+ *
+ * @author agent
+ */
+abstract class AbstractRedeployment extends AbstractAppDeployment {
+
+    /**
+     * Specifies whether only the entries of the archive that changed since the last full redeploy should be uploaded.
+     * <p>
+     * The changed entries are added to a {@code deployment-overlay} linked to the deployment before the deployment is
+     * redeployed. If entries were removed from the archive or no entries were recorded yet, the whole archive is
+     * redeployed. Only supported on standalone servers.
+     * </p>
+     */
+    @Parameter(defaultValue = "false", property = PropertyNames.REDEPLOY_DELTA)
+    private boolean delta;
+
+    @Override
+    protected Deployment createDeployment(final ModelControllerClient client) {
+        if (delta) {
+            if (isDomainServer()) {
+                getLog().warn("Delta redeploys are not supported on domain servers, the whole archive is redeployed.");
+            } else {
+                final File file = file();
+                final String deploymentName = (name == null ? file.getName() : name);
+                return StandaloneOverlayDeployment.create(client, file, deploymentName, getDeltaManifest(deploymentName));
+            }
+        }
+        return super.createDeployment(client);
+    }
+}
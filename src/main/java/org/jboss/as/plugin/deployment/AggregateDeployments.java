@@ -0,0 +1,179 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Collects the archives of the projects of a build that should be deployed together.
+ * <p/>
+ * Each project expected to take part registers its archive, or that it has nothing to deploy. The project registering
+ * last receives all the archives, ordered by the reactor order which follows the dependencies between the projects.
+ * The collector is shared by all the projects of a build, including parallel builds where each project has its own
+ * copy of the session.
+ *
+ * @author agent
+ */
+final class AggregateDeployments {
+
+    // Keyed by the request which, unlike the session, is shared by all the projects of a parallel build
+    private static final Map<MavenExecutionRequest, AggregateDeployments> COLLECTORS = new WeakHashMap<MavenExecutionRequest, AggregateDeployments>();
+
+    private final List<String> reactorOrder;
+    private final Set<String> expected;
+    private final Map<String, Registration> registrations;
+
+    private AggregateDeployments(final List<String> reactorOrder, final Set<String> expected) {
+        this.reactorOrder = reactorOrder;
+        this.expected = expected;
+        registrations = new HashMap<String, Registration>();
+    }
+
+    /**
+     * Returns the collector for the build creating it if required.
+     *
+     * @param session  the current session
+     * @param expected the ids, see {@link #id(MavenProject)}, of the projects expected to register
+     *
+     * @return the collector
+     */
+    static AggregateDeployments get(final MavenSession session, final Set<String> expected) {
+        synchronized (COLLECTORS) {
+            AggregateDeployments result = COLLECTORS.get(session.getRequest());
+            if (result == null) {
+                final List<String> reactorOrder = new ArrayList<String>();
+                for (MavenProject project : session.getProjects()) {
+                    reactorOrder.add(id(project));
+                }
+                result = new AggregateDeployments(Collections.unmodifiableList(reactorOrder), expected);
+                COLLECTORS.put(session.getRequest(), result);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The id of the project used to track the registrations.
+     *
+     * @param project the project
+     *
+     * @return the id
+     */
+    static String id(final MavenProject project) {
+        return String.format("%s:%s", project.getGroupId(), project.getArtifactId());
+    }
+
+    /**
+     * Registers the archive of the project.
+     *
+     * @param project the project
+     * @param name    the deployment name or {@code null} if the project has nothing to deploy
+     * @param archive the archive or {@code null} if the project has nothing to deploy
+     *
+     * @return {@code null} if other projects have not registered yet, otherwise the deployment names mapped to the
+     *         archives in reactor order
+     *
+     * @throws MojoFailureException if two projects use the same deployment name
+     */
+    synchronized Map<String, File> register(final MavenProject project, final String name, final File archive) throws MojoFailureException {
+        final String id = id(project);
+        registrations.put(id, new Registration(name, archive));
+        if (!registrations.keySet().containsAll(expected)) {
+            return null;
+        }
+        final Map<String, File> result = new LinkedHashMap<String, File>();
+        final Map<String, String> owners = new HashMap<String, String>();
+        for (String projectId : reactorOrder) {
+            final Registration registration = registrations.get(projectId);
+            if (registration == null || registration.archive == null) {
+                continue;
+            }
+            final String owner = owners.put(registration.name, projectId);
+            if (owner != null) {
+                throw new MojoFailureException(String.format("The projects %s and %s both use the deployment name %s", owner, projectId, registration.name));
+            }
+            result.put(registration.name, registration.archive);
+        }
+        // Allow the collector to be reused if the same goal is executed again in the build
+        registrations.clear();
+        return result;
+    }
+
+    /**
+     * Returns the ids of the expected projects that have not registered yet.
+     *
+     * @return the pending project ids
+     */
+    synchronized List<String> getPending() {
+        final List<String> result = new ArrayList<String>();
+        for (String id : reactorOrder) {
+            if (expected.contains(id) && !registrations.containsKey(id)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the ids of the expected projects that have not registered and never will as they have already been
+     * built. In a sequential build every pending project is reported once the last project of the build registers.
+     *
+     * @param session the current session
+     *
+     * @return the ids of the projects which will never register
+     */
+    synchronized List<String> getMissing(final MavenSession session) {
+        final List<String> pending = getPending();
+        final List<String> result = new ArrayList<String>();
+        for (MavenProject project : session.getProjects()) {
+            final String id = id(project);
+            if (pending.contains(id) && session.getResult().getBuildSummary(project) != null) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private static class Registration {
+        final String name;
+        final File archive;
+
+        Registration(final String name, final File archive) {
+            this.name = name;
+            this.archive = archive;
+        }
+    }
+}
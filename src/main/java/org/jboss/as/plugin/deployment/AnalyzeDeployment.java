@@ -0,0 +1,237 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.jboss.as.plugin.common.IoUtils;
+import org.jboss.as.plugin.common.PropertyNames;
+import org.jboss.as.plugin.deployment.Deployment.Type;
+import org.jboss.as.plugin.deployment.archive.ArchiveAnalysis;
+import org.jboss.as.plugin.deployment.archive.ArchiveAnalysis.Usage;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Analyzes the size of the archive that would be deployed without connecting to the server.
+ * <p/>
+ * The size is broken down by module, library and resource type. Classes contained in more than one JAR and JARs
+ * contained more than once in the archive are reported, as is the estimated upload time for each of the
+ * {@code analysisBandwidths}. The complete analysis is written as JSON to the {@code analysisReport}. The build fails if
+ * the archive exceeds the {@code maxArchiveSize} or contains more than {@code maxDuplicateClasses} duplicated classes.
+ *
+ * @author agent
+ */
+@Mojo(name = "analyze-deployment", defaultPhase = LifecyclePhase.VERIFY, threadSafe = true)
+public class AnalyzeDeployment extends AbstractAppDeployment {
+
+    public static final String GOAL = "analyze-deployment";
+
+    private static final Comparator<Map.Entry<String, Usage>> LARGEST_FIRST = new Comparator<Map.Entry<String, Usage>>() {
+        @Override
+        public int compare(final Map.Entry<String, Usage> o1, final Map.Entry<String, Usage> o2) {
+            final long b1 = o1.getValue().getBytes();
+            final long b2 = o2.getValue().getBytes();
+            return (b1 < b2 ? 1 : (b1 == b2 ? 0 : -1));
+        }
+    };
+
+    /**
+     * A comma delimited list of the bandwidths, in megabits per second, to estimate the upload time for.
+     */
+    @Parameter(alias = "analysis-bandwidths", defaultValue = "10,100,1000", property = PropertyNames.ANALYSIS_BANDWIDTHS)
+    private String analysisBandwidths;
+
+    /**
+     * The number of the largest modules, libraries and resource types logged. The report contains all of them.
+     */
+    @Parameter(alias = "analysis-top", defaultValue = "10", property = PropertyNames.ANALYSIS_TOP)
+    private int analysisTop;
+
+    /**
+     * The file the JSON analysis is written to.
+     */
+    @Parameter(alias = "analysis-report", defaultValue = "${project.build.directory}/jboss-as-analysis.json", property = PropertyNames.ANALYSIS_REPORT)
+    private File analysisReport;
+
+    /**
+     * The maximum size of the archive in bytes. A value of {@code 0} or less disables the check.
+     */
+    @Parameter(alias = "max-archive-size", defaultValue = "0", property = PropertyNames.MAX_ARCHIVE_SIZE)
+    private long maxArchiveSize;
+
+    /**
+     * The maximum number of classes contained in more than one JAR. A negative value disables the check.
+     */
+    @Parameter(alias = "max-duplicate-classes", defaultValue = "-1", property = PropertyNames.MAX_DUPLICATE_CLASSES)
+    private int maxDuplicateClasses;
+
+    @Override
+    public String goal() {
+        return GOAL;
+    }
+
+    @Override
+    public Type getType() {
+        // Nothing is deployed, the type is only required by the deployment goals
+        return Type.DEPLOY;
+    }
+
+    @Override
+    protected void doExecute() throws MojoExecutionException, MojoFailureException {
+        if (isPackagingIgnored()) {
+            getLog().debug(String.format("Ignoring packaging type %s.", getPackageType().getPackaging()));
+            return;
+        }
+        prepareArchive();
+        final File file = file();
+        if (!file.isFile()) {
+            throw new MojoFailureException(String.format("The archive %s does not exist.", file));
+        }
+        final ArchiveAnalysis analysis;
+        try {
+            analysis = ArchiveAnalysis.analyze(file);
+        } catch (IOException e) {
+            throw new MojoExecutionException(String.format("Could not analyze %s", file), e);
+        }
+        final ModelNode report = createReport(analysis);
+        logReport(analysis, report);
+        try {
+            writeReport(report);
+        } catch (IOException e) {
+            throw new MojoExecutionException(String.format("Could not write the analysis to %s", analysisReport), e);
+        }
+        final List<String> violations = new ArrayList<String>();
+        if (maxArchiveSize > 0L && analysis.getArchiveSize() > maxArchiveSize) {
+            violations.add(String.format("the archive size %d exceeds the maximum of %d bytes", analysis.getArchiveSize(), maxArchiveSize));
+        }
+        final int duplicateClasses = report.get("duplicate-class-count").asInt();
+        if (maxDuplicateClasses >= 0 && duplicateClasses > maxDuplicateClasses) {
+            violations.add(String.format("%d duplicated classes exceed the maximum of %d", duplicateClasses, maxDuplicateClasses));
+        }
+        if (!violations.isEmpty()) {
+            throw new MojoFailureException(String.format("The archive %s exceeds its budget: %s", file.getName(), violations));
+        }
+    }
+
+    private ModelNode createReport(final ArchiveAnalysis analysis) throws MojoExecutionException {
+        final ModelNode report = new ModelNode();
+        report.get("archive").set(analysis.getArchive().getAbsolutePath());
+        report.get("archive-size").set(analysis.getArchiveSize());
+        report.get("uncompressed-size").set(analysis.getUncompressedSize());
+        usage(report.get("modules").setEmptyObject(), analysis.getModules());
+        usage(report.get("libraries").setEmptyObject(), analysis.getLibraries());
+        usage(report.get("resource-types").setEmptyObject(), analysis.getResourceTypes());
+        int duplicateClassCount = 0;
+        final ModelNode duplicateClasses = report.get("duplicate-classes").setEmptyList();
+        for (Map.Entry<List<String>, Integer> entry : analysis.getDuplicateClasses().entrySet()) {
+            final ModelNode node = new ModelNode();
+            for (String location : entry.getKey()) {
+                node.get("locations").add(location);
+            }
+            node.get("count").set(entry.getValue());
+            duplicateClasses.add(node);
+            duplicateClassCount += entry.getValue();
+        }
+        report.get("duplicate-class-count").set(duplicateClassCount);
+        final ModelNode duplicateJars = report.get("duplicate-jars").setEmptyObject();
+        for (Map.Entry<String, List<String>> entry : analysis.getDuplicateJars().entrySet()) {
+            final ModelNode locations = duplicateJars.get(entry.getKey()).setEmptyList();
+            for (String location : entry.getValue()) {
+                locations.add(location);
+            }
+        }
+        final ModelNode uploads = report.get("upload-seconds").setEmptyObject();
+        for (String value : analysisBandwidths.split(",")) {
+            final double mbps;
+            try {
+                mbps = Double.parseDouble(value.trim());
+            } catch (NumberFormatException e) {
+                throw new MojoExecutionException(String.format("Invalid bandwidth '%s' in %s", value, analysisBandwidths), e);
+            }
+            uploads.get(value.trim() + "Mbps").set((analysis.getArchiveSize() * 8D) / (mbps * 1000000D));
+        }
+        return report;
+    }
+
+    private void logReport(final ArchiveAnalysis analysis, final ModelNode report) {
+        getLog().info(String.format("%s: %d bytes, %d bytes uncompressed", analysis.getArchive().getName(), analysis.getArchiveSize(),
+                analysis.getUncompressedSize()));
+        logLargest("Modules", analysis.getModules());
+        logLargest("Libraries", analysis.getLibraries());
+        logLargest("Resource types", analysis.getResourceTypes());
+        for (Map.Entry<List<String>, Integer> entry : analysis.getDuplicateClasses().entrySet()) {
+            getLog().warn(String.format("%d classes are duplicated in %s", entry.getValue(), entry.getKey()));
+        }
+        for (Map.Entry<String, List<String>> entry : analysis.getDuplicateJars().entrySet()) {
+            getLog().warn(String.format("%s is contained %d times: %s", entry.getKey(), entry.getValue().size(), entry.getValue()));
+        }
+        for (String bandwidth : report.get("upload-seconds").keys()) {
+            getLog().info(String.format("Estimated upload time at %s: %.2f s", bandwidth, report.get("upload-seconds", bandwidth).asDouble()));
+        }
+    }
+
+    private void logLargest(final String title, final Map<String, Usage> usages) {
+        final List<Map.Entry<String, Usage>> entries = new ArrayList<Map.Entry<String, Usage>>(usages.entrySet());
+        if (entries.isEmpty()) {
+            return;
+        }
+        Collections.sort(entries, LARGEST_FIRST);
+        getLog().info(String.format("%s (%d):", title, entries.size()));
+        for (Map.Entry<String, Usage> entry : entries.subList(0, Math.min(analysisTop, entries.size()))) {
+            getLog().info(String.format("  %12d bytes %6d entries  %s", entry.getValue().getBytes(), entry.getValue().getCount(), entry.getKey()));
+        }
+    }
+
+    private static void usage(final ModelNode node, final Map<String, Usage> usages) {
+        for (Map.Entry<String, Usage> entry : usages.entrySet()) {
+            final ModelNode usage = node.get(entry.getKey());
+            usage.get("entries").set(entry.getValue().getCount());
+            usage.get("bytes").set(entry.getValue().getBytes());
+        }
+    }
+
+    private void writeReport(final ModelNode report) throws IOException {
+        final File parent = analysisReport.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException(String.format("Could not create directory %s", parent));
+        }
+        final FileWriter writer = new FileWriter(analysisReport);
+        try {
+            writer.write(report.toJSONString(false));
+        } finally {
+            IoUtils.safeClose(writer);
+        }
+    }
+}
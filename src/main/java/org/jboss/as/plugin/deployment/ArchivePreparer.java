@@ -0,0 +1,145 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipFile;
+
+import org.apache.maven.plugin.MojoFailureException;
+
+/**
+ * Resolves and validates the archives of a multi-archive deployment concurrently.
+ * <p/>
+ * Each archive is resolved, e.g. downloaded from a repository, and its central directory is read to make sure the
+ * archive is complete before any content is uploaded to the server.
+ *
+ * @author agent
+ */
+final class ArchivePreparer {
+
+    private ArchivePreparer() {
+    }
+
+    /**
+     * Resolves and validates the archives.
+     *
+     * @param sources a description of where each archive comes from mapped to the task resolving the archive
+     *
+     * @return the deployment names, the file names of the archives, mapped to the archives in the order of the sources
+     *
+     * @throws MojoFailureException if an archive could not be resolved, is invalid or two archives have the same name
+     */
+    static Map<String, File> prepare(final Map<String, Callable<File>> sources) throws MojoFailureException {
+        final Map<String, File> result = new LinkedHashMap<String, File>();
+        if (sources.isEmpty()) {
+            return result;
+        }
+        final int threads = Math.min(sources.size(), Runtime.getRuntime().availableProcessors());
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(final Runnable r) {
+                final Thread thread = new Thread(r, "AS7-Archive-Preparer-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            final Map<String, Future<File>> futures = new LinkedHashMap<String, Future<File>>();
+            for (Map.Entry<String, Callable<File>> entry : sources.entrySet()) {
+                final Callable<File> source = entry.getValue();
+                futures.put(entry.getKey(), executor.submit(new Callable<File>() {
+                    @Override
+                    public File call() throws Exception {
+                        final File file = source.call();
+                        validate(file);
+                        return file;
+                    }
+                }));
+            }
+            final List<String> failures = new ArrayList<String>();
+            for (Map.Entry<String, Future<File>> entry : futures.entrySet()) {
+                try {
+                    final File file = entry.getValue().get();
+                    final File previous = result.put(file.getName(), file);
+                    if (previous != null) {
+                        failures.add(String.format("%s: the deployment name %s is also used by %s", entry.getKey(), file.getName(), previous));
+                    }
+                } catch (ExecutionException e) {
+                    final Throwable cause = (e.getCause() == null ? e : e.getCause());
+                    failures.add(String.format("%s: %s", entry.getKey(), cause.getMessage()));
+                }
+            }
+            if (!failures.isEmpty()) {
+                throw new MojoFailureException(String.format("The archives could not be prepared for deployment:%n  %s", join(failures)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoFailureException("Interrupted while preparing the archives for deployment", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        return result;
+    }
+
+    private static void validate(final File file) throws IOException {
+        if (file == null) {
+            throw new IOException("The archive could not be resolved");
+        }
+        if (!file.isFile()) {
+            throw new IOException(String.format("The archive %s does not exist", file));
+        }
+        // Opening the archive reads the central directory which fails for incomplete archives
+        final ZipFile zipFile;
+        try {
+            zipFile = new ZipFile(file);
+        } catch (IOException e) {
+            throw new IOException(String.format("%s is not a valid archive: %s", file, e.getMessage()), e);
+        }
+        zipFile.close();
+    }
+
+    private static String join(final List<String> values) {
+        final StringBuilder result = new StringBuilder();
+        for (String value : values) {
+            if (result.length() > 0) {
+                result.append(String.format("%n  "));
+            }
+            result.append(value);
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.apache.maven.artifact.Artifact;
+
+/**
+ * An index of resolved artifacts keyed by {@code groupId:artifactId}.
+ * <p/>
+ * Looking up an artifact is a hash lookup rather than a scan of the project's artifacts. When several artifacts share
+ * the same {@code groupId:artifactId}, e.g. with different classifiers, the first one is returned by
+ * {@link #get(String, String)}.
+ *
+ * @author agent
+ */
+final class ArtifactIndex {
+
+    private final List<Artifact> artifacts;
+    private final Map<String, Artifact> index;
+
+    private ArtifactIndex(final List<Artifact> artifacts, final Map<String, Artifact> index) {
+        this.artifacts = artifacts;
+        this.index = index;
+    }
+
+    /**
+     * Creates an index over the artifacts.
+     *
+     * @param artifacts the artifacts to index, may be {@code null}
+     *
+     * @return the index
+     */
+    static ArtifactIndex of(final Collection<Artifact> artifacts) {
+        if (artifacts == null) {
+            return new ArtifactIndex(Collections.<Artifact>emptyList(), Collections.<String, Artifact>emptyMap());
+        }
+        final List<Artifact> list = new ArrayList<Artifact>(artifacts);
+        final Map<String, Artifact> index = new HashMap<String, Artifact>(list.size() * 2);
+        for (Artifact artifact : list) {
+            final String key = key(artifact.getGroupId(), artifact.getArtifactId());
+            if (!index.containsKey(key)) {
+                index.put(key, artifact);
+            }
+        }
+        return new ArtifactIndex(Collections.unmodifiableList(list), index);
+    }
+
+    /**
+     * Returns the artifact with the group id and artifact id.
+     *
+     * @param groupId    the group id
+     * @param artifactId the artifact id
+     *
+     * @return the artifact or {@code null} if the artifact is not in the index
+     */
+    Artifact get(final String groupId, final String artifactId) {
+        return index.get(key(groupId, artifactId));
+    }
+
+    /**
+     * Selects the artifacts matching all the criteria, in the order the artifacts were indexed.
+     * <p/>
+     * The include and exclude patterns are in the {@code groupId:artifactId} format where {@code *} matches any
+     * characters. A pattern without a colon only matches the group id.
+     *
+     * @param scopes   the scopes to select or empty to select any scope
+     * @param types    the types to select or empty to select any type
+     * @param includes the patterns to include or empty to include all artifacts
+     * @param excludes the patterns to exclude
+     *
+     * @return the selected artifacts
+     */
+    List<Artifact> select(final Collection<String> scopes, final Collection<String> types,
+                          final Collection<String> includes, final Collection<String> excludes) {
+        final List<Pattern> includePatterns = compile(includes);
+        final List<Pattern> excludePatterns = compile(excludes);
+        final List<Artifact> result = new ArrayList<Artifact>();
+        for (Artifact artifact : artifacts) {
+            if (!scopes.isEmpty() && !scopes.contains(artifact.getScope())) {
+                continue;
+            }
+            if (!types.isEmpty() && !types.contains(artifact.getType())) {
+                continue;
+            }
+            final String key = key(artifact.getGroupId(), artifact.getArtifactId());
+            if (!includePatterns.isEmpty() && !matches(includePatterns, key)) {
+                continue;
+            }
+            if (matches(excludePatterns, key)) {
+                continue;
+            }
+            result.add(artifact);
+        }
+        return result;
+    }
+
+    private static boolean matches(final List<Pattern> patterns, final String key) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(key).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Pattern> compile(final Collection<String> patterns) {
+        final List<Pattern> result = new ArrayList<Pattern>(patterns.size());
+        for (String pattern : patterns) {
+            final String value = (pattern.indexOf(':') < 0 ? pattern + ":*" : pattern);
+            final StringBuilder regex = new StringBuilder();
+            for (String part : value.split("\\*", -1)) {
+                if (regex.length() > 0) {
+                    regex.append(".*");
+                }
+                regex.append(Pattern.quote(part));
+            }
+            result.add(Pattern.compile(regex.toString()));
+        }
+        return result;
+    }
+
+    private static String key(final String groupId, final String artifactId) {
+        return groupId + ':' + artifactId;
+    }
+}
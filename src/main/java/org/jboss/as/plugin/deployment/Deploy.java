@@ -22,11 +22,28 @@
 
 package org.jboss.as.plugin.deployment;
 
+import java.io.File;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Execute;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.plugin.common.DeploymentExecutionException;
+import org.jboss.as.plugin.common.DeploymentFailureException;
 import org.jboss.as.plugin.common.PropertyNames;
 import org.jboss.as.plugin.deployment.Deployment.Type;
 
@@ -39,6 +56,10 @@ import org.jboss.as.plugin.deployment.Deployment.Type;
  * <p/>
  * If {@code force} is set to {@code false} and the application has already been deployed to the server, an error
  * will occur and the deployment will fail.
+ * <p/>
+ * If {@code aggregate} is set to {@code true}, each project of a multi-module build only registers its archive. Once
+ * every project executing the goal has registered, the project registering last deploys all the archives in a single
+ * deployment plan ordered by the reactor order. If one of the deployments fails none of them are deployed.
  *
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  */
@@ -69,6 +90,147 @@ public class Deploy extends AbstractAppDeployment {
     @Parameter(defaultValue = "true", property = PropertyNames.DEPLOY_ENABLED)
     private boolean deployEnabled = true;
 
+    /**
+     * Specifies whether the archives of all the projects of the build should be deployed together in a single
+     * deployment plan once the last project executing this goal has been built.
+     * <p>
+     * The projects expected to take part are the ones with an execution of this goal setting {@code aggregate}, in
+     * its configuration, the configuration of the plugin or with the property, or, when the goal is invoked from the
+     * command line, all the projects of the build. Projects with a packaging that is not deployed, projects skipping
+     * the goal and, with {@code skipUnchanged}, projects whose archive is already deployed take part without deploying
+     * anything. The build fails if an expected project finishes without executing the goal.
+     * </p>
+     */
+    @Parameter(defaultValue = "false", property = PropertyNames.DEPLOY_AGGREGATE)
+    private boolean aggregate;
+
+    @Parameter(defaultValue = "${session}", readonly = true, required = true)
+    private MavenSession session;
+
+    @Parameter(defaultValue = "${mojoExecution}", readonly = true, required = true)
+    private MojoExecution mojoExecution;
+
+    @Override
+    protected void doExecute() throws MojoExecutionException, MojoFailureException {
+        if (!aggregate) {
+            super.doExecute();
+        } else if (isPackagingIgnored()) {
+            register(null, null);
+        } else {
+            prepareArchive();
+            final File file = file();
+            final String deploymentName = (name == null ? file.getName() : name);
+            if (prepareServer(deploymentName, file)) {
+                register(deploymentName, file);
+            } else {
+                register(null, null);
+            }
+        }
+    }
+
+    @Override
+    protected void skipped() throws MojoExecutionException, MojoFailureException {
+        if (aggregate) {
+            register(null, null);
+        }
+    }
+
+    /**
+     * Prepares the server for the archive taking part in the aggregated deployment.
+     *
+     * @param deploymentName the name of the deployment
+     * @param file           the archive
+     *
+     * @return {@code false} if the server already runs the content of the archive, otherwise {@code true}
+     */
+    private boolean prepareServer(final String deploymentName, final File file) throws MojoExecutionException, MojoFailureException {
+        try {
+            validate();
+            final ModelControllerClient client = getClient();
+            if (isUnchanged(client, deploymentName, file)) {
+                return false;
+            }
+            resetOverlay(client, deploymentName, file);
+            return true;
+        } catch (DeploymentFailureException e) {
+            throw new MojoFailureException(e.getMessage(), e);
+        } catch (DeploymentExecutionException e) {
+            throw new MojoExecutionException(String.format("Could not prepare the server for %s. Reason: %s", file, e.getMessage()), e);
+        } finally {
+            close();
+        }
+    }
+
+    private void register(final String name, final File file) throws MojoExecutionException, MojoFailureException {
+        final AggregateDeployments aggregateDeployments = AggregateDeployments.get(session, getAggregateProjects());
+        final Map<String, File> contents = aggregateDeployments.register(project, name, file);
+        if (contents == null) {
+            final List<String> missing = aggregateDeployments.getMissing(session);
+            if (!missing.isEmpty()) {
+                throw new MojoFailureException(String.format("The projects %s finished without executing the %s goal, none of the archives " +
+                        "of the aggregated deployment are deployed", missing, goal()));
+            }
+            getLog().info(String.format("Registered %s for the aggregated deployment, waiting for %s", (file == null ? "nothing" : file),
+                    aggregateDeployments.getPending()));
+        } else if (contents.isEmpty()) {
+            getLog().info("Nothing to deploy in the aggregated deployment");
+        } else {
+            executeDeployments(contents);
+        }
+    }
+
+    /**
+     * Returns the ids of the projects expected to register with the aggregated deployment.
+     *
+     * @return the project ids
+     */
+    private Set<String> getAggregateProjects() {
+        final Set<String> result = new HashSet<String>();
+        final boolean cli = mojoExecution.getSource() == MojoExecution.Source.CLI;
+        for (MavenProject reactorProject : session.getProjects()) {
+            if (cli || executesAggregateGoal(reactorProject)) {
+                result.add(AggregateDeployments.id(reactorProject));
+            }
+        }
+        return result;
+    }
+
+    private boolean executesAggregateGoal(final MavenProject reactorProject) {
+        for (Plugin plugin : reactorProject.getBuildPlugins()) {
+            if (mojoExecution.getGroupId().equals(plugin.getGroupId()) && mojoExecution.getArtifactId().equals(plugin.getArtifactId())) {
+                for (PluginExecution execution : plugin.getExecutions()) {
+                    if (execution.getGoals().contains(goal()) && isAggregate(reactorProject, execution.getConfiguration(), plugin.getConfiguration())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether an execution sets the {@code aggregate} parameter, either in its configuration, the configuration
+     * of the plugin or with the property of the parameter.
+     */
+    private boolean isAggregate(final MavenProject reactorProject, final Object... configurations) {
+        for (Object configuration : configurations) {
+            if (configuration instanceof Xpp3Dom) {
+                final Xpp3Dom value = ((Xpp3Dom) configuration).getChild("aggregate");
+                if (value != null && value.getValue() != null && !value.getValue().trim().startsWith("${")) {
+                    return Boolean.parseBoolean(value.getValue().trim());
+                }
+            }
+        }
+        String value = session.getUserProperties().getProperty(PropertyNames.DEPLOY_AGGREGATE);
+        if (value == null) {
+            value = session.getSystemProperties().getProperty(PropertyNames.DEPLOY_AGGREGATE);
+        }
+        if (value == null) {
+            value = reactorProject.getProperties().getProperty(PropertyNames.DEPLOY_AGGREGATE);
+        }
+        return Boolean.parseBoolean(value);
+    }
+
     @Override
     public String goal() {
         return "deploy";
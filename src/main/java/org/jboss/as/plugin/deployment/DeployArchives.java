@@ -0,0 +1,165 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+import org.jboss.as.plugin.common.PropertyNames;
+import org.jboss.as.plugin.deployment.Deployment.Type;
+import org.jboss.as.plugin.server.ArtifactResolver;
+
+/**
+ * Deploys several archives to the application server in a single deployment plan.
+ * <p/>
+ * All the add, replace and deploy actions are executed by the server in one management operation. If any archive fails
+ * to deploy the whole plan is rolled back. The archives are resolved and validated concurrently before the plan is
+ * executed.
+ *
+ * @author agent
+ */
+@Mojo(name = "deploy-archives", requiresDependencyResolution = ResolutionScope.RUNTIME, threadSafe = true)
+public class DeployArchives extends AbstractDeployment {
+
+    public static final String GOAL = "deploy-archives";
+
+    /**
+     * The archive files to deploy.
+     */
+    @Parameter
+    private File[] archives;
+
+    /**
+     * The artifacts to deploy in the {@code groupId:artifactId[:version[:packaging[:classifier]]]} format.
+     * <p/>
+     * If no version is defined the artifact must be a project in the reactor or a dependency of the project. If the
+     * version is defined the artifact is resolved from the repositories.
+     */
+    @Parameter
+    private String[] artifacts;
+
+    /**
+     * Specifies whether force mode should be used or not.
+     * </p>
+     * If force mode is disabled, the goal will cause a build failure if any of the archives being deployed already
+     * exist.
+     */
+    @Parameter(defaultValue = "true", property = PropertyNames.DEPLOY_FORCE)
+    private boolean force;
+
+    @Parameter(defaultValue = "${reactorProjects}", readonly = true, required = true)
+    private List<MavenProject> reactorProjects;
+
+    @Component
+    private ArtifactResolver artifactResolver;
+
+    private ArtifactIndex dependencies;
+
+    @Override
+    protected File file() {
+        return null;
+    }
+
+    @Override
+    public String goal() {
+        return GOAL;
+    }
+
+    @Override
+    public Type getType() {
+        return (force ? Type.FORCE_DEPLOY : Type.DEPLOY);
+    }
+
+    @Override
+    protected void doExecute() throws MojoExecutionException, MojoFailureException {
+        final Map<String, Callable<File>> sources = new LinkedHashMap<String, Callable<File>>();
+        if (archives != null) {
+            for (final File archive : archives) {
+                sources.put(archive.getPath(), new Callable<File>() {
+                    @Override
+                    public File call() {
+                        return archive;
+                    }
+                });
+            }
+        }
+        if (artifacts != null) {
+            for (final String artifact : artifacts) {
+                sources.put(artifact, new Callable<File>() {
+                    @Override
+                    public File call() {
+                        return resolve(artifact);
+                    }
+                });
+            }
+        }
+        if (sources.isEmpty()) {
+            throw new MojoFailureException(String.format("At least one archive or artifact must be defined for goal %s", goal()));
+        }
+        executeDeployments(ArchivePreparer.prepare(sources));
+    }
+
+    private File resolve(final String artifact) {
+        final String[] coordinates = artifact.split(":");
+        if (coordinates.length < 2) {
+            throw new IllegalArgumentException(String.format("Invalid artifact '%s', the format is groupId:artifactId[:version[:packaging[:classifier]]]", artifact));
+        }
+        if (coordinates.length > 2) {
+            return artifactResolver.resolve(project, artifact);
+        }
+        final String groupId = coordinates[0];
+        final String artifactId = coordinates[1];
+        for (MavenProject reactorProject : reactorProjects) {
+            if (groupId.equals(reactorProject.getGroupId()) && artifactId.equals(reactorProject.getArtifactId())) {
+                final File file = reactorProject.getArtifact().getFile();
+                if (file == null) {
+                    throw new IllegalStateException(String.format("The reactor project %s has not been packaged", artifact));
+                }
+                return file;
+            }
+        }
+        final Artifact dependency = getDependencies().get(groupId, artifactId);
+        if (dependency != null) {
+            return dependency.getFile();
+        }
+        throw new IllegalArgumentException(String.format("Artifact %s is not a reactor project or dependency, define the version to resolve it from a repository", artifact));
+    }
+
+    private synchronized ArtifactIndex getDependencies() {
+        if (dependencies == null) {
+            dependencies = ArtifactIndex.of(project.getArtifacts());
+        }
+        return dependencies;
+    }
+}
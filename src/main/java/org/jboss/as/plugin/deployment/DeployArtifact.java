@@ -23,7 +23,6 @@
 package org.jboss.as.plugin.deployment;
 
 import java.io.File;
-import java.util.Set;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -33,7 +32,6 @@ import org.jboss.as.plugin.common.DeploymentFailureException;
 import org.jboss.as.plugin.common.PropertyNames;
 import org.jboss.as.plugin.deployment.Deployment.Type;
 
-import java.util.HashSet;
 /**
  * Deploys an arbitrary artifact to the JBoss application server
  *
@@ -80,17 +78,8 @@ public final class DeployArtifact extends AbstractDeployment {
         if (groupId == null) {
             throw new DeploymentFailureException("deploy-artifact must specify the groupId");
         }
-        final Set<Artifact> dependencies = new HashSet<Artifact>();
         // Allows provided dependencies to be seen
-        dependencies.addAll(project.getDependencyArtifacts());
-        Artifact artifact = null;
-        for (final Artifact a : dependencies) {
-            if (a.getArtifactId().equals(artifactId) &&
-                    a.getGroupId().equals(groupId)) {
-                artifact = a;
-                break;
-            }
-        }
+        final Artifact artifact = ArtifactIndex.of(project.getDependencyArtifacts()).get(groupId, artifactId);
         if (artifact == null) {
             throw new DeploymentFailureException("Could not resolve artifact to deploy " + groupId + ":" + artifactId);
         }
@@ -0,0 +1,375 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.jboss.as.plugin.common.DeploymentFailureException;
+import org.jboss.as.plugin.common.DeploymentInspector;
+import org.jboss.as.plugin.common.IoUtils;
+import org.jboss.as.plugin.common.PropertyNames;
+import org.jboss.as.plugin.deployment.Deployment.Type;
+import org.jboss.as.plugin.deployment.archive.Recompression;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Measures the latency of deployments by repeatedly running deployment cycles with the application against the
+ * server.
+ * <p/>
+ * The supported cycles are {@code deploy-undeploy}, {@code redeploy} and {@code force-deploy}. Each measured operation
+ * is split into the time spent uploading the content, the remaining time executing the deployment plan and the time
+ * spent verifying the result on the server. The minimum, 50th, 95th and 99th percentile and maximum times are logged
+ * and written as JSON to the {@code benchmarkReport}.
+ * <p/>
+ * With {@code benchmarkRecompression} the cycles are repeated for a copy of the archive repacked with each compression
+ * policy, so the deployment times of compressed and uncompressed archives can be compared.
+ * <p/>
+ * Any deployment with the same name is replaced and the application is undeployed once the benchmark completes.
+ *
+ * @author agent
+ */
+@Mojo(name = "deploy-benchmark", requiresDependencyResolution = ResolutionScope.RUNTIME, threadSafe = true)
+public class DeployBenchmark extends AbstractAppDeployment {
+
+    public static final String GOAL = "deploy-benchmark";
+
+    private static final double[] PERCENTILES = {50D, 95D, 99D};
+
+    enum Cycle {
+        DEPLOY_UNDEPLOY("deploy-undeploy"),
+        REDEPLOY("redeploy"),
+        FORCE_DEPLOY("force-deploy");
+
+        private final String name;
+
+        private Cycle(final String name) {
+            this.name = name;
+        }
+
+        static Cycle fromName(final String name) {
+            final String value = name.trim().toLowerCase(Locale.ENGLISH);
+            for (Cycle cycle : values()) {
+                if (cycle.name.equals(value)) {
+                    return cycle;
+                }
+            }
+            throw new IllegalArgumentException(String.format("Invalid benchmark cycle '%s'. Valid cycles are %s.", name, Arrays.asList(values())));
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * A comma delimited list of the cycles to run; {@code deploy-undeploy}, {@code redeploy} and
+     * {@code force-deploy}.
+     */
+    @Parameter(alias = "benchmark-cycles", defaultValue = "deploy-undeploy,redeploy,force-deploy", property = PropertyNames.BENCHMARK_CYCLES)
+    private String benchmarkCycles;
+
+    /**
+     * The number of measured iterations of each cycle.
+     */
+    @Parameter(alias = "benchmark-iterations", defaultValue = "20", property = PropertyNames.BENCHMARK_ITERATIONS)
+    private int benchmarkIterations;
+
+    /**
+     * The number of iterations of each cycle executed before measuring.
+     */
+    @Parameter(alias = "benchmark-warmup", defaultValue = "3", property = PropertyNames.BENCHMARK_WARMUP)
+    private int benchmarkWarmup;
+
+    /**
+     * A comma delimited list of the compression policies to compare, e.g. {@code keep,store}. Each cycle is run with a
+     * copy of the archive repacked with each policy, see the {@code recompression} parameter. If not defined only the
+     * archive is benchmarked.
+     */
+    @Parameter(alias = "benchmark-recompression", property = PropertyNames.BENCHMARK_RECOMPRESSION)
+    private String benchmarkRecompression;
+
+    /**
+     * The file the JSON results are written to.
+     */
+    @Parameter(alias = "benchmark-report", defaultValue = "${project.build.directory}/jboss-as-deploy-benchmark.json", property = PropertyNames.BENCHMARK_REPORT)
+    private File benchmarkReport;
+
+    @Override
+    public String goal() {
+        return GOAL;
+    }
+
+    @Override
+    public Type getType() {
+        return Type.FORCE_DEPLOY;
+    }
+
+    @Override
+    protected void doExecute() throws MojoExecutionException, MojoFailureException {
+        if (isPackagingIgnored()) {
+            getLog().debug(String.format("Ignoring packaging type %s.", getPackageType().getPackaging()));
+            return;
+        }
+        prepareArchive();
+        final File file = file();
+        if (!file.isFile()) {
+            throw new MojoFailureException(String.format("The archive %s does not exist.", file));
+        }
+        if (benchmarkIterations < 1) {
+            throw new MojoFailureException("At least one benchmark iteration is required.");
+        }
+        final List<Cycle> cycles = new ArrayList<Cycle>();
+        try {
+            for (String cycle : benchmarkCycles.split(",")) {
+                if (!cycle.trim().isEmpty()) {
+                    cycles.add(Cycle.fromName(cycle));
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            throw new MojoFailureException(e.getMessage(), e);
+        }
+        final List<Recompression> recompressions = new ArrayList<Recompression>();
+        if (benchmarkRecompression != null) {
+            try {
+                for (String recompression : benchmarkRecompression.split(",")) {
+                    if (!recompression.trim().isEmpty()) {
+                        recompressions.add(Recompression.fromName(recompression));
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                throw new MojoFailureException(e.getMessage(), e);
+            }
+        }
+        try {
+            validate();
+            final Map<String, File> variants = new LinkedHashMap<String, File>();
+            if (recompressions.isEmpty()) {
+                variants.put("", file);
+            }
+            for (Recompression recompression : recompressions) {
+                final File variant = recompress(file, recompression);
+                getLog().info(String.format("The %s variant of %s is %d bytes", recompression, file.getName(), variant.length()));
+                variants.put(recompression + " ", variant);
+            }
+            final UploadTrackingClient client = new UploadTrackingClient(getClient());
+            final Map<String, Series> results = new LinkedHashMap<String, Series>();
+            for (Map.Entry<String, File> variant : variants.entrySet()) {
+                for (Cycle cycle : cycles) {
+                    getLog().info(String.format("Running %d warm up and %d measured iterations of %s with %s", benchmarkWarmup, benchmarkIterations,
+                            cycle, variant.getValue()));
+                    runCycle(client, variant.getValue(), cycle, variant.getKey(), results);
+                }
+            }
+            final ModelNode report = createReport(file, results);
+            writeReport(report);
+            for (Map.Entry<String, Series> entry : results.entrySet()) {
+                getLog().info(entry.getValue().describe(entry.getKey()));
+            }
+            getLog().info(String.format("Benchmark results written to %s", benchmarkReport));
+        } catch (MojoFailureException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new MojoExecutionException(String.format("Could not execute goal %s on %s. Reason: %s", goal(), file, e.getMessage()), e);
+        } finally {
+            close();
+        }
+    }
+
+    private void runCycle(final UploadTrackingClient client, final File file, final Cycle cycle, final String prefix, final Map<String, Series> results) throws Exception {
+        // Start each cycle in a known state
+        switch (cycle) {
+            case REDEPLOY:
+                execute(client, file, Type.FORCE_DEPLOY);
+                break;
+            default:
+                execute(client, file, Type.UNDEPLOY_IGNORE_MISSING);
+                break;
+        }
+        final int total = benchmarkWarmup + benchmarkIterations;
+        for (int i = 0; i < total; i++) {
+            final boolean measured = i >= benchmarkWarmup;
+            switch (cycle) {
+                case DEPLOY_UNDEPLOY:
+                    measure(client, file, Type.DEPLOY, true, series(results, prefix + "deploy", measured));
+                    measure(client, file, Type.UNDEPLOY, false, series(results, prefix + "undeploy", measured));
+                    break;
+                case REDEPLOY:
+                    measure(client, file, Type.REDEPLOY, true, series(results, prefix + "redeploy", measured));
+                    break;
+                case FORCE_DEPLOY:
+                    measure(client, file, Type.FORCE_DEPLOY, true, series(results, prefix + "force-deploy", measured));
+                    break;
+            }
+        }
+        execute(client, file, Type.UNDEPLOY_IGNORE_MISSING);
+    }
+
+    private void measure(final UploadTrackingClient client, final File file, final Type type, final boolean expectDeployed, final Series series) throws Exception {
+        client.reset();
+        final long start = System.nanoTime();
+        execute(client, file, type);
+        final long executed = System.nanoTime();
+        final String deploymentName = (name == null ? file.getName() : name);
+        final boolean deployed = DeploymentInspector.getDeployments(client, deploymentName, null).contains(deploymentName);
+        final long verified = System.nanoTime();
+        if (deployed != expectDeployed) {
+            throw new DeploymentFailureException(String.format("Verification of %s failed, the deployment %s %s.", type, deploymentName,
+                    (deployed ? "still exists" : "does not exist")));
+        }
+        if (series != null) {
+            final long upload = client.getUploadNanos();
+            series.add(verified - start, upload, (executed - start) - upload, verified - executed, client.getUploadBytes());
+        }
+    }
+
+    private void execute(final UploadTrackingClient client, final File file, final Type type) throws Exception {
+        executeDeployment(client, createDeployment(client, file, type, null, null));
+    }
+
+    private ModelNode createReport(final File file, final Map<String, Series> results) {
+        final ModelNode report = new ModelNode();
+        report.get("timestamp").set(System.currentTimeMillis());
+        report.get("archive").set(file.getAbsolutePath());
+        report.get("archive-size").set(file.length());
+        report.get("server").set(String.format("%s:%d", hostname(), getPort()));
+        report.get("domain").set(isDomainServer());
+        report.get("iterations").set(benchmarkIterations);
+        report.get("warmup").set(benchmarkWarmup);
+        final ModelNode resultsNode = report.get("results").setEmptyObject();
+        for (Map.Entry<String, Series> entry : results.entrySet()) {
+            resultsNode.get(entry.getKey()).set(entry.getValue().toModelNode());
+        }
+        return report;
+    }
+
+    private void writeReport(final ModelNode report) throws IOException {
+        final File parent = benchmarkReport.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException(String.format("Could not create directory %s", parent));
+        }
+        final FileWriter writer = new FileWriter(benchmarkReport);
+        try {
+            writer.write(report.toJSONString(false));
+        } finally {
+            IoUtils.safeClose(writer);
+        }
+    }
+
+    private static Series series(final Map<String, Series> results, final String name, final boolean measured) {
+        if (!measured) {
+            return null;
+        }
+        Series result = results.get(name);
+        if (result == null) {
+            result = new Series();
+            results.put(name, result);
+        }
+        return result;
+    }
+
+    /**
+     * Computes the percentile with the nearest-rank method.
+     *
+     * @param sorted     the sorted values
+     * @param percentile the percentile
+     *
+     * @return the value at the percentile
+     */
+    static long percentile(final long[] sorted, final double percentile) {
+        if (sorted.length == 0) {
+            return 0L;
+        }
+        final int rank = (int) Math.ceil((percentile / 100D) * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static class Series {
+        private final List<long[]> samples = new ArrayList<long[]>();
+
+        void add(final long total, final long upload, final long plan, final long verify, final long bytes) {
+            samples.add(new long[] {total, upload, plan, verify, bytes});
+        }
+
+        ModelNode toModelNode() {
+            final ModelNode result = new ModelNode();
+            result.get("samples").set(samples.size());
+            result.get("total").set(summarize(0));
+            result.get("upload").set(summarize(1));
+            result.get("plan").set(summarize(2));
+            result.get("verify").set(summarize(3));
+            result.get("upload-bytes").set(samples.isEmpty() ? 0L : samples.get(0)[4]);
+            final ModelNode raw = result.get("total-samples").setEmptyList();
+            for (long[] sample : samples) {
+                raw.add(toMillis(sample[0]));
+            }
+            return result;
+        }
+
+        String describe(final String name) {
+            final long[] total = sorted(0);
+            return String.format("%-14s min %8.1f ms  p50 %8.1f ms  p95 %8.1f ms  p99 %8.1f ms  max %8.1f ms  (p50 upload %.1f ms, plan %.1f ms, verify %.1f ms)",
+                    name, toMillis(total[0]), toMillis(percentile(total, 50D)), toMillis(percentile(total, 95D)), toMillis(percentile(total, 99D)),
+                    toMillis(total[total.length - 1]), toMillis(percentile(sorted(1), 50D)), toMillis(percentile(sorted(2), 50D)),
+                    toMillis(percentile(sorted(3), 50D)));
+        }
+
+        private ModelNode summarize(final int index) {
+            final long[] values = sorted(index);
+            final ModelNode result = new ModelNode();
+            result.get("min").set(toMillis(values[0]));
+            for (double percentile : PERCENTILES) {
+                result.get(String.format("p%d", (int) percentile)).set(toMillis(percentile(values, percentile)));
+            }
+            result.get("max").set(toMillis(values[values.length - 1]));
+            return result;
+        }
+
+        private long[] sorted(final int index) {
+            final long[] result = new long[samples.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = samples.get(i)[index];
+            }
+            Arrays.sort(result);
+            return result;
+        }
+
+        private static double toMillis(final long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1L);
+        }
+    }
+}
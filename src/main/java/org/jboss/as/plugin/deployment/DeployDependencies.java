@@ -0,0 +1,138 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.jboss.as.plugin.common.PropertyNames;
+import org.jboss.as.plugin.deployment.Deployment.Type;
+
+/**
+ * Deploys the dependencies of the project to the application server in a single deployment plan.
+ * <p/>
+ * The dependencies are selected by scope, type and {@code groupId:artifactId} patterns. All the selected dependencies
+ * are deployed in one management operation, if any of them fails to deploy none of them are deployed.
+ *
+ * @author agent
+ */
+@Mojo(name = "deploy-dependencies", requiresDependencyResolution = ResolutionScope.TEST, threadSafe = true)
+public class DeployDependencies extends AbstractDeployment {
+
+    /**
+     * The scopes of the dependencies to deploy. If empty dependencies of any scope are deployed.
+     */
+    @Parameter(defaultValue = "compile,provided,runtime", property = PropertyNames.DEPENDENCY_SCOPES)
+    private String[] scopes;
+
+    /**
+     * The types of the dependencies to deploy. If empty dependencies of any type are deployed.
+     */
+    @Parameter(defaultValue = "ear,ejb,rar,war", property = PropertyNames.DEPENDENCY_TYPES)
+    private String[] types;
+
+    /**
+     * The dependencies to deploy in the {@code groupId:artifactId} format where {@code *} matches any characters. A
+     * pattern without a colon matches all the artifacts of the group. If empty all the dependencies are included.
+     */
+    @Parameter(property = PropertyNames.DEPENDENCY_INCLUDES)
+    private String[] includes;
+
+    /**
+     * The dependencies not to deploy, in the same format as {@code includes}.
+     */
+    @Parameter(property = PropertyNames.DEPENDENCY_EXCLUDES)
+    private String[] excludes;
+
+    /**
+     * Specifies whether transitive dependencies should be deployed or only the dependencies declared by the project.
+     */
+    @Parameter(defaultValue = "false", property = PropertyNames.DEPENDENCY_TRANSITIVE)
+    private boolean transitive;
+
+    /**
+     * Specifies whether force mode should be used or not.
+     * </p>
+     * If force mode is disabled, the goal will cause a build failure if any of the dependencies being deployed already
+     * exist.
+     */
+    @Parameter(defaultValue = "true", property = PropertyNames.DEPLOY_FORCE)
+    private boolean force;
+
+    @Override
+    protected File file() {
+        return null;
+    }
+
+    @Override
+    public String goal() {
+        return "deploy-dependencies";
+    }
+
+    @Override
+    public Type getType() {
+        return (force ? Type.FORCE_DEPLOY : Type.DEPLOY);
+    }
+
+    @Override
+    protected void doExecute() throws MojoExecutionException, MojoFailureException {
+        final ArtifactIndex index = ArtifactIndex.of(transitive ? project.getArtifacts() : project.getDependencyArtifacts());
+        final List<Artifact> selected = index.select(asList(scopes), asList(types), asList(includes), asList(excludes));
+        if (selected.isEmpty()) {
+            getLog().info(String.format("No dependencies of %s:%s match the selection, nothing to deploy", project.getGroupId(), project.getArtifactId()));
+            return;
+        }
+        final Map<String, Callable<File>> sources = new LinkedHashMap<String, Callable<File>>();
+        for (final Artifact artifact : selected) {
+            sources.put(artifact.getId(), new Callable<File>() {
+                @Override
+                public File call() {
+                    final File file = artifact.getFile();
+                    if (file == null) {
+                        throw new IllegalStateException(String.format("The dependency %s has not been resolved", artifact.getId()));
+                    }
+                    return file;
+                }
+            });
+        }
+        executeDeployments(ArchivePreparer.prepare(sources));
+    }
+
+    private static List<String> asList(final String[] values) {
+        if (values == null) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(values);
+    }
+}
@@ -31,7 +31,7 @@ import org.jboss.as.plugin.deployment.Deployment.Type;
  *
  */
 @Mojo(name = "redeploy-only", threadSafe = true)
-public final class RedeployOnly extends AbstractAppDeployment {
+public final class RedeployOnly extends AbstractRedeployment {
 
     @Override
     public String goal() {
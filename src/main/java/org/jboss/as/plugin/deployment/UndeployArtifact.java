@@ -23,7 +23,6 @@
 package org.jboss.as.plugin.deployment;
 
 import java.io.File;
-import java.util.Set;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -78,17 +77,7 @@ public final class UndeployArtifact extends AbstractDeployment {
         if (groupId == null) {
             throw new DeploymentFailureException("undeploy-artifact must specify the groupId");
         }
-        @SuppressWarnings("unchecked")
-        final Set<Artifact> dependencies = project.getDependencyArtifacts();
-        dependencies.addAll(this.project.getDependencyArtifacts());
-        Artifact artifact = null;
-        for (final Artifact a : dependencies) {
-            if (a.getArtifactId().equals(artifactId) &&
-                    a.getGroupId().equals(groupId)) {
-                artifact = a;
-                break;
-            }
-        }
+        final Artifact artifact = ArtifactIndex.of(project.getDependencyArtifacts()).get(groupId, artifactId);
         if (artifact == null) {
             throw new DeploymentFailureException("Could not resolve artifact to deploy %s:%s", groupId, artifactId);
         }
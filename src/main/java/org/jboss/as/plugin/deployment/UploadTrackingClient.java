@@ -0,0 +1,164 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.OperationBuilder;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+
+/**
+ * A client that measures the time spent uploading the attachments of operations.
+ * <p/>
+ * The upload time is the time between the first read and the last read of any attachment stream since the last
+ * {@link #reset() reset}.
+ *
+ * @author agent
+ */
+class UploadTrackingClient implements ModelControllerClient {
+
+    private static final long NOT_SET = Long.MIN_VALUE;
+
+    private final ModelControllerClient delegate;
+    private final AtomicLong firstRead;
+    private final AtomicLong lastRead;
+    private final AtomicLong bytes;
+
+    UploadTrackingClient(final ModelControllerClient delegate) {
+        this.delegate = delegate;
+        firstRead = new AtomicLong(NOT_SET);
+        lastRead = new AtomicLong(NOT_SET);
+        bytes = new AtomicLong();
+    }
+
+    /**
+     * Resets the measured upload.
+     */
+    void reset() {
+        firstRead.set(NOT_SET);
+        lastRead.set(NOT_SET);
+        bytes.set(0L);
+    }
+
+    /**
+     * The time, in nanoseconds, spent uploading attachments since the last reset.
+     *
+     * @return the upload time
+     */
+    long getUploadNanos() {
+        final long first = firstRead.get();
+        final long last = lastRead.get();
+        return (first == NOT_SET || last == NOT_SET ? 0L : last - first);
+    }
+
+    /**
+     * The number of bytes uploaded since the last reset.
+     *
+     * @return the number of bytes uploaded
+     */
+    long getUploadBytes() {
+        return bytes.get();
+    }
+
+    @Override
+    public ModelNode execute(final ModelNode operation) throws IOException {
+        return delegate.execute(operation);
+    }
+
+    @Override
+    public ModelNode execute(final Operation operation) throws IOException {
+        return delegate.execute(track(operation));
+    }
+
+    @Override
+    public ModelNode execute(final ModelNode operation, final OperationMessageHandler messageHandler) throws IOException {
+        return delegate.execute(operation, messageHandler);
+    }
+
+    @Override
+    public ModelNode execute(final Operation operation, final OperationMessageHandler messageHandler) throws IOException {
+        return delegate.execute(track(operation), messageHandler);
+    }
+
+    @Override
+    public AsyncFuture<ModelNode> executeAsync(final ModelNode operation, final OperationMessageHandler messageHandler) {
+        return delegate.executeAsync(operation, messageHandler);
+    }
+
+    @Override
+    public AsyncFuture<ModelNode> executeAsync(final Operation operation, final OperationMessageHandler messageHandler) {
+        return delegate.executeAsync(track(operation), messageHandler);
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    private Operation track(final Operation operation) {
+        if (operation.getInputStreams().isEmpty()) {
+            return operation;
+        }
+        final OperationBuilder builder = new OperationBuilder(operation.getOperation(), operation.isAutoCloseStreams());
+        for (InputStream in : operation.getInputStreams()) {
+            builder.addInputStream(new TrackingInputStream(in));
+        }
+        return builder.build();
+    }
+
+    private class TrackingInputStream extends FilterInputStream {
+
+        TrackingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final long start = System.nanoTime();
+            final int result = super.read();
+            record(start, (result == -1 ? 0 : 1));
+            return result;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final long start = System.nanoTime();
+            final int result = super.read(b, off, len);
+            record(start, Math.max(0, result));
+            return result;
+        }
+
+        private void record(final long start, final int read) {
+            firstRead.compareAndSet(NOT_SET, start);
+            lastRead.set(System.nanoTime());
+            bytes.addAndGet(read);
+        }
+    }
+}
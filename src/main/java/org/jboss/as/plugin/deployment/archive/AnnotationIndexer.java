@@ -0,0 +1,383 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment.archive;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.maven.plugin.logging.Log;
+import org.jboss.as.plugin.common.Checksums;
+import org.jboss.as.plugin.common.IoUtils;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.jandex.Indexer;
+
+/**
+ * Generates the Jandex annotation index, {@code META-INF/jandex.idx}, of each module of an archive so the server does
+ * not have to scan the classes of the modules for annotations on deployment.
+ * <p/>
+ * The modules indexed are the archive itself for JAR archives, {@code WEB-INF/classes} and the libraries in
+ * {@code WEB-INF/lib} of web archives and the modules and libraries of enterprise and resource adapter archives.
+ * Modules which already contain an index are left as is.
+ * <p/>
+ * The indexes of the nested archives are cached by the SHA-1 checksum of the archive, in a directory named after the
+ * index format, so libraries which did not change are not indexed again on the next build.
+ *
+ * @author agent
+ */
+public class AnnotationIndexer {
+
+    /**
+     * The name of the index in a module.
+     */
+    public static final String INDEX_NAME = "META-INF/jandex.idx";
+
+    private static final String WEB_CLASSES = "WEB-INF/classes/";
+    private static final String WEB_LIB = "WEB-INF/lib/";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final File cacheDir;
+    private final Log log;
+    private int indexed;
+    private int cached;
+
+    /**
+     * Creates a new indexer.
+     *
+     * @param cacheDir the directory the indexes of the nested archives are cached in
+     * @param log      the log
+     */
+    public AnnotationIndexer(final File cacheDir, final Log log) {
+        // Indexes written by another version of the index format must not be served from the shared cache
+        this.cacheDir = new File(cacheDir, "format-" + formatVersion());
+        this.log = log;
+    }
+
+    /**
+     * Identifies the format of the indexes written by the Jandex version in use by writing an empty index, which
+     * consists of the magic number, the format version and empty tables only.
+     *
+     * @return the format identifier
+     */
+    static String formatVersion() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            new IndexWriter(out).write(new Indexer().complete());
+        } catch (IOException e) {
+            // Not thrown by an in-memory stream
+            throw new IllegalStateException(e);
+        }
+        return Checksums.toHexString(out.toByteArray());
+    }
+
+    /**
+     * Writes a copy of the archive with the index of each module to the target file. If the target was already
+     * written for the same archive content it is not written again.
+     *
+     * @param archive the archive to index
+     * @param target  the file the indexed archive is written to
+     *
+     * @return the target file
+     *
+     * @throws IOException if the archive could not be read or the target could not be written
+     */
+    public File index(final File archive, final File target) throws IOException {
+        final String key = PreparedArchives.key(archive, target, "index");
+        if (PreparedArchives.isCurrent(target, key)) {
+            log.debug(String.format("The indexed archive %s is up to date", target));
+            return target;
+        }
+        PreparedArchives.begin(target);
+        final long start = System.currentTimeMillis();
+        indexed = 0;
+        cached = 0;
+        boolean complete = false;
+        final ZipInputStream in = new ZipInputStream(new BufferedInputStream(new FileInputStream(archive)));
+        try {
+            final ZipOutputStream out = new ZipOutputStream(new FileOutputStream(target));
+            try {
+                process(Module.of(archive.getName()), in, out);
+                out.finish();
+            } finally {
+                IoUtils.safeClose(out);
+            }
+            complete = true;
+        } finally {
+            IoUtils.safeClose(in);
+            // Also covers runtime exceptions thrown by the indexer
+            if (!complete) {
+                PreparedArchives.failed(target);
+            }
+        }
+        PreparedArchives.complete(target, key);
+        log.info(String.format("Indexed %d module(s) of %s, %d index(es) were cached, in %d ms", indexed, archive.getName(),
+                cached, System.currentTimeMillis() - start));
+        return target;
+    }
+
+    /**
+     * Returns the number of modules indexed by the last invocation of {@link #index(File, File)}.
+     *
+     * @return the number of indexed modules
+     */
+    int getIndexed() {
+        return indexed;
+    }
+
+    /**
+     * Returns the number of indexes taken from the cache by the last invocation of {@link #index(File, File)}.
+     *
+     * @return the number of cached indexes
+     */
+    int getCached() {
+        return cached;
+    }
+
+    /**
+     * Copies the entries of the archive adding the index of the module and processing the nested modules.
+     */
+    private void process(final Module module, final ZipInputStream in, final ZipOutputStream out) throws IOException {
+        process(module, in, out, null);
+    }
+
+    private void process(final Module module, final ZipInputStream in, final ZipOutputStream out, final String checksum) throws IOException {
+        final String root = module.classesRoot;
+        final byte[] cachedIndex = (root == null || checksum == null ? null : readCache(checksum));
+        Indexer indexer = (root == null || cachedIndex != null ? null : new Indexer());
+        boolean hasClasses = false;
+        boolean hasIndex = false;
+        ZipEntry entry;
+        while ((entry = in.getNextEntry()) != null) {
+            final String name = entry.getName();
+            final ZipEntry copy = new ZipEntry(name);
+            copy.setTime(entry.getTime());
+            out.putNextEntry(copy);
+            if (!entry.isDirectory()) {
+                final Module nested = module.nested(name);
+                if (nested != null) {
+                    final byte[] bytes = read(in);
+                    process(nested, new ZipInputStream(new ByteArrayInputStream(bytes)), new ZipOutputStream(new NonClosingOutputStream(out)), Checksums.toHexString(Checksums.sha1(bytes)));
+                } else if (root != null && name.equals(root + INDEX_NAME)) {
+                    hasIndex = true;
+                    copy(in, out);
+                } else if (root != null && name.startsWith(root) && name.endsWith(".class")) {
+                    hasClasses = true;
+                    if (indexer == null) {
+                        copy(in, out);
+                    } else {
+                        final byte[] bytes = read(in);
+                        out.write(bytes);
+                        try {
+                            indexer.index(new ByteArrayInputStream(bytes));
+                        } catch (Exception e) {
+                            // Leave the module to be scanned by the server rather than writing a partial index
+                            log.debug(String.format("Could not index %s, the module will not be indexed: %s", name, e.getMessage()));
+                            indexer = null;
+                        }
+                    }
+                } else {
+                    copy(in, out);
+                }
+            }
+            out.closeEntry();
+        }
+        if (root == null || hasIndex || !hasClasses) {
+            out.finish();
+            return;
+        }
+        final byte[] index;
+        if (cachedIndex != null) {
+            index = cachedIndex;
+            cached++;
+        } else if (indexer != null) {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final Index result = indexer.complete();
+            new IndexWriter(bytes).write(result);
+            index = bytes.toByteArray();
+            if (checksum != null) {
+                writeCache(checksum, index);
+            }
+        } else {
+            index = null;
+        }
+        if (index != null) {
+            final ZipEntry indexEntry = new ZipEntry(root + INDEX_NAME);
+            indexEntry.setTime(PreparedArchives.entryTime());
+            out.putNextEntry(indexEntry);
+            out.write(index);
+            out.closeEntry();
+            indexed++;
+        }
+        out.finish();
+    }
+
+    private byte[] readCache(final String checksum) throws IOException {
+        final File file = new File(cacheDir, checksum + ".idx");
+        if (!file.isFile()) {
+            return null;
+        }
+        final InputStream in = new FileInputStream(file);
+        try {
+            return read(in);
+        } finally {
+            IoUtils.safeClose(in);
+        }
+    }
+
+    private void writeCache(final String checksum, final byte[] index) {
+        if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+            log.debug(String.format("Could not create the index cache directory %s", cacheDir));
+            return;
+        }
+        // Write to a temporary file first so concurrent builds never read a partial index
+        final File tmp = new File(cacheDir, checksum + "." + Thread.currentThread().getId() + ".tmp");
+        OutputStream out = null;
+        try {
+            out = new FileOutputStream(tmp);
+            out.write(index);
+            out.close();
+            out = null;
+            if (!tmp.renameTo(new File(cacheDir, checksum + ".idx"))) {
+                tmp.delete();
+            }
+        } catch (IOException e) {
+            log.debug(String.format("Could not cache the index %s: %s", checksum, e.getMessage()));
+            tmp.delete();
+        } finally {
+            IoUtils.safeClose(out);
+        }
+    }
+
+    private static byte[] read(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        copy(in, out);
+        return out.toByteArray();
+    }
+
+    private static void copy(final InputStream in, final OutputStream out) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int len;
+        while ((len = in.read(buffer)) != -1) {
+            out.write(buffer, 0, len);
+        }
+    }
+
+    /**
+     * The layout of a type of archive.
+     */
+    private enum Module {
+        EAR(null),
+        JAR(""),
+        RAR(null),
+        SAR(""),
+        WAR(WEB_CLASSES),
+        OTHER(null);
+
+        /**
+         * The prefix of the classes of the module or {@code null} if the module has no classes of its own.
+         */
+        final String classesRoot;
+
+        Module(final String classesRoot) {
+            this.classesRoot = classesRoot;
+        }
+
+        static Module of(final String name) {
+            final String lowerName = name.toLowerCase(Locale.ENGLISH);
+            if (lowerName.endsWith(".ear")) {
+                return EAR;
+            } else if (lowerName.endsWith(".jar")) {
+                return JAR;
+            } else if (lowerName.endsWith(".rar")) {
+                return RAR;
+            } else if (lowerName.endsWith(".sar")) {
+                return SAR;
+            } else if (lowerName.endsWith(".war")) {
+                return WAR;
+            }
+            return OTHER;
+        }
+
+        /**
+         * Returns the module type of an entry if the entry is a module of this module.
+         *
+         * @param name the name of the entry
+         *
+         * @return the module or {@code null} if the entry is not a module
+         */
+        Module nested(final String name) {
+            final Module result = of(name);
+            switch (this) {
+                case EAR:
+                    return (result == OTHER ? null : result);
+                case RAR:
+                    return (result == JAR ? result : null);
+                case WAR:
+                    return (result == JAR && name.startsWith(WEB_LIB) && name.indexOf('/', WEB_LIB.length()) < 0 ? result : null);
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * Allows a nested archive to be written directly to the entry of the enclosing archive.
+     */
+    private static class NonClosingOutputStream extends OutputStream {
+        private final OutputStream delegate;
+
+        NonClosingOutputStream(final OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment.archive;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.jboss.as.plugin.common.IoUtils;
+
+/**
+ * The content of an archive broken down by module, library and resource type.
+ * <p/>
+ * Nested archives are walked as streams so the archive is read once without extracting it. Each entry is accounted to
+ * the innermost archive containing it. The analysis also finds the classes contained in more than one JAR or
+ * {@code WEB-INF/classes} directory and the JARs contained more than once, e.g. in the {@code lib} directory of an EAR
+ * and in the {@code WEB-INF/lib} directory of one of its web modules.
+ *
+ * @author agent
+ */
+public class ArchiveAnalysis {
+
+    private static final String WEB_CLASSES = "WEB-INF/classes/";
+    private static final int BUFFER_SIZE = 8192;
+    private static final Comparator<List<String>> LIST_COMPARATOR = new Comparator<List<String>>() {
+        @Override
+        public int compare(final List<String> o1, final List<String> o2) {
+            return o1.toString().compareTo(o2.toString());
+        }
+    };
+
+    private final File archive;
+    private final Map<String, Usage> modules = new TreeMap<String, Usage>();
+    private final Map<String, Usage> libraries = new TreeMap<String, Usage>();
+    private final Map<String, Usage> resourceTypes = new TreeMap<String, Usage>();
+    private final Map<String, Set<String>> classLocations = new HashMap<String, Set<String>>();
+    private final Map<String, Set<String>> jarLocations = new HashMap<String, Set<String>>();
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private long uncompressedSize;
+
+    private ArchiveAnalysis(final File archive) {
+        this.archive = archive;
+    }
+
+    /**
+     * Analyzes the archive.
+     *
+     * @param archive the archive to analyze
+     *
+     * @return the analysis
+     *
+     * @throws IOException if the archive could not be read
+     */
+    public static ArchiveAnalysis analyze(final File archive) throws IOException {
+        final ArchiveAnalysis result = new ArchiveAnalysis(archive);
+        final ZipInputStream in = new ZipInputStream(new BufferedInputStream(new FileInputStream(archive)));
+        try {
+            result.walk(archive.getName(), in, false);
+        } finally {
+            IoUtils.safeClose(in);
+        }
+        return result;
+    }
+
+    private void walk(final String path, final ZipInputStream in, final boolean library) throws IOException {
+        final Usage usage = new Usage();
+        (library ? libraries : modules).put(path, usage);
+        final boolean web = path.toLowerCase(Locale.ENGLISH).endsWith(".war");
+        final boolean classesAtRoot = path.toLowerCase(Locale.ENGLISH).endsWith(".jar");
+        ZipEntry entry;
+        while ((entry = in.getNextEntry()) != null) {
+            if (entry.isDirectory()) {
+                continue;
+            }
+            final String name = entry.getName();
+            final String lowerName = name.toLowerCase(Locale.ENGLISH);
+            if (isArchive(lowerName)) {
+                final String nestedPath = path + '/' + name;
+                final String jarName = name.substring(name.lastIndexOf('/') + 1);
+                if (lowerName.endsWith(".jar")) {
+                    locations(jarLocations, jarName).add(nestedPath);
+                }
+                walk(nestedPath, new ZipInputStream(in), isLibrary(lowerName));
+                continue;
+            }
+            final long size = skip(in);
+            usage.add(size);
+            uncompressedSize += size;
+            final int dot = lowerName.lastIndexOf('.');
+            final String type = (dot < 0 || dot < lowerName.lastIndexOf('/') ? "(none)" : lowerName.substring(dot + 1));
+            usage(resourceTypes, type).add(size);
+            if (lowerName.endsWith(".class")) {
+                if (classesAtRoot) {
+                    locations(classLocations, name).add(path);
+                } else if (web && name.startsWith(WEB_CLASSES)) {
+                    locations(classLocations, name.substring(WEB_CLASSES.length())).add(path + '/' + WEB_CLASSES);
+                }
+            }
+        }
+    }
+
+    private long skip(final InputStream in) throws IOException {
+        long result = 0L;
+        int len;
+        while ((len = in.read(buffer)) != -1) {
+            result += len;
+        }
+        return result;
+    }
+
+    private static boolean isArchive(final String lowerName) {
+        return lowerName.endsWith(".jar") || lowerName.endsWith(".war") || lowerName.endsWith(".rar") || lowerName.endsWith(".sar")
+                || lowerName.endsWith(".ear");
+    }
+
+    private static boolean isLibrary(final String lowerName) {
+        return lowerName.endsWith(".jar") && (lowerName.startsWith("lib/") || lowerName.startsWith("web-inf/lib/"));
+    }
+
+    private static Usage usage(final Map<String, Usage> map, final String key) {
+        Usage result = map.get(key);
+        if (result == null) {
+            result = new Usage();
+            map.put(key, result);
+        }
+        return result;
+    }
+
+    private static Set<String> locations(final Map<String, Set<String>> map, final String key) {
+        Set<String> result = map.get(key);
+        if (result == null) {
+            result = new TreeSet<String>();
+            map.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * The analyzed archive.
+     *
+     * @return the archive
+     */
+    public File getArchive() {
+        return archive;
+    }
+
+    /**
+     * The size of the archive, which is the number of bytes uploaded to the server.
+     *
+     * @return the size in bytes
+     */
+    public long getArchiveSize() {
+        return archive.length();
+    }
+
+    /**
+     * The uncompressed size of all the entries of the archive and its nested archives.
+     *
+     * @return the size in bytes
+     */
+    public long getUncompressedSize() {
+        return uncompressedSize;
+    }
+
+    /**
+     * The usage of the archive and its nested modules, excluding the libraries, by path.
+     *
+     * @return the module usage
+     */
+    public Map<String, Usage> getModules() {
+        return Collections.unmodifiableMap(modules);
+    }
+
+    /**
+     * The usage of the libraries, the JARs in {@code lib} or {@code WEB-INF/lib}, by path.
+     *
+     * @return the library usage
+     */
+    public Map<String, Usage> getLibraries() {
+        return Collections.unmodifiableMap(libraries);
+    }
+
+    /**
+     * The usage by file extension of all the entries which are not archives.
+     *
+     * @return the resource type usage
+     */
+    public Map<String, Usage> getResourceTypes() {
+        return Collections.unmodifiableMap(resourceTypes);
+    }
+
+    /**
+     * The number of classes found in more than one location, by the sorted list of the locations.
+     *
+     * @return the duplicated class counts
+     */
+    public Map<List<String>, Integer> getDuplicateClasses() {
+        final Map<List<String>, Integer> result = new TreeMap<List<String>, Integer>(LIST_COMPARATOR);
+        for (Set<String> locations : classLocations.values()) {
+            if (locations.size() > 1) {
+                final List<String> key = new ArrayList<String>(locations);
+                final Integer count = result.get(key);
+                result.put(key, (count == null ? 1 : count + 1));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The JARs found in more than one location, by the name of the JAR.
+     *
+     * @return the duplicated JAR paths
+     */
+    public Map<String, List<String>> getDuplicateJars() {
+        final Map<String, List<String>> result = new LinkedHashMap<String, List<String>>();
+        for (Map.Entry<String, Set<String>> entry : new TreeMap<String, Set<String>>(jarLocations).entrySet()) {
+            if (entry.getValue().size() > 1) {
+                result.put(entry.getKey(), new ArrayList<String>(entry.getValue()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The number of entries and uncompressed bytes.
+     */
+    public static class Usage {
+        private int count;
+        private long bytes;
+
+        void add(final long size) {
+            count++;
+            bytes += size;
+        }
+
+        /**
+         * The number of entries.
+         *
+         * @return the number of entries
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * The uncompressed size of the entries.
+         *
+         * @return the size in bytes
+         */
+        public long getBytes() {
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.GregorianCalendar;
+
+import org.jboss.as.plugin.common.Checksums;
+import org.jboss.as.plugin.common.IoUtils;
+
+/**
+ * Tracks whether a prepared copy of an archive is current.
+ * <p/>
+ * A key made of the cached checksum of the input archive and the options used to write the copy is stored in a sidecar file
+ * next to the copy once it has been written completely. The copy is only reused if the key of the next run matches, so
+ * changing the input or any option writes the copy again and an incomplete copy is never reused.
+ *
+ * @author agent
+ */
+final class PreparedArchives {
+
+    private static final String KEY_EXTENSION = ".key";
+    private static final String CHECKSUMS_FILE = "checksums.properties";
+
+    private PreparedArchives() {
+    }
+
+    /**
+     * The time of the entries generated for a prepared copy, so preparing the same input writes the same copy.
+     *
+     * @return the entry time
+     */
+    static long entryTime() {
+        // The DOS date format used by ZIP entries starts in 1980, use a date safely after the start in the local time zone
+        return new GregorianCalendar(1980, 1, 1, 0, 0, 0).getTimeInMillis();
+    }
+
+    /**
+     * Creates the key of a copy of the archive. The checksum of the archive is cached next to the copy by the path,
+     * size and last modified time of the archive, so an unchanged archive is not read again.
+     *
+     * @param archive the input archive
+     * @param target  the prepared copy
+     * @param options the options the copy is written with
+     *
+     * @return the key
+     *
+     * @throws IOException if the archive could not be read
+     */
+    static String key(final File archive, final File target, final String options) throws IOException {
+        final Checksums checksums = new Checksums(new File(target.getAbsoluteFile().getParentFile(), CHECKSUMS_FILE));
+        return Checksums.toHexString(checksums.checksum(archive)) + "\n" + options + "\n";
+    }
+
+    /**
+     * Checks whether the target was completely written for the key.
+     *
+     * @param target the prepared copy
+     * @param key    the key of the copy
+     *
+     * @return {@code true} if the target can be reused, otherwise {@code false}
+     */
+    static boolean isCurrent(final File target, final String key) {
+        final File keyFile = keyFile(target);
+        if (!target.isFile() || !keyFile.isFile()) {
+            return false;
+        }
+        InputStream in = null;
+        try {
+            in = new FileInputStream(keyFile);
+            final ByteArrayOutputStream content = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[1024];
+            int len;
+            while ((len = in.read(buffer)) != -1) {
+                content.write(buffer, 0, len);
+            }
+            return key.equals(content.toString("UTF-8"));
+        } catch (IOException e) {
+            return false;
+        } finally {
+            IoUtils.safeClose(in);
+        }
+    }
+
+    /**
+     * Prepares the target to be written by invalidating the current key and creating the parent directory.
+     *
+     * @param target the prepared copy
+     *
+     * @throws IOException if the key could not be removed or the directory could not be created
+     */
+    static void begin(final File target) throws IOException {
+        final File keyFile = keyFile(target);
+        if (keyFile.exists() && !keyFile.delete()) {
+            throw new IOException(String.format("Could not delete %s", keyFile));
+        }
+        final File dir = target.getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException(String.format("Could not create directory %s", dir));
+        }
+    }
+
+    /**
+     * Marks the target as completely written for the key.
+     *
+     * @param target the prepared copy
+     * @param key    the key of the copy
+     *
+     * @throws IOException if the key could not be written
+     */
+    static void complete(final File target, final String key) throws IOException {
+        final OutputStream out = new FileOutputStream(keyFile(target));
+        try {
+            out.write(key.getBytes("UTF-8"));
+        } finally {
+            IoUtils.safeClose(out);
+        }
+    }
+
+    /**
+     * Deletes a partially written target.
+     *
+     * @param target the prepared copy
+     */
+    static void failed(final File target) {
+        target.delete();
+        keyFile(target).delete();
+    }
+
+    private static File keyFile(final File target) {
+        return new File(target.getPath() + KEY_EXTENSION);
+    }
+}
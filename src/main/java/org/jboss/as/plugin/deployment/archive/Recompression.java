@@ -0,0 +1,233 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment.archive;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.as.plugin.common.IoUtils;
+
+/**
+ * The compression policy applied to an archive before it is deployed.
+ * <p/>
+ * The server reads classes and resources from the deployment content, so every compressed entry is inflated each time
+ * it is loaded. For local servers or fast networks storing the entries uncompressed trades a larger upload for less
+ * work on the server.
+ *
+ * @author agent
+ */
+public enum Recompression {
+
+    /**
+     * The archive is deployed as built.
+     */
+    KEEP("keep"),
+
+    /**
+     * Every entry, including the entries of the nested archives, is stored without compression.
+     */
+    STORE("store"),
+
+    /**
+     * Entries which are already compressed, like images, fonts and nested archives, are stored as is rather than
+     * deflated again. Other entries are deflated.
+     */
+    STORE_MEDIA("store-media");
+
+    private static final Set<String> ARCHIVE_EXTENSIONS = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(
+            "ear", "jar", "rar", "sar", "war")));
+    private static final Set<String> MEDIA_EXTENSIONS = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(
+            "7z", "bz2", "gif", "gz", "ico", "jpeg", "jpg", "mp3", "mp4", "ogg", "png", "webm", "webp", "woff", "woff2", "xz", "zip")));
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String name;
+
+    private Recompression(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the policy with the name.
+     *
+     * @param name the name of the policy
+     *
+     * @return the policy
+     *
+     * @throws IllegalArgumentException if there is no policy with the name
+     */
+    public static Recompression fromName(final String name) {
+        final String value = name.trim().toLowerCase(Locale.ENGLISH);
+        for (Recompression recompression : values()) {
+            if (recompression.name.equals(value)) {
+                return recompression;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Invalid recompression '%s'. Valid values are %s.", name, Arrays.asList(values())));
+    }
+
+    /**
+     * Writes a copy of the archive with the entries compressed according to this policy. If the target was already
+     * written with this policy for the same archive content it is not written again.
+     *
+     * @param archive the archive
+     * @param target  the file to write the copy to
+     *
+     * @return the archive for {@link #KEEP}, otherwise the target
+     *
+     * @throws IOException if the archive could not be read or the target could not be written
+     */
+    public File apply(final File archive, final File target) throws IOException {
+        if (this == KEEP) {
+            return archive;
+        }
+        final String key = PreparedArchives.key(archive, target, "recompression=" + name);
+        if (PreparedArchives.isCurrent(target, key)) {
+            return target;
+        }
+        PreparedArchives.begin(target);
+        boolean complete = false;
+        final ZipInputStream in = new ZipInputStream(new BufferedInputStream(new FileInputStream(archive)));
+        try {
+            final ZipOutputStream out = new ZipOutputStream(new FileOutputStream(target));
+            try {
+                repack(in, out, target.getAbsoluteFile().getParentFile());
+            } finally {
+                IoUtils.safeClose(out);
+            }
+            complete = true;
+        } finally {
+            IoUtils.safeClose(in);
+            if (!complete) {
+                PreparedArchives.failed(target);
+            }
+        }
+        PreparedArchives.complete(target, key);
+        return target;
+    }
+
+    private void repack(final ZipInputStream in, final ZipOutputStream out, final File workDir) throws IOException {
+        ZipEntry entry;
+        while ((entry = in.getNextEntry()) != null) {
+            final String name = entry.getName();
+            final ZipEntry copy = new ZipEntry(name);
+            copy.setTime(entry.getTime());
+            if (entry.isDirectory()) {
+                store(out, copy, new byte[0]);
+                continue;
+            }
+            final String extension = extension(name);
+            if (this == STORE && ARCHIVE_EXTENSIONS.contains(extension)) {
+                // Nested archives are mounted by the server as well. They are spooled to disk as the size and CRC of
+                // a stored entry must be known before it is written.
+                final File spool = File.createTempFile("nested", ".tmp", workDir);
+                try {
+                    final CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(new FileOutputStream(spool)), new CRC32());
+                    try {
+                        repack(new ZipInputStream(in), new ZipOutputStream(checked), workDir);
+                    } finally {
+                        IoUtils.safeClose(checked);
+                    }
+                    store(out, copy, spool, checked.getChecksum().getValue());
+                } finally {
+                    spool.delete();
+                }
+            } else if (this == STORE || ARCHIVE_EXTENSIONS.contains(extension) || MEDIA_EXTENSIONS.contains(extension)) {
+                store(out, copy, read(in));
+            } else {
+                copy.setMethod(ZipEntry.DEFLATED);
+                out.putNextEntry(copy);
+                copy(in, out);
+                out.closeEntry();
+            }
+        }
+        out.finish();
+    }
+
+    private static void store(final ZipOutputStream out, final ZipEntry entry, final byte[] bytes) throws IOException {
+        final CRC32 crc = new CRC32();
+        crc.update(bytes);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(bytes.length);
+        entry.setCompressedSize(bytes.length);
+        entry.setCrc(crc.getValue());
+        out.putNextEntry(entry);
+        out.write(bytes);
+        out.closeEntry();
+    }
+
+    private static void store(final ZipOutputStream out, final ZipEntry entry, final File file, final long crc) throws IOException {
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(file.length());
+        entry.setCompressedSize(file.length());
+        entry.setCrc(crc);
+        out.putNextEntry(entry);
+        final InputStream in = new FileInputStream(file);
+        try {
+            copy(in, out);
+        } finally {
+            IoUtils.safeClose(in);
+        }
+        out.closeEntry();
+    }
+
+    private static String extension(final String name) {
+        final int dot = name.lastIndexOf('.');
+        return (dot < 0 || dot < name.lastIndexOf('/') ? "" : name.substring(dot + 1).toLowerCase(Locale.ENGLISH));
+    }
+
+    private static byte[] read(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        copy(in, out);
+        return out.toByteArray();
+    }
+
+    private static void copy(final InputStream in, final OutputStream out) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int len;
+        while ((len = in.read(buffer)) != -1) {
+            out.write(buffer, 0, len);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.as.plugin.common.IoUtils;
+
+/**
+ * Rewrites an archive deterministically so building unchanged sources results in an identical archive.
+ * <p/>
+ * The entries are sorted by name, with the manifest first as required by {@link java.util.jar.JarInputStream}, every
+ * entry gets the same timestamp, the volatile headers, like {@code Built-By} and {@code Build-Jdk}, are removed from
+ * the manifests and the generated date comment is removed from the {@code pom.properties} files. Nested archives are
+ * normalized as well. The entries are streamed from the archive, only a single nested archive at a time is held in
+ * memory.
+ * <p/>
+ * Signed archives, i.e. archives with a {@code META-INF/*.SF}, {@code *.RSA}, {@code *.DSA}, {@code *.EC} or
+ * {@code SIG-*} entry, are kept byte-for-byte as rewriting the manifest would invalidate the signature.
+ *
+ * @author agent
+ */
+public class ReproducibleArchive {
+
+    /**
+     * The manifest headers removed by default.
+     */
+    public static final List<String> VOLATILE_HEADERS = Collections.unmodifiableList(Arrays.asList(
+            "Bnd-LastModified", "Build-Date", "Build-Jdk", "Build-Time", "Build-Timestamp", "Built-By", "Built-Date", "Built-Host"));
+
+    private static final String MANIFEST_DIR = "META-INF/";
+    private static final String MANIFEST = "META-INF/MANIFEST.MF";
+    private static final Set<String> ARCHIVE_EXTENSIONS = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(
+            ".ear", ".jar", ".rar", ".sar", ".war")));
+    private static final Pattern SIGNATURE_PATTERN = Pattern.compile("^META-INF/(?:[^/]+\\.(?:SF|RSA|DSA|EC)|SIG-[^/]+)$", Pattern.CASE_INSENSITIVE);
+    private static final int BUFFER_SIZE = 8192;
+
+    private final long timestamp = PreparedArchives.entryTime();
+    private final Set<String> volatileHeaders;
+
+    /**
+     * Creates a normalizer removing the manifest headers.
+     *
+     * @param volatileHeaders the names of the manifest headers to remove
+     */
+    public ReproducibleArchive(final List<String> volatileHeaders) {
+        final Set<String> headers = new HashSet<String>();
+        for (String header : volatileHeaders) {
+            headers.add(header.trim().toLowerCase(Locale.ENGLISH));
+        }
+        this.volatileHeaders = headers;
+    }
+
+    /**
+     * Writes the normalized copy of the archive to the target file. If the target was already written with the same
+     * headers for the same archive content it is not written again.
+     *
+     * @param archive the archive
+     * @param target  the file to write the normalized archive to
+     *
+     * @return the target file or the archive itself if it is signed
+     *
+     * @throws IOException if the archive could not be read or the target could not be written
+     */
+    public File normalize(final File archive, final File target) throws IOException {
+        final ZipFile zipFile = new ZipFile(archive);
+        try {
+            // Only the central directory is read to sort the entries and detect signatures
+            final Map<String, ZipEntry> entries = new TreeMap<String, ZipEntry>();
+            final Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
+            while (zipEntries.hasMoreElements()) {
+                final ZipEntry entry = zipEntries.nextElement();
+                entries.put(entry.getName(), entry);
+            }
+            if (isSigned(entries.keySet())) {
+                return archive;
+            }
+            final String key = PreparedArchives.key(archive, target, "normalize headers=" + new TreeSet<String>(volatileHeaders));
+            if (PreparedArchives.isCurrent(target, key)) {
+                return target;
+            }
+            PreparedArchives.begin(target);
+            boolean complete = false;
+            final ZipOutputStream out = new ZipOutputStream(new FileOutputStream(target));
+            try {
+                // Each entry is streamed, only manifests, pom.properties and nested archives are read into memory
+                for (String name : order(entries.keySet())) {
+                    final ZipEntry entry = entries.get(name);
+                    if (entry.isDirectory()) {
+                        writeEntry(out, name, null);
+                    } else {
+                        final InputStream in = zipFile.getInputStream(entry);
+                        try {
+                            if (requiresNormalization(name)) {
+                                writeEntry(out, name, normalize(name, read(in)));
+                            } else {
+                                putEntry(out, name);
+                                copy(in, out);
+                                out.closeEntry();
+                            }
+                        } finally {
+                            IoUtils.safeClose(in);
+                        }
+                    }
+                }
+                out.finish();
+                complete = true;
+            } finally {
+                IoUtils.safeClose(out);
+                if (!complete) {
+                    PreparedArchives.failed(target);
+                }
+            }
+            PreparedArchives.complete(target, key);
+            return target;
+        } finally {
+            zipFile.close();
+        }
+    }
+
+    private static boolean requiresNormalization(final String name) {
+        final String lowerName = name.toLowerCase(Locale.ENGLISH);
+        if (name.equals(MANIFEST) || (lowerName.startsWith("meta-inf/maven/") && lowerName.endsWith("/pom.properties"))) {
+            return true;
+        }
+        final int dot = lowerName.lastIndexOf('.');
+        return dot > lowerName.lastIndexOf('/') && ARCHIVE_EXTENSIONS.contains(lowerName.substring(dot));
+    }
+
+    private byte[] normalize(final String name, final byte[] content) throws IOException {
+        final String lowerName = name.toLowerCase(Locale.ENGLISH);
+        if (name.equals(MANIFEST)) {
+            return normalizeManifest(content);
+        }
+        if (lowerName.startsWith("meta-inf/maven/") && lowerName.endsWith("/pom.properties")) {
+            return removeComments(content);
+        }
+        final int dot = lowerName.lastIndexOf('.');
+        if (dot > lowerName.lastIndexOf('/') && ARCHIVE_EXTENSIONS.contains(lowerName.substring(dot))) {
+            return normalizeNested(content);
+        }
+        return content;
+    }
+
+    private byte[] normalizeNested(final byte[] content) throws IOException {
+        final Map<String, byte[]> entries = new TreeMap<String, byte[]>();
+        final ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(content));
+        ZipEntry entry;
+        while ((entry = in.getNextEntry()) != null) {
+            entries.put(entry.getName(), (entry.isDirectory() ? null : read(in)));
+        }
+        if (isSigned(entries.keySet())) {
+            return content;
+        }
+        normalizeEntries(entries);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(content.length);
+        write(entries, out);
+        return out.toByteArray();
+    }
+
+    private void normalizeEntries(final Map<String, byte[]> entries) throws IOException {
+        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+            if (entry.getValue() != null && requiresNormalization(entry.getKey())) {
+                entry.setValue(normalize(entry.getKey(), entry.getValue()));
+            }
+        }
+    }
+
+    /**
+     * Checks whether the entries contain a signature file.
+     *
+     * @param names the names of the entries
+     *
+     * @return {@code true} if the archive is signed, otherwise {@code false}
+     */
+    static boolean isSigned(final Collection<String> names) {
+        for (String name : names) {
+            if (SIGNATURE_PATTERN.matcher(name).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void write(final Map<String, byte[]> entries, final OutputStream target) throws IOException {
+        final ZipOutputStream out = new ZipOutputStream(target);
+        for (String name : order(entries.keySet())) {
+            writeEntry(out, name, entries.get(name));
+        }
+        out.finish();
+    }
+
+    /**
+     * Orders the sorted entry names with the manifest first, as required by {@link java.util.jar.JarInputStream}.
+     */
+    private static List<String> order(final Set<String> names) {
+        final List<String> result = new ArrayList<String>(names.size());
+        if (names.contains(MANIFEST_DIR)) {
+            result.add(MANIFEST_DIR);
+        }
+        if (names.contains(MANIFEST)) {
+            result.add(MANIFEST);
+        }
+        for (String name : names) {
+            if (!name.equals(MANIFEST_DIR) && !name.equals(MANIFEST)) {
+                result.add(name);
+            }
+        }
+        return result;
+    }
+
+    private void writeEntry(final ZipOutputStream out, final String name, final byte[] content) throws IOException {
+        putEntry(out, name);
+        if (content != null) {
+            out.write(content);
+        }
+        out.closeEntry();
+    }
+
+    private void putEntry(final ZipOutputStream out, final String name) throws IOException {
+        final ZipEntry entry = new ZipEntry(name);
+        entry.setTime(timestamp);
+        out.putNextEntry(entry);
+    }
+
+    /**
+     * Removes the volatile headers keeping the order and line continuations of the other headers.
+     */
+    byte[] normalizeManifest(final byte[] content) throws IOException {
+        final String[] lines = new String(content, "UTF-8").split("\r\n|\r|\n", -1);
+        final StringBuilder result = new StringBuilder(content.length);
+        boolean skip = false;
+        for (int i = 0; i < lines.length; i++) {
+            final String line = lines[i];
+            if (line.startsWith(" ")) {
+                // A continuation of the previous header
+                if (!skip) {
+                    result.append(line).append("\r\n");
+                }
+                continue;
+            }
+            final int colon = line.indexOf(':');
+            skip = colon > 0 && volatileHeaders.contains(line.substring(0, colon).trim().toLowerCase(Locale.ENGLISH));
+            if (!skip && (i < lines.length - 1 || !line.isEmpty())) {
+                result.append(line).append("\r\n");
+            }
+        }
+        return result.toString().getBytes("UTF-8");
+    }
+
+    private static byte[] removeComments(final byte[] content) throws IOException {
+        final StringBuilder result = new StringBuilder(content.length);
+        for (String line : new String(content, "ISO-8859-1").split("\r\n|\r|\n")) {
+            if (!line.startsWith("#")) {
+                result.append(line).append('\n');
+            }
+        }
+        return result.toString().getBytes("ISO-8859-1");
+    }
+
+    private static byte[] read(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        copy(in, out);
+        return out.toByteArray();
+    }
+
+    private static void copy(final InputStream in, final OutputStream out) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int len;
+        while ((len = in.read(buffer)) != -1) {
+            out.write(buffer, 0, len);
+        }
+    }
+}
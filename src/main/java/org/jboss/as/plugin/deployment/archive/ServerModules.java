@@ -0,0 +1,244 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jboss.as.plugin.common.IoUtils;
+
+/**
+ * The libraries provided by the modules of a server.
+ * <p/>
+ * The {@code module.xml} descriptors found under the modules directory are read for the module name, slot and resource
+ * roots. Libraries are matched by the name of the JAR without the version, e.g. {@code jackson-core-asl-1.9.9.jar}
+ * matches the {@code jackson-core-asl-1.9.2.jar} resource root of the {@code org.codehaus.jackson.jackson-core-asl}
+ * module. The version of a JAR starts at the last dash followed by a dotted number, so names containing versions like
+ * {@code hibernate-jpa-2.1-api-1.0.0.Final.jar} keep them. Whether the versions are compatible is left to the caller.
+ *
+ * @author agent
+ */
+public class ServerModules {
+
+    private static final Pattern MODULE_PATTERN = Pattern.compile("<module\\s[^>]*?name=\"([^\"]+)\"[^>]*>");
+    private static final Pattern SLOT_PATTERN = Pattern.compile("\\sslot=\"([^\"]+)\"");
+    private static final Pattern RESOURCE_ROOT_PATTERN = Pattern.compile("<resource-root\\s[^>]*?path=\"([^\"]+)\"");
+    private static final Pattern VERSION_PATTERN = Pattern.compile("^(.+)-(\\d+\\.\\d+.*)\\.jar$");
+    private static final Pattern SIMPLE_VERSION_PATTERN = Pattern.compile("^(.+?)-(\\d.*)\\.jar$");
+    private static final Pattern MAJOR_VERSION_PATTERN = Pattern.compile("^(\\d+)");
+
+    private final Map<String, ModuleLibrary> libraries;
+
+    private ServerModules(final Map<String, ModuleLibrary> libraries) {
+        this.libraries = libraries;
+    }
+
+    /**
+     * Reads the modules in the modules directory.
+     *
+     * @param modulesDir the modules directory of the server
+     *
+     * @return the server modules
+     *
+     * @throws IOException if a module descriptor could not be read
+     */
+    public static ServerModules scan(final File modulesDir) throws IOException {
+        if (!modulesDir.isDirectory()) {
+            throw new IOException(String.format("The modules directory %s does not exist", modulesDir));
+        }
+        final Map<String, ModuleLibrary> libraries = new HashMap<String, ModuleLibrary>();
+        scan(modulesDir, libraries);
+        return new ServerModules(Collections.unmodifiableMap(libraries));
+    }
+
+    private static void scan(final File dir, final Map<String, ModuleLibrary> libraries) throws IOException {
+        final File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                scan(file, libraries);
+            } else if ("module.xml".equals(file.getName())) {
+                readModule(file, libraries);
+            }
+        }
+    }
+
+    private static void readModule(final File descriptor, final Map<String, ModuleLibrary> libraries) throws IOException {
+        final String content = read(descriptor);
+        final Matcher moduleMatcher = MODULE_PATTERN.matcher(content);
+        if (!moduleMatcher.find()) {
+            // Module aliases and other descriptors without resources
+            return;
+        }
+        final String name = moduleMatcher.group(1);
+        final Matcher slotMatcher = SLOT_PATTERN.matcher(moduleMatcher.group());
+        final String slot = (slotMatcher.find() ? slotMatcher.group(1) : "main");
+        final Matcher resourceMatcher = RESOURCE_ROOT_PATTERN.matcher(content);
+        while (resourceMatcher.find()) {
+            final String path = resourceMatcher.group(1);
+            final String jarName = path.substring(path.lastIndexOf('/') + 1);
+            final String libraryName = getLibraryName(jarName);
+            if (libraryName != null && !libraries.containsKey(libraryName)) {
+                libraries.put(libraryName, new ModuleLibrary(name, slot, jarName, getLibraryVersion(jarName)));
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the library without the version and extension.
+     *
+     * @param jarName the file name of the JAR
+     *
+     * @return the name of the library or {@code null} if the name is not the name of a versioned JAR
+     */
+    static String getLibraryName(final String jarName) {
+        final Matcher matcher = matchVersion(jarName);
+        return (matcher == null ? null : matcher.group(1));
+    }
+
+    /**
+     * Returns the version of the library.
+     *
+     * @param jarName the file name of the JAR
+     *
+     * @return the version of the library or {@code null} if the name is not the name of a versioned JAR
+     */
+    static String getLibraryVersion(final String jarName) {
+        final Matcher matcher = matchVersion(jarName);
+        return (matcher == null ? null : matcher.group(2));
+    }
+
+    /**
+     * Checks whether the versions have the same major version.
+     *
+     * @param version1 the first version
+     * @param version2 the second version
+     *
+     * @return {@code true} if both versions have the same major version, otherwise {@code false}
+     */
+    static boolean isSameMajorVersion(final String version1, final String version2) {
+        final Matcher matcher1 = MAJOR_VERSION_PATTERN.matcher(version1 == null ? "" : version1);
+        final Matcher matcher2 = MAJOR_VERSION_PATTERN.matcher(version2 == null ? "" : version2);
+        return matcher1.find() && matcher2.find() && Integer.parseInt(matcher1.group(1)) == Integer.parseInt(matcher2.group(1));
+    }
+
+    private static Matcher matchVersion(final String jarName) {
+        // Prefer the last dotted version, e.g. hibernate-jpa-2.0-api-1.0.1.Final.jar, and fall back to any number
+        Matcher matcher = VERSION_PATTERN.matcher(jarName);
+        if (matcher.matches()) {
+            return matcher;
+        }
+        matcher = SIMPLE_VERSION_PATTERN.matcher(jarName);
+        return (matcher.matches() ? matcher : null);
+    }
+
+    /**
+     * Returns the module library matching the JAR.
+     *
+     * @param jarName the file name of the JAR
+     *
+     * @return the module library or {@code null} if no module provides the library
+     */
+    public ModuleLibrary getModuleLibrary(final String jarName) {
+        final String libraryName = getLibraryName(jarName);
+        return (libraryName == null ? null : libraries.get(libraryName));
+    }
+
+    private static String read(final File file) throws IOException {
+        final InputStream in = new FileInputStream(file);
+        try {
+            final ByteArrayOutputStream result = new ByteArrayOutputStream((int) file.length());
+            final byte[] buffer = new byte[4096];
+            int len;
+            while ((len = in.read(buffer)) != -1) {
+                result.write(buffer, 0, len);
+            }
+            return result.toString("UTF-8");
+        } finally {
+            IoUtils.safeClose(in);
+        }
+    }
+
+    /**
+     * A library provided by a module.
+     */
+    public static class ModuleLibrary {
+        private final String moduleName;
+        private final String slot;
+        private final String jarName;
+        private final String version;
+
+        ModuleLibrary(final String moduleName, final String slot, final String jarName, final String version) {
+            this.moduleName = moduleName;
+            this.slot = slot;
+            this.jarName = jarName;
+            this.version = version;
+        }
+
+        /**
+         * The name of the module.
+         *
+         * @return the module name
+         */
+        public String getModuleName() {
+            return moduleName;
+        }
+
+        /**
+         * The slot of the module.
+         *
+         * @return the slot
+         */
+        public String getSlot() {
+            return slot;
+        }
+
+        /**
+         * The file name of the JAR in the module.
+         *
+         * @return the JAR name
+         */
+        public String getJarName() {
+            return jarName;
+        }
+
+        /**
+         * The version of the JAR in the module.
+         *
+         * @return the version
+         */
+        public String getVersion() {
+            return version;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment.archive;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.as.plugin.common.IoUtils;
+import org.jboss.as.plugin.deployment.archive.ServerModules.ModuleLibrary;
+
+/**
+ * Finds the libraries of an archive which are provided by the modules of the server and optionally writes a copy of the
+ * archive without them.
+ * <p/>
+ * The libraries checked are the JARs in {@code WEB-INF/lib} of a web archive and in {@code lib} of an enterprise
+ * archive. The stripped archive depends on the modules providing the removed libraries through a generated
+ * {@code jboss-deployment-structure.xml}. A library is only provided by a module with the same major version, libraries
+ * for which the module has a different major version are reported as {@link #getMismatchedLibraries() mismatched} and
+ * kept. Only the central directory of the archive is read for the analysis.
+ *
+ * @author agent
+ */
+public class SkinnyArchive {
+
+    private static final String DEPLOYMENT_STRUCTURE = "jboss-deployment-structure.xml";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final File archive;
+    private final String libraryDir;
+    private final String descriptorName;
+    private final List<ProvidedLibrary> providedLibraries;
+    private final List<ProvidedLibrary> mismatchedLibraries;
+    private final boolean hasDescriptor;
+
+    private SkinnyArchive(final File archive, final String libraryDir, final String descriptorName, final List<ProvidedLibrary> providedLibraries,
+                          final List<ProvidedLibrary> mismatchedLibraries, final boolean hasDescriptor) {
+        this.archive = archive;
+        this.libraryDir = libraryDir;
+        this.descriptorName = descriptorName;
+        this.providedLibraries = providedLibraries;
+        this.mismatchedLibraries = mismatchedLibraries;
+        this.hasDescriptor = hasDescriptor;
+    }
+
+    /**
+     * Finds the libraries of the archive provided by the server modules.
+     *
+     * @param archive       the archive to analyze
+     * @param serverModules the modules of the server
+     *
+     * @return the analysis
+     *
+     * @throws IOException if the archive could not be read
+     */
+    public static SkinnyArchive analyze(final File archive, final ServerModules serverModules) throws IOException {
+        final String name = archive.getName().toLowerCase(Locale.ENGLISH);
+        final String libraryDir;
+        final String descriptorName;
+        if (name.endsWith(".war")) {
+            libraryDir = "WEB-INF/lib/";
+            descriptorName = "WEB-INF/" + DEPLOYMENT_STRUCTURE;
+        } else if (name.endsWith(".ear")) {
+            libraryDir = "lib/";
+            descriptorName = "META-INF/" + DEPLOYMENT_STRUCTURE;
+        } else {
+            return new SkinnyArchive(archive, null, null, Collections.<ProvidedLibrary>emptyList(), Collections.<ProvidedLibrary>emptyList(), false);
+        }
+        final List<ProvidedLibrary> providedLibraries = new ArrayList<ProvidedLibrary>();
+        final List<ProvidedLibrary> mismatchedLibraries = new ArrayList<ProvidedLibrary>();
+        boolean hasDescriptor = false;
+        final ZipFile zipFile = new ZipFile(archive);
+        try {
+            final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                final String entryName = entry.getName();
+                if (entryName.equals(descriptorName)) {
+                    hasDescriptor = true;
+                } else if (entryName.startsWith(libraryDir) && entryName.indexOf('/', libraryDir.length()) < 0 && entryName.endsWith(".jar")) {
+                    final String jarName = entryName.substring(libraryDir.length());
+                    final ModuleLibrary moduleLibrary = serverModules.getModuleLibrary(jarName);
+                    if (moduleLibrary != null) {
+                        final String version = ServerModules.getLibraryVersion(jarName);
+                        final ProvidedLibrary library = new ProvidedLibrary(entryName, version, entry.getSize(), moduleLibrary);
+                        if (ServerModules.isSameMajorVersion(version, moduleLibrary.getVersion())) {
+                            providedLibraries.add(library);
+                        } else {
+                            mismatchedLibraries.add(library);
+                        }
+                    }
+                }
+            }
+        } finally {
+            zipFile.close();
+        }
+        return new SkinnyArchive(archive, libraryDir, descriptorName, Collections.unmodifiableList(providedLibraries),
+                Collections.unmodifiableList(mismatchedLibraries), hasDescriptor);
+    }
+
+    /**
+     * The libraries of the archive provided by the server modules.
+     *
+     * @return the provided libraries
+     */
+    public List<ProvidedLibrary> getProvidedLibraries() {
+        return providedLibraries;
+    }
+
+    /**
+     * The libraries of the archive for which a server module provides a different major version. These libraries are
+     * not stripped.
+     *
+     * @return the mismatched libraries
+     */
+    public List<ProvidedLibrary> getMismatchedLibraries() {
+        return mismatchedLibraries;
+    }
+
+    /**
+     * The uncompressed size of the provided libraries.
+     *
+     * @return the size in bytes
+     */
+    public long getProvidedBytes() {
+        long result = 0L;
+        for (ProvidedLibrary library : providedLibraries) {
+            result += library.getSize();
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the archive can be stripped. An archive with its own {@code jboss-deployment-structure.xml} is not
+     * stripped as the descriptor would have to be merged.
+     *
+     * @return {@code true} if the archive can be stripped, otherwise {@code false}
+     */
+    public boolean canStrip() {
+        return !providedLibraries.isEmpty() && !hasDescriptor;
+    }
+
+    /**
+     * Writes a copy of the archive without the provided libraries and with a {@code jboss-deployment-structure.xml}
+     * depending on the modules providing them. If the target was already stripped for the same archive content and
+     * modules it is not written again.
+     *
+     * @param target the file to write the stripped archive to
+     *
+     * @return the target file
+     *
+     * @throws IOException           if the archive could not be read or the target could not be written
+     * @throws IllegalStateException if the archive {@link #canStrip() cannot be stripped}
+     */
+    public File strip(final File target) throws IOException {
+        if (!canStrip()) {
+            throw new IllegalStateException(String.format("The archive %s cannot be stripped", archive));
+        }
+        final Set<String> removed = new HashSet<String>();
+        for (ProvidedLibrary library : providedLibraries) {
+            removed.add(library.getEntryName());
+        }
+        final String descriptor = createDescriptor();
+        final String key = PreparedArchives.key(archive, target, "strip=" + new TreeSet<String>(removed) + "\n" + descriptor);
+        if (PreparedArchives.isCurrent(target, key)) {
+            return target;
+        }
+        PreparedArchives.begin(target);
+        boolean complete = false;
+        final ZipFile zipFile = new ZipFile(archive);
+        try {
+            final ZipOutputStream out = new ZipOutputStream(new FileOutputStream(target));
+            try {
+                final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+                while (entries.hasMoreElements()) {
+                    final ZipEntry entry = entries.nextElement();
+                    if (removed.contains(entry.getName())) {
+                        continue;
+                    }
+                    final ZipEntry copy = new ZipEntry(entry.getName());
+                    copy.setTime(entry.getTime());
+                    out.putNextEntry(copy);
+                    if (!entry.isDirectory()) {
+                        final InputStream in = zipFile.getInputStream(entry);
+                        try {
+                            copy(in, out);
+                        } finally {
+                            IoUtils.safeClose(in);
+                        }
+                    }
+                    out.closeEntry();
+                }
+                final ZipEntry entry = new ZipEntry(descriptorName);
+                entry.setTime(PreparedArchives.entryTime());
+                out.putNextEntry(entry);
+                out.write(descriptor.getBytes("UTF-8"));
+                out.closeEntry();
+                out.finish();
+            } finally {
+                IoUtils.safeClose(out);
+            }
+            complete = true;
+        } finally {
+            zipFile.close();
+            if (!complete) {
+                PreparedArchives.failed(target);
+            }
+        }
+        PreparedArchives.complete(target, key);
+        return target;
+    }
+
+    String createDescriptor() {
+        // Dependencies of the top level deployment of an EAR are only visible to the sub-deployments if exported
+        final String export = ("lib/".equals(libraryDir) ? " export=\"true\"" : "");
+        final Set<String> modules = new LinkedHashSet<String>();
+        for (ProvidedLibrary library : providedLibraries) {
+            final ModuleLibrary moduleLibrary = library.getModuleLibrary();
+            final String slot = ("main".equals(moduleLibrary.getSlot()) ? "" : String.format(" slot=\"%s\"", moduleLibrary.getSlot()));
+            modules.add(String.format("            <module name=\"%s\"%s%s/>", moduleLibrary.getModuleName(), slot, export));
+        }
+        final StringBuilder result = new StringBuilder();
+        result.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        result.append("<jboss-deployment-structure>\n");
+        result.append("    <deployment>\n");
+        result.append("        <dependencies>\n");
+        for (String module : modules) {
+            result.append(module).append('\n');
+        }
+        result.append("        </dependencies>\n");
+        result.append("    </deployment>\n");
+        result.append("</jboss-deployment-structure>\n");
+        return result.toString();
+    }
+
+    private static void copy(final InputStream in, final OutputStream out) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int len;
+        while ((len = in.read(buffer)) != -1) {
+            out.write(buffer, 0, len);
+        }
+    }
+
+    /**
+     * A library of the archive provided by a server module.
+     */
+    public static class ProvidedLibrary {
+        private final String entryName;
+        private final String version;
+        private final long size;
+        private final ModuleLibrary moduleLibrary;
+
+        ProvidedLibrary(final String entryName, final String version, final long size, final ModuleLibrary moduleLibrary) {
+            this.entryName = entryName;
+            this.version = version;
+            this.size = size;
+            this.moduleLibrary = moduleLibrary;
+        }
+
+        /**
+         * The name of the library entry in the archive.
+         *
+         * @return the entry name
+         */
+        public String getEntryName() {
+            return entryName;
+        }
+
+        /**
+         * The version of the library in the archive.
+         *
+         * @return the version
+         */
+        public String getVersion() {
+            return version;
+        }
+
+        /**
+         * The uncompressed size of the library.
+         *
+         * @return the size in bytes
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * The module library providing the library.
+         *
+         * @return the module library
+         */
+        public ModuleLibrary getModuleLibrary() {
+            return moduleLibrary;
+        }
+    }
+}
@@ -146,19 +146,33 @@ public class DomainDeployment implements Deployment {
             }
         }
         if (completeBuilder != null) {
-            ServerGroupDeploymentPlanBuilder groupDeploymentBuilder = null;
-            for (String serverGroupName : domain.getServerGroups()) {
-                groupDeploymentBuilder = (groupDeploymentBuilder == null ? completeBuilder.toServerGroup(serverGroupName) :
-                        groupDeploymentBuilder.toServerGroup(serverGroupName));
-            }
-            if (groupDeploymentBuilder == null) {
-                throw new DeploymentFailureException("No server groups were defined for the deployment.");
-            }
-            return groupDeploymentBuilder.withRollback().build();
+            return createPlan(domain, completeBuilder);
         }
         throw new IllegalStateException(String.format("Invalid type '%s' for deployment", type));
     }
 
+    /**
+     * Targets the actions to all the server groups of the domain and creates the plan.
+     *
+     * @param domain          the domain
+     * @param completeBuilder the builder with the deployment actions
+     *
+     * @return the plan
+     *
+     * @throws DeploymentFailureException if no server groups were defined
+     */
+    static DeploymentPlan createPlan(final Domain domain, final DeploymentActionsCompleteBuilder completeBuilder) throws DeploymentFailureException {
+        ServerGroupDeploymentPlanBuilder groupDeploymentBuilder = null;
+        for (String serverGroupName : domain.getServerGroups()) {
+            groupDeploymentBuilder = (groupDeploymentBuilder == null ? completeBuilder.toServerGroup(serverGroupName) :
+                    groupDeploymentBuilder.toServerGroup(serverGroupName));
+        }
+        if (groupDeploymentBuilder == null) {
+            throw new DeploymentFailureException("No server groups were defined for the deployment.");
+        }
+        return groupDeploymentBuilder.withRollback().build();
+    }
+
     private DeploymentActionsCompleteBuilder undeployAndRemoveUndeployed(
             final DeploymentPlanBuilder builder, final List<String> deploymentNames) {
 
@@ -193,7 +207,7 @@ public class DomainDeployment implements Deployment {
             final DeploymentPlanBuilder builder = manager.newDeploymentPlan();
             DeploymentPlan plan = createPlan(builder);
             if (plan != null) {
-                executePlan(manager, plan);
+                executePlan(manager, plan, type);
             }
         } catch (DeploymentFailureException e) {
             throw e;
@@ -210,7 +224,18 @@ public class DomainDeployment implements Deployment {
         return type;
     }
 
-    private void executePlan(final DomainDeploymentManager manager, final DeploymentPlan plan) throws DeploymentExecutionException, ExecutionException, InterruptedException {
+    /**
+     * Executes the plan and checks the result on each server.
+     *
+     * @param manager the deployment manager
+     * @param plan    the plan to execute
+     * @param type    the type of the deployment used for reporting failures
+     *
+     * @throws DeploymentExecutionException if the plan failed on a server
+     * @throws ExecutionException           if the execution of the plan failed
+     * @throws InterruptedException         if interrupted while waiting for the plan to complete
+     */
+    static void executePlan(final DomainDeploymentManager manager, final DeploymentPlan plan, final Type type) throws DeploymentExecutionException, ExecutionException, InterruptedException {
         if (plan.getDeploymentActions().size() > 0) {
             final DeploymentPlanResult planResult = manager.execute(plan).get();
             final Map<UUID, DeploymentActionResult> actionResults = planResult.getDeploymentActionResults();
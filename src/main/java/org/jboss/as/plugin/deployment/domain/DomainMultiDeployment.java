@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment.domain;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.as.controller.client.helpers.domain.DeploymentActionsCompleteBuilder;
+import org.jboss.as.controller.client.helpers.domain.DeploymentPlanBuilder;
+import org.jboss.as.controller.client.helpers.domain.DomainClient;
+import org.jboss.as.controller.client.helpers.domain.DomainDeploymentManager;
+import org.jboss.as.plugin.common.DeploymentExecutionException;
+import org.jboss.as.plugin.common.DeploymentFailureException;
+import org.jboss.as.plugin.common.DeploymentInspector;
+import org.jboss.as.plugin.deployment.Deployment;
+
+/**
+ * A deployment of several archives to the server groups of a domain executed as a single deployment plan. If any
+ * action of the plan fails all the actions are rolled back.
+ *
+ * @author agent
+ */
+public class DomainMultiDeployment implements Deployment {
+
+    private final DomainClient client;
+    private final Domain domain;
+    private final Map<String, File> contents;
+    private final Type type;
+
+    /**
+     * Creates a new deployment.
+     *
+     * @param client   the client for the domain controller
+     * @param domain   the domain definition
+     * @param contents the deployment names mapped to the content, the actions are executed in the iteration order
+     * @param type     the deployment type
+     */
+    public DomainMultiDeployment(final DomainClient client, final Domain domain, final Map<String, File> contents, final Type type) {
+        this.client = client;
+        this.domain = domain;
+        this.contents = new LinkedHashMap<String, File>(contents);
+        this.type = type;
+    }
+
+    /**
+     * Creates a new deployment.
+     *
+     * @param client   the client for the domain controller
+     * @param domain   the domain definition
+     * @param contents the deployment names mapped to the content, the actions are executed in the iteration order
+     * @param type     the deployment type
+     *
+     * @return the new deployment
+     */
+    public static DomainMultiDeployment create(final DomainClient client, final Domain domain, final Map<String, File> contents, final Type type) {
+        return new DomainMultiDeployment(client, domain, contents, type);
+    }
+
+    @Override
+    public Status execute() throws DeploymentExecutionException, DeploymentFailureException {
+        try {
+            final DomainDeploymentManager manager = client.getDeploymentManager();
+            final Set<String> existingDeployments = new HashSet<String>(DeploymentInspector.getDeployments(client));
+            final DeploymentPlanBuilder builder = manager.newDeploymentPlan();
+            DeploymentActionsCompleteBuilder completeBuilder = null;
+            for (Map.Entry<String, File> entry : contents.entrySet()) {
+                final String name = entry.getKey();
+                final File content = entry.getValue();
+                final boolean exists = existingDeployments.contains(name);
+                final DeploymentPlanBuilder current = (completeBuilder == null ? builder : completeBuilder);
+                switch (type) {
+                    case ADD: {
+                        completeBuilder = current.add(name, content);
+                        break;
+                    }
+                    case FORCE_ADD: {
+                        completeBuilder = (exists ? current.replace(name, content) : current.add(name, content));
+                        break;
+                    }
+                    case DEPLOY: {
+                        completeBuilder = current.add(name, content).andDeploy();
+                        break;
+                    }
+                    case FORCE_DEPLOY: {
+                        completeBuilder = (exists ? current.replace(name, content).deploy(name) : current.add(name, content).andDeploy());
+                        break;
+                    }
+                    case REDEPLOY: {
+                        completeBuilder = current.replace(name, content);
+                        break;
+                    }
+                    case UNDEPLOY: {
+                        if (!exists) {
+                            throw new DeploymentFailureException("Deployment '%s' does not exist.", name);
+                        }
+                        completeBuilder = current.undeploy(name).andRemoveUndeployed();
+                        break;
+                    }
+                    case UNDEPLOY_IGNORE_MISSING: {
+                        if (exists) {
+                            completeBuilder = current.undeploy(name).andRemoveUndeployed();
+                        }
+                        break;
+                    }
+                }
+            }
+            if (completeBuilder != null) {
+                DomainDeployment.executePlan(manager, DomainDeployment.createPlan(domain, completeBuilder), type);
+            }
+        } catch (DeploymentFailureException e) {
+            throw e;
+        } catch (DeploymentExecutionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DeploymentExecutionException(e, "Error executing %s of %s", type, contents.keySet());
+        }
+        return Status.SUCCESS;
+    }
+
+    @Override
+    public Type getType() {
+        return type;
+    }
+}
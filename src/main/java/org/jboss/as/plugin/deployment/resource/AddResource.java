@@ -21,23 +21,24 @@
  */
 package org.jboss.as.plugin.deployment.resource;
 
+import static org.jboss.as.controller.client.helpers.ClientConstants.CONTROLLER_PROCESS_STATE_RELOAD_REQUIRED;
+
 import java.io.IOException;
 import java.net.InetAddress;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.jboss.as.controller.client.ModelControllerClient;
-import org.jboss.as.controller.client.helpers.Operations.CompositeOperationBuilder;
 import org.jboss.as.plugin.common.AbstractServerMojo;
 import org.jboss.as.plugin.common.PropertyNames;
+import org.jboss.as.plugin.common.ReloadWaiter;
 import org.jboss.as.plugin.common.ServerOperations;
 import org.jboss.as.plugin.deployment.domain.Domain;
 import org.jboss.dmr.ModelNode;
-import org.jboss.dmr.Property;
 
 /**
  * Adds a resource
@@ -109,6 +110,19 @@ public class AddResource extends AbstractServerMojo {
     @Parameter(defaultValue = "true", property = PropertyNames.ADD_RESOURCE_FORCE)
     private boolean force;
 
+    /**
+     * Specifies whether or not a standalone server should be reloaded if adding the resources left the server in the
+     * {@code reload-required} state.
+     */
+    @Parameter(alias = "reload-if-required", defaultValue = "false", property = PropertyNames.RELOAD_IF_REQUIRED)
+    private boolean reloadIfRequired;
+
+    /**
+     * The maximum time, in seconds, to wait for a live server after a reload.
+     */
+    @Parameter(alias = "reload-timeout", defaultValue = "30", property = PropertyNames.RELOAD_TIMEOUT)
+    private int reloadTimeout;
+
     @Override
     public String goal() {
         return GOAL;
@@ -141,194 +155,25 @@ public class AddResource extends AbstractServerMojo {
         }
     }
 
-    private void processResources(final ModelControllerClient client, final Resource... resources) throws IOException {
-        for (Resource resource : resources) {
-            if (isDomainServer()) {
-                // Profiles are required when adding resources in domain mode
-                final List<String> profiles = domain.getProfiles();
-                if (profiles.isEmpty()) {
-                    throw new IllegalStateException("Cannot add resources when no profiles were defined.");
-                }
-                for (String profile : profiles) {
-                    final CompositeOperationBuilder compositeOperationBuilder = CompositeOperationBuilder.create();
-                    if (addCompositeResource(profile, client, resource, address, compositeOperationBuilder, true)) {
-                        if (resource.hasBeforeAddCommands()) {
-                            resource.getBeforeAdd().execute(client);
-                        }
-                        // Execute the add resource operation
-                        reportFailure(client.execute(compositeOperationBuilder.build()));
-
-                        if (resource.hasAfterAddCommands()) {
-                            resource.getAfterAdd().execute(client);
-                        }
-                    }
-                }
-            } else {
-                final CompositeOperationBuilder compositeOperationBuilder = CompositeOperationBuilder.create();
-                if (addCompositeResource(null, client, resource, address, compositeOperationBuilder, true)) {
-                    if (resource.hasBeforeAddCommands()) {
-                        resource.getBeforeAdd().execute(client);
-                    }
-                    // Execute the add resource operation
-                    reportFailure(client.execute(compositeOperationBuilder.build()));
-
-                    if (resource.hasAfterAddCommands()) {
-                        resource.getAfterAdd().execute(client);
-                    }
-                }
-            }
-        }
-    }
-
-    private boolean addCompositeResource(final String profileName, final ModelControllerClient client, final Resource resource, final String parentAddress, final CompositeOperationBuilder compositeOp, final boolean checkExistence) throws IOException {
-        final String inputAddress;
-        if (parentAddress == null) {
-            inputAddress = resource.getAddress();
-        } else if (parentAddress.equals(resource.getAddress())) {
-            inputAddress = resource.getAddress();
-        } else if (resource.getAddress() == null) {
-            inputAddress = parentAddress;
-        } else {
-            inputAddress = String.format("%s,%s", parentAddress, resource.getAddress());
-        }
-        // The address cannot be null
-        if (inputAddress == null) {
-            throw new RuntimeException("You must specify the address to deploy the resource to.");
-        }
-        final ModelNode address = parseAddress(profileName, inputAddress);
-        if (checkExistence) {
-            final boolean exists = resourceExists(address, client);
-            if (resource.isAddIfAbsent() && exists) {
-                return false;
-            }
-            if (exists && force) {
-                reportFailure(client.execute(ServerOperations.createRemoveOperation(address, true)));
-            } else if (exists && !force) {
-                throw new RuntimeException(String.format("Resource %s already exists.", address));
-            }
-        }
-        compositeOp.addStep(buildAddOperation(address, resource.getProperties()));
-        if (resource.getResources() != null) {
-            final String resourceAddress = resource.getAddress();
-            final String addr;
-            if (parentAddress != null && resourceAddress != null) {
-                addr = parentAddress + "," + resourceAddress;
-            } else if (parentAddress != null) {
-                addr = parentAddress;
-            } else if (resourceAddress != null) {
-                addr = resourceAddress;
-            } else {
-                addr = null;
-            }
-            for (Resource r : resource.getResources()) {
-                addCompositeResource(profileName, client, r, addr, compositeOp, false);
-            }
-        }
-        if (resource.isEnableResource()) {
-            compositeOp.addStep(ServerOperations.createOperation(ServerOperations.ENABLE, address));
-        }
-        return true;
-    }
-
-    /**
-     * Creates the operation to add a resource.
-     *
-     * @param address    the address of the operation to add.
-     * @param properties the properties to set for the resource.
-     *
-     * @return the operation.
-     */
-    private ModelNode buildAddOperation(final ModelNode address, final Map<String, String> properties) {
-        final ModelNode op = ServerOperations.createAddOperation(address);
-        for (Map.Entry<String, String> prop : properties.entrySet()) {
-            final String[] props = prop.getKey().split(",");
-            if (props.length == 0) {
-                throw new RuntimeException("Invalid property " + prop);
-            }
-            ModelNode node = op;
-            for (int i = 0; i < props.length - 1; ++i) {
-                node = node.get(props[i]);
-            }
-            final String value = prop.getValue() == null ? "" : prop.getValue();
-            if (value.startsWith("!!")) {
-                handleDmrString(node, props[props.length - 1], value);
-            } else {
-                node.get(props[props.length - 1]).set(value);
-            }
-        }
-        return op;
-    }
-
-    /**
-     * Checks the existence of a resource. If the resource exists, {@code true} is returned, otherwise {@code false}.
-     *
-     * @param address the address of the resource to check.
-     * @param client  the client used to execute the operation.
-     *
-     * @return {@code true} if the resources exists, otherwise {@code false}.
-     *
-     * @throws IOException      if an error occurs executing the operation.
-     * @throws RuntimeException if the operation fails.
-     */
-    private boolean resourceExists(final ModelNode address, final ModelControllerClient client) throws IOException {
-        final Property childAddress = ServerOperations.getChildAddress(address);
-        final ModelNode parentAddress = ServerOperations.getParentAddress(address);
-        final ModelNode r = client.execute(ServerOperations.createOperation(ServerOperations.READ_RESOURCE, parentAddress, false));
-        reportFailure(r);
-        boolean found = false;
-        final String name = childAddress.getName();
-        if (ServerOperations.isSuccessfulOutcome(r)) {
-            final ModelNode resources = ServerOperations.readResult(r).get(name);
-            if (resources.isDefined()) {
-                for (ModelNode dataSource : resources.asList()) {
-                    if (dataSource.asProperty().getName().equals(childAddress.getValue().asString())) {
-                        found = true;
-                    }
-                }
-            }
-        }
-        return found;
-    }
-
-    /**
-     * Handles DMR strings in the configuration
-     *
-     * @param node  the node to create.
-     * @param name  the name for the node.
-     * @param value the value for the node.
-     */
-    private void handleDmrString(final ModelNode node, final String name, final String value) {
-        final String realValue = value.substring(2);
-        node.get(name).set(ModelNode.fromString(realValue));
-    }
-
-    /**
-     * Parses the comma delimited address into model nodes.
-     *
-     * @param profileName  the profile name for the domain or {@code null} if not a domain
-     * @param inputAddress the address.
-     *
-     * @return a collection of the address nodes.
-     */
-    private ModelNode parseAddress(final String profileName, final String inputAddress) {
-        final ModelNode result = new ModelNode();
-        if (profileName != null) {
-            result.add(ServerOperations.PROFILE, profileName);
+    private void processResources(final ModelControllerClient client, final Resource... resources) throws IOException, InterruptedException {
+        final boolean domainServer = isDomainServer();
+        if (domainServer && domain == null) {
+            throw new IllegalStateException("Cannot add resources when no profiles were defined.");
         }
-        String[] parts = inputAddress.split(",");
-        for (String part : parts) {
-            String[] address = part.split("=");
-            if (address.length != 2) {
-                throw new RuntimeException(part + " is not a valid address segment");
+        ResourceProcessor.create(client, (domainServer ? domain : null), address, force).process(resources);
+        if (reloadIfRequired) {
+            if (domainServer) {
+                getLog().warn("Reloading is only supported on standalone servers, the reload was ignored.");
+            } else if (isReloadRequired(client)) {
+                getLog().info("Adding the resources requires a reload, reloading the server.");
+                final long reloadTime = ReloadWaiter.create(this).reload(client, reloadTimeout, TimeUnit.SECONDS);
+                getLog().info(String.format("Server reloaded in %d ms", reloadTime));
             }
-            result.add(address[0], address[1]);
         }
-        return result;
     }
 
-    private void reportFailure(final ModelNode result) {
-        if (!ServerOperations.isSuccessfulOutcome(result)) {
-            throw new RuntimeException(ServerOperations.getFailureDescriptionAsString(result));
-        }
+    private static boolean isReloadRequired(final ModelControllerClient client) throws IOException {
+        final ModelNode result = client.execute(ServerOperations.createReadAttributeOperation(ServerOperations.SERVER_STATE));
+        return ServerOperations.isSuccessfulOutcome(result) && CONTROLLER_PROCESS_STATE_RELOAD_REQUIRED.equals(ServerOperations.readResultAsString(result));
     }
 }
@@ -94,12 +94,14 @@ public class Resource {
      * @param address        the optional address for the resource.
      * @param properties     the properties for the resource.
      * @param enableResource {@code true} if the resource needs to be enabled after it is added.
+     * @param resources      the resources that rely on this resource.
      */
-    Resource(final String address, final Map<String, String> properties, final boolean enableResource) {
+    Resource(final String address, final Map<String, String> properties, final boolean enableResource, final Resource... resources) {
         this.address = address;
         this.properties = properties;
         this.enableResource = enableResource;
         this.addIfAbsent = false;
+        this.resources = (resources.length == 0 ? null : resources);
     }
 
     /**
@@ -0,0 +1,276 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment.resource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.helpers.Operations.CompositeOperationBuilder;
+import org.jboss.as.plugin.common.ServerOperations;
+import org.jboss.as.plugin.deployment.domain.Domain;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+
+/**
+ * Adds {@link Resource resources} to a running server.
+ * <p/>
+ * Each top level resource, including any child resources, is executed as a single composite operation.
+ *
+ * @author agent
+ */
+public class ResourceProcessor {
+
+    private final ModelControllerClient client;
+    private final Domain domain;
+    private final String address;
+    private final boolean force;
+
+    private ResourceProcessor(final ModelControllerClient client, final Domain domain, final String address, final boolean force) {
+        this.client = client;
+        this.domain = domain;
+        this.address = address;
+        this.force = force;
+    }
+
+    /**
+     * Creates a new processor for a standalone server.
+     *
+     * @param client  the client used to execute the operations
+     * @param address the optional parent address for the resources
+     * @param force   {@code true} if existing resources should be removed and added again, {@code false} if the
+     *                processing should fail if a resource already exists
+     *
+     * @return the new processor
+     */
+    public static ResourceProcessor create(final ModelControllerClient client, final String address, final boolean force) {
+        return new ResourceProcessor(client, null, address, force);
+    }
+
+    /**
+     * Creates a new processor.
+     *
+     * @param client  the client used to execute the operations
+     * @param domain  the domain configuration or {@code null} if the server is a standalone server
+     * @param address the optional parent address for the resources
+     * @param force   {@code true} if existing resources should be removed and added again, {@code false} if the
+     *                processing should fail if a resource already exists
+     *
+     * @return the new processor
+     */
+    public static ResourceProcessor create(final ModelControllerClient client, final Domain domain, final String address, final boolean force) {
+        return new ResourceProcessor(client, domain, address, force);
+    }
+
+    /**
+     * Adds the resources to the server.
+     *
+     * @param resources the resources to add
+     *
+     * @throws IOException      if an error occurs communicating with the server
+     * @throws RuntimeException if an operation fails
+     */
+    public void process(final Resource... resources) throws IOException {
+        for (Resource resource : resources) {
+            if (domain != null) {
+                // Profiles are required when adding resources in domain mode
+                final List<String> profiles = domain.getProfiles();
+                if (profiles.isEmpty()) {
+                    throw new IllegalStateException("Cannot add resources when no profiles were defined.");
+                }
+                for (String profile : profiles) {
+                    process(profile, resource);
+                }
+            } else {
+                process(null, resource);
+            }
+        }
+    }
+
+    private void process(final String profileName, final Resource resource) throws IOException {
+        final CompositeOperationBuilder compositeOperationBuilder = CompositeOperationBuilder.create();
+        if (addCompositeResource(profileName, resource, address, compositeOperationBuilder, true)) {
+            if (resource.hasBeforeAddCommands()) {
+                resource.getBeforeAdd().execute(client);
+            }
+            // Execute the add resource operation
+            reportFailure(client.execute(compositeOperationBuilder.build()));
+
+            if (resource.hasAfterAddCommands()) {
+                resource.getAfterAdd().execute(client);
+            }
+        }
+    }
+
+    private boolean addCompositeResource(final String profileName, final Resource resource, final String parentAddress, final CompositeOperationBuilder compositeOp, final boolean checkExistence) throws IOException {
+        final String inputAddress;
+        if (parentAddress == null) {
+            inputAddress = resource.getAddress();
+        } else if (parentAddress.equals(resource.getAddress())) {
+            inputAddress = resource.getAddress();
+        } else if (resource.getAddress() == null) {
+            inputAddress = parentAddress;
+        } else {
+            inputAddress = String.format("%s,%s", parentAddress, resource.getAddress());
+        }
+        // The address cannot be null
+        if (inputAddress == null) {
+            throw new RuntimeException("You must specify the address to deploy the resource to.");
+        }
+        final ModelNode address = parseAddress(profileName, inputAddress);
+        if (checkExistence) {
+            final boolean exists = resourceExists(address);
+            if (resource.isAddIfAbsent() && exists) {
+                return false;
+            }
+            if (exists && force) {
+                reportFailure(client.execute(ServerOperations.createRemoveOperation(address, true)));
+            } else if (exists && !force) {
+                throw new RuntimeException(String.format("Resource %s already exists.", address));
+            }
+        }
+        compositeOp.addStep(buildAddOperation(address, resource.getProperties()));
+        if (resource.getResources() != null) {
+            final String resourceAddress = resource.getAddress();
+            final String addr;
+            if (parentAddress != null && resourceAddress != null) {
+                addr = parentAddress + "," + resourceAddress;
+            } else if (parentAddress != null) {
+                addr = parentAddress;
+            } else if (resourceAddress != null) {
+                addr = resourceAddress;
+            } else {
+                addr = null;
+            }
+            for (Resource r : resource.getResources()) {
+                addCompositeResource(profileName, r, addr, compositeOp, false);
+            }
+        }
+        if (resource.isEnableResource()) {
+            compositeOp.addStep(ServerOperations.createOperation(ServerOperations.ENABLE, address));
+        }
+        return true;
+    }
+
+    /**
+     * Creates the operation to add a resource.
+     *
+     * @param address    the address of the operation to add.
+     * @param properties the properties to set for the resource.
+     *
+     * @return the operation.
+     */
+    static ModelNode buildAddOperation(final ModelNode address, final Map<String, String> properties) {
+        final ModelNode op = ServerOperations.createAddOperation(address);
+        for (Map.Entry<String, String> prop : properties.entrySet()) {
+            final String[] props = prop.getKey().split(",");
+            if (props.length == 0) {
+                throw new RuntimeException("Invalid property " + prop);
+            }
+            ModelNode node = op;
+            for (int i = 0; i < props.length - 1; ++i) {
+                node = node.get(props[i]);
+            }
+            final String value = prop.getValue() == null ? "" : prop.getValue();
+            if (value.startsWith("!!")) {
+                handleDmrString(node, props[props.length - 1], value);
+            } else {
+                node.get(props[props.length - 1]).set(value);
+            }
+        }
+        return op;
+    }
+
+    /**
+     * Checks the existence of a resource. If the resource exists, {@code true} is returned, otherwise {@code false}.
+     *
+     * @param address the address of the resource to check.
+     *
+     * @return {@code true} if the resources exists, otherwise {@code false}.
+     *
+     * @throws IOException      if an error occurs executing the operation.
+     * @throws RuntimeException if the operation fails.
+     */
+    private boolean resourceExists(final ModelNode address) throws IOException {
+        final Property childAddress = ServerOperations.getChildAddress(address);
+        final ModelNode parentAddress = ServerOperations.getParentAddress(address);
+        final ModelNode r = client.execute(ServerOperations.createOperation(ServerOperations.READ_RESOURCE, parentAddress, false));
+        reportFailure(r);
+        boolean found = false;
+        final String name = childAddress.getName();
+        if (ServerOperations.isSuccessfulOutcome(r)) {
+            final ModelNode resources = ServerOperations.readResult(r).get(name);
+            if (resources.isDefined()) {
+                for (ModelNode dataSource : resources.asList()) {
+                    if (dataSource.asProperty().getName().equals(childAddress.getValue().asString())) {
+                        found = true;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Handles DMR strings in the configuration
+     *
+     * @param node  the node to create.
+     * @param name  the name for the node.
+     * @param value the value for the node.
+     */
+    private static void handleDmrString(final ModelNode node, final String name, final String value) {
+        final String realValue = value.substring(2);
+        node.get(name).set(ModelNode.fromString(realValue));
+    }
+
+    /**
+     * Parses the comma delimited address into model nodes.
+     *
+     * @param profileName  the profile name for the domain or {@code null} if not a domain
+     * @param inputAddress the address.
+     *
+     * @return a collection of the address nodes.
+     */
+    static ModelNode parseAddress(final String profileName, final String inputAddress) {
+        final ModelNode result = new ModelNode();
+        if (profileName != null) {
+            result.add(ServerOperations.PROFILE, profileName);
+        }
+        String[] parts = inputAddress.split(",");
+        for (String part : parts) {
+            String[] address = part.split("=");
+            if (address.length != 2) {
+                throw new RuntimeException(part + " is not a valid address segment");
+            }
+            result.add(address[0], address[1]);
+        }
+        return result;
+    }
+
+    private static void reportFailure(final ModelNode result) {
+        if (!ServerOperations.isSuccessfulOutcome(result)) {
+            throw new RuntimeException(ServerOperations.getFailureDescriptionAsString(result));
+        }
+    }
+}
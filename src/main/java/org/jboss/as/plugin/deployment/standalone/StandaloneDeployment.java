@@ -25,6 +25,7 @@ package org.jboss.as.plugin.deployment.standalone;
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 import org.jboss.as.controller.client.ModelControllerClient;
 import org.jboss.as.controller.client.helpers.standalone.DeploymentAction;
@@ -177,25 +178,7 @@ public class StandaloneDeployment implements Deployment {
             final DeploymentPlanBuilder builder = manager.newDeploymentPlan();
             final DeploymentPlan plan = createPlan(builder);
             if (plan != null) {
-                if (plan.getDeploymentActions().size() > 0) {
-                    final ServerDeploymentPlanResult planResult = manager.execute(plan).get();
-                    // Check the results
-                    for (DeploymentAction action : plan.getDeploymentActions()) {
-                        final ServerDeploymentActionResult actionResult = planResult.getDeploymentActionResult(action.getId());
-                        final ServerUpdateActionResult.Result result = actionResult.getResult();
-                        switch (result) {
-                            case FAILED:
-                                throw new DeploymentExecutionException("Deployment failed.", actionResult.getDeploymentException());
-                            case NOT_EXECUTED:
-                                throw new DeploymentExecutionException("Deployment not executed.", actionResult.getDeploymentException());
-                            case ROLLED_BACK:
-                                throw new DeploymentExecutionException("Deployment failed and was rolled back.", actionResult.getDeploymentException());
-                            case CONFIGURATION_MODIFIED_REQUIRES_RESTART:
-                                resultStatus = Status.REQUIRES_RESTART;
-                                break;
-                        }
-                    }
-                }
+                resultStatus = executePlan(manager, plan);
             }
         } catch (DeploymentExecutionException e) {
             throw e;
@@ -205,6 +188,42 @@ public class StandaloneDeployment implements Deployment {
         return resultStatus;
     }
 
+    /**
+     * Executes the plan and checks the result of each action.
+     *
+     * @param manager the deployment manager
+     * @param plan    the plan to execute
+     *
+     * @return the status of the execution
+     *
+     * @throws DeploymentExecutionException if an action failed
+     * @throws ExecutionException           if the execution of the plan failed
+     * @throws InterruptedException         if interrupted while waiting for the plan to complete
+     */
+    static Status executePlan(final ServerDeploymentManager manager, final DeploymentPlan plan) throws DeploymentExecutionException, ExecutionException, InterruptedException {
+        Status resultStatus = Status.SUCCESS;
+        if (plan.getDeploymentActions().size() > 0) {
+            final ServerDeploymentPlanResult planResult = manager.execute(plan).get();
+            // Check the results
+            for (DeploymentAction action : plan.getDeploymentActions()) {
+                final ServerDeploymentActionResult actionResult = planResult.getDeploymentActionResult(action.getId());
+                final ServerUpdateActionResult.Result result = actionResult.getResult();
+                switch (result) {
+                    case FAILED:
+                        throw new DeploymentExecutionException("Deployment failed.", actionResult.getDeploymentException());
+                    case NOT_EXECUTED:
+                        throw new DeploymentExecutionException("Deployment not executed.", actionResult.getDeploymentException());
+                    case ROLLED_BACK:
+                        throw new DeploymentExecutionException("Deployment failed and was rolled back.", actionResult.getDeploymentException());
+                    case CONFIGURATION_MODIFIED_REQUIRES_RESTART:
+                        resultStatus = Status.REQUIRES_RESTART;
+                        break;
+                }
+            }
+        }
+        return resultStatus;
+    }
+
     @Override
     public Type getType() {
         return type;
@@ -0,0 +1,151 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment.standalone;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.helpers.standalone.DeploymentPlan;
+import org.jboss.as.controller.client.helpers.standalone.DeploymentPlanBuilder;
+import org.jboss.as.controller.client.helpers.standalone.ServerDeploymentManager;
+import org.jboss.as.plugin.common.DeploymentExecutionException;
+import org.jboss.as.plugin.common.DeploymentFailureException;
+import org.jboss.as.plugin.common.DeploymentInspector;
+import org.jboss.as.plugin.deployment.Deployment;
+
+/**
+ * A deployment of several archives to a standalone server executed as a single deployment plan. If any action of the
+ * plan fails all the actions are rolled back.
+ *
+ * @author agent
+ */
+public class StandaloneMultiDeployment implements Deployment {
+
+    private final ModelControllerClient client;
+    private final Map<String, File> contents;
+    private final Type type;
+
+    /**
+     * Creates a new deployment.
+     *
+     * @param client   the client for the server
+     * @param contents the deployment names mapped to the content, the actions are executed in the iteration order
+     * @param type     the deployment type
+     */
+    public StandaloneMultiDeployment(final ModelControllerClient client, final Map<String, File> contents, final Type type) {
+        this.client = client;
+        this.contents = new LinkedHashMap<String, File>(contents);
+        this.type = type;
+    }
+
+    /**
+     * Creates a new deployment.
+     *
+     * @param client   the client for the server
+     * @param contents the deployment names mapped to the content, the actions are executed in the iteration order
+     * @param type     the deployment type
+     *
+     * @return the new deployment
+     */
+    public static StandaloneMultiDeployment create(final ModelControllerClient client, final Map<String, File> contents, final Type type) {
+        return new StandaloneMultiDeployment(client, contents, type);
+    }
+
+    private DeploymentPlan createPlan(final DeploymentPlanBuilder builder) throws IOException, DeploymentFailureException {
+        // A single lookup for all the archives
+        final Set<String> existingDeployments = new HashSet<String>(DeploymentInspector.getDeployments(client));
+        DeploymentPlanBuilder planBuilder = builder;
+        boolean hasActions = false;
+        for (Map.Entry<String, File> entry : contents.entrySet()) {
+            final String name = entry.getKey();
+            final File content = entry.getValue();
+            final boolean exists = existingDeployments.contains(name);
+            switch (type) {
+                case ADD: {
+                    planBuilder = planBuilder.add(name, content);
+                    break;
+                }
+                case FORCE_ADD: {
+                    planBuilder = (exists ? planBuilder.replace(name, content) : planBuilder.add(name, content));
+                    break;
+                }
+                case DEPLOY: {
+                    planBuilder = planBuilder.add(name, content).andDeploy();
+                    break;
+                }
+                case FORCE_DEPLOY: {
+                    planBuilder = (exists ? planBuilder.replace(name, content).deploy(name) : planBuilder.add(name, content).andDeploy());
+                    break;
+                }
+                case REDEPLOY: {
+                    planBuilder = planBuilder.replace(name, content).redeploy(name);
+                    break;
+                }
+                case UNDEPLOY: {
+                    if (!exists) {
+                        throw new DeploymentFailureException("Deployment '%s' does not exist.", name);
+                    }
+                    planBuilder = planBuilder.undeploy(name).andRemoveUndeployed();
+                    break;
+                }
+                case UNDEPLOY_IGNORE_MISSING: {
+                    if (!exists) {
+                        continue;
+                    }
+                    planBuilder = planBuilder.undeploy(name).andRemoveUndeployed();
+                    break;
+                }
+            }
+            hasActions = true;
+        }
+        return (hasActions ? planBuilder.build() : null);
+    }
+
+    @Override
+    public Status execute() throws DeploymentExecutionException, DeploymentFailureException {
+        try {
+            final ServerDeploymentManager manager = ServerDeploymentManager.Factory.create(client);
+            final DeploymentPlan plan = createPlan(manager.newDeploymentPlan().withRollback());
+            if (plan != null) {
+                return StandaloneDeployment.executePlan(manager, plan);
+            }
+        } catch (DeploymentExecutionException e) {
+            throw e;
+        } catch (DeploymentFailureException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DeploymentExecutionException(e, "Error executing %s of %s", type, contents.keySet());
+        }
+        return Status.SUCCESS;
+    }
+
+    @Override
+    public Type getType() {
+        return type;
+    }
+}
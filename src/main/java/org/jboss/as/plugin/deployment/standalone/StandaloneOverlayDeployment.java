@@ -0,0 +1,421 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment.standalone;
+
+import static org.jboss.as.controller.client.helpers.ClientConstants.CHILD_TYPE;
+import static org.jboss.as.controller.client.helpers.ClientConstants.CONTENT;
+import static org.jboss.as.controller.client.helpers.ClientConstants.DEPLOYMENT;
+import static org.jboss.as.controller.client.helpers.ClientConstants.DEPLOYMENT_REDEPLOY_OPERATION;
+import static org.jboss.as.controller.client.helpers.ClientConstants.INPUT_STREAM_INDEX;
+import static org.jboss.as.controller.client.helpers.ClientConstants.RESULT;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.helpers.Operations.CompositeOperationBuilder;
+import org.jboss.as.plugin.common.Checksums;
+import org.jboss.as.plugin.common.DeploymentExecutionException;
+import org.jboss.as.plugin.common.DeploymentFailureException;
+import org.jboss.as.plugin.common.DeploymentInspector;
+import org.jboss.as.plugin.common.IoUtils;
+import org.jboss.as.plugin.common.ServerOperations;
+import org.jboss.as.plugin.deployment.Deployment;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * A redeployment for standalone servers which only uploads the entries of the archive that changed since the archive
+ * was last fully deployed.
+ * <p/>
+ * The CRC and size of each entry of the deployed archive, and the hash of the content reported by the server, are
+ * recorded in a manifest. On the next redeploy the entries which changed are added as content of a
+ * {@code deployment-overlay} linked to the deployment and the deployment is redeployed. The content is read from the
+ * central directory of the archive, so unchanged entries are neither read nor transferred.
+ * <p/>
+ * An overlay can only replace or add entries. The whole archive is redeployed, and the overlay removed, if there is no
+ * manifest, the content deployed on the server is not the recorded content, the overlay on the server does not match
+ * the manifest, entries were removed or the uncompressed size of the changed entries is larger than half of the
+ * uncompressed size of the archive.
+ * <p/>
+ * Any other deployment of the same name must {@link #reset() reset} the overlay, otherwise its entries would shadow the
+ * newly deployed content.
+ *
+ * @author agent
+ */
+public class StandaloneOverlayDeployment implements Deployment {
+
+    static final String DEPLOYMENT_OVERLAY = "deployment-overlay";
+
+    private static final String BASELINE_PREFIX = "baseline.";
+    private static final String OVERLAY_PREFIX = "overlay.";
+    private static final String HASH_KEY = "hash";
+
+    private final ModelControllerClient client;
+    private final File content;
+    private final String name;
+    private final String overlayName;
+    private final File manifestFile;
+
+    /**
+     * Creates a new deployment.
+     *
+     * @param client       the client that is connected.
+     * @param content      the content for the deployment.
+     * @param name         the name of the deployment, if {@code null} the name of the content file is used.
+     * @param manifestFile the file the entries of the deployed archive are recorded in
+     */
+    public StandaloneOverlayDeployment(final ModelControllerClient client, final File content, final String name, final File manifestFile) {
+        this.client = client;
+        this.content = content;
+        this.name = (name == null ? content.getName() : name);
+        this.overlayName = this.name + "-delta";
+        this.manifestFile = manifestFile;
+    }
+
+    /**
+     * Creates a new deployment.
+     *
+     * @param client       the client that is connected.
+     * @param content      the content for the deployment.
+     * @param name         the name of the deployment, if {@code null} the name of the content file is used.
+     * @param manifestFile the file the entries of the deployed archive are recorded in
+     *
+     * @return the new deployment
+     */
+    public static StandaloneOverlayDeployment create(final ModelControllerClient client, final File content, final String name, final File manifestFile) {
+        return new StandaloneOverlayDeployment(client, content, name, manifestFile);
+    }
+
+    @Override
+    public Status execute() throws DeploymentExecutionException, DeploymentFailureException {
+        try {
+            final Map<String, String> current = readEntries(content);
+            final Properties manifest = readManifest();
+            final boolean overlayExists = hasOverlay();
+            if (manifest != null && isBaseline(manifest, DeploymentInspector.getContentHash(client, name), overlayExists)) {
+                final Delta delta = Delta.create(manifest, current);
+                if (delta != null && delta.size <= sizeOf(current) / 2) {
+                    if (delta.isEmpty()) {
+                        return Status.SUCCESS;
+                    }
+                    executeDelta(delta, overlayExists);
+                    for (String entry : delta.removed) {
+                        manifest.remove(OVERLAY_PREFIX + entry);
+                    }
+                    for (String entry : delta.added) {
+                        manifest.setProperty(OVERLAY_PREFIX + entry, current.get(entry));
+                    }
+                    writeManifest(manifest);
+                    return Status.SUCCESS;
+                }
+            }
+            // Nothing to base a delta on, replace the whole archive
+            reset();
+            final Status status = StandaloneDeployment.create(client, content, name, Type.REDEPLOY, null, null).execute();
+            final byte[] hash = DeploymentInspector.getContentHash(client, name);
+            if (hash != null) {
+                final Properties baseline = new Properties();
+                baseline.setProperty(HASH_KEY, Checksums.toHexString(hash));
+                for (Map.Entry<String, String> entry : current.entrySet()) {
+                    baseline.setProperty(BASELINE_PREFIX + entry.getKey(), entry.getValue());
+                }
+                writeManifest(baseline);
+            }
+            return status;
+        } catch (DeploymentExecutionException e) {
+            throw e;
+        } catch (DeploymentFailureException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DeploymentExecutionException(e, "Error executing %s", getType());
+        }
+    }
+
+    /**
+     * Removes the overlay of previous delta redeploys from the server, if it exists, and deletes the manifest.
+     *
+     * @throws IOException                  if the server could not be reached or the manifest could not be deleted
+     * @throws DeploymentExecutionException if the overlay could not be removed
+     */
+    public void reset() throws IOException, DeploymentExecutionException {
+        if (hasOverlay()) {
+            removeOverlay();
+        }
+        // Remove the manifest first so a failed deployment never leaves a stale manifest behind
+        if (manifestFile.exists() && !manifestFile.delete()) {
+            throw new IOException(String.format("Could not delete %s", manifestFile));
+        }
+    }
+
+    /**
+     * Checks whether the overlay of delta redeploys exists on the server. Servers which do not support overlays never
+     * have one.
+     *
+     * @return {@code true} if the overlay exists, otherwise {@code false}
+     *
+     * @throws IOException if the server could not be reached
+     */
+    public boolean hasOverlay() throws IOException {
+        return ServerOperations.isSuccessfulOutcome(client.execute(ServerOperations.createReadResourceOperation(overlayAddress())));
+    }
+
+    /**
+     * Checks whether the manifest describes the content deployed on the server.
+     *
+     * @param manifest      the manifest
+     * @param deployedHash  the hash of the deployed content or {@code null} if the deployment does not exist
+     * @param overlayExists whether the overlay exists on the server
+     *
+     * @return {@code true} if a delta can be based on the manifest, otherwise {@code false}
+     */
+    static boolean isBaseline(final Properties manifest, final byte[] deployedHash, final boolean overlayExists) {
+        final String hash = manifest.getProperty(HASH_KEY);
+        if (deployedHash == null || hash == null || !hash.equals(Checksums.toHexString(deployedHash))) {
+            return false;
+        }
+        boolean overlayEntries = false;
+        for (String key : manifest.stringPropertyNames()) {
+            if (key.startsWith(OVERLAY_PREFIX)) {
+                overlayEntries = true;
+                break;
+            }
+        }
+        return overlayEntries == overlayExists;
+    }
+
+    /**
+     * Returns the uncompressed size of the entries.
+     *
+     * @param entries the entry names mapped to the checksum of the entry
+     *
+     * @return the size in bytes
+     */
+    static long sizeOf(final Map<String, String> entries) {
+        long result = 0L;
+        for (String checksum : entries.values()) {
+            result += Delta.sizeOf(checksum);
+        }
+        return result;
+    }
+
+    @Override
+    public Type getType() {
+        return Type.REDEPLOY;
+    }
+
+    private void executeDelta(final Delta delta, final boolean overlayExists) throws IOException, DeploymentExecutionException {
+        final CompositeOperationBuilder builder = CompositeOperationBuilder.create();
+        if (!overlayExists) {
+            builder.addStep(ServerOperations.createAddOperation(overlayAddress()));
+            builder.addStep(ServerOperations.createAddOperation(overlayAddress(DEPLOYMENT, name)));
+        }
+        for (String entry : delta.removed) {
+            builder.addStep(ServerOperations.createRemoveOperation(overlayAddress(CONTENT, entry)));
+        }
+        final ZipFile zipFile = new ZipFile(content);
+        try {
+            int index = 0;
+            for (String entry : delta.added) {
+                final ModelNode op = ServerOperations.createAddOperation(overlayAddress(CONTENT, entry));
+                op.get(CONTENT).get(INPUT_STREAM_INDEX).set(index++);
+                builder.addStep(op);
+                builder.addInputStream(zipFile.getInputStream(zipFile.getEntry(entry)));
+            }
+            builder.addStep(ServerOperations.createOperation(DEPLOYMENT_REDEPLOY_OPERATION, ServerOperations.createAddress(DEPLOYMENT, name)));
+            execute(builder.build());
+        } finally {
+            zipFile.close();
+        }
+    }
+
+    /**
+     * Removes the links and the content of the overlay before the overlay itself.
+     */
+    private void removeOverlay() throws IOException, DeploymentExecutionException {
+        final CompositeOperationBuilder builder = CompositeOperationBuilder.create();
+        for (String deployment : readChildrenNames(overlayAddress(), DEPLOYMENT)) {
+            builder.addStep(ServerOperations.createRemoveOperation(overlayAddress(DEPLOYMENT, deployment)));
+        }
+        for (String entry : readChildrenNames(overlayAddress(), CONTENT)) {
+            builder.addStep(ServerOperations.createRemoveOperation(overlayAddress(CONTENT, entry)));
+        }
+        builder.addStep(ServerOperations.createRemoveOperation(overlayAddress()));
+        execute(builder.build());
+    }
+
+    private List<String> readChildrenNames(final ModelNode address, final String childType) throws IOException, DeploymentExecutionException {
+        final ModelNode op = ServerOperations.createOperation(ServerOperations.READ_CHILDREN_NAMES, address);
+        op.get(CHILD_TYPE).set(childType);
+        final ModelNode result = client.execute(op);
+        if (!ServerOperations.isSuccessfulOutcome(result)) {
+            throw new DeploymentExecutionException("Could not list the children of type %s: %s", childType, ServerOperations.getFailureDescriptionAsString(result));
+        }
+        final List<String> names = new ArrayList<String>();
+        if (result.hasDefined(RESULT)) {
+            for (ModelNode child : ServerOperations.readResult(result).asList()) {
+                names.add(child.asString());
+            }
+        }
+        return names;
+    }
+
+    private ModelNode overlayAddress() {
+        return ServerOperations.createAddress(DEPLOYMENT_OVERLAY, overlayName);
+    }
+
+    private ModelNode overlayAddress(final String childType, final String childName) {
+        return overlayAddress().add(childType, childName);
+    }
+
+    private void execute(final Operation op) throws IOException, DeploymentExecutionException {
+        final ModelNode result = client.execute(op);
+        if (!ServerOperations.isSuccessfulOutcome(result)) {
+            throw new DeploymentExecutionException("Redeploying %s through the overlay %s failed: %s", name, overlayName,
+                    ServerOperations.getFailureDescriptionAsString(result));
+        }
+    }
+
+    private Properties readManifest() throws IOException {
+        if (!manifestFile.isFile()) {
+            return null;
+        }
+        final Properties result = new Properties();
+        final InputStream in = new FileInputStream(manifestFile);
+        try {
+            result.load(in);
+        } finally {
+            IoUtils.safeClose(in);
+        }
+        return result;
+    }
+
+    private void writeManifest(final Properties manifest) throws IOException {
+        final File dir = manifestFile.getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException(String.format("Could not create directory %s", dir));
+        }
+        final OutputStream out = new FileOutputStream(manifestFile);
+        try {
+            manifest.store(out, String.format("Entries of the deployment %s", name));
+        } finally {
+            IoUtils.safeClose(out);
+        }
+    }
+
+    /**
+     * Reads the CRC and size of each file entry from the central directory of the archive.
+     *
+     * @param archive the archive
+     *
+     * @return the entry names mapped to the checksum of the entry
+     *
+     * @throws IOException if the archive could not be read
+     */
+    static Map<String, String> readEntries(final File archive) throws IOException {
+        final Map<String, String> result = new HashMap<String, String>();
+        final ZipFile zipFile = new ZipFile(archive);
+        try {
+            final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                if (!entry.isDirectory()) {
+                    result.put(entry.getName(), Long.toHexString(entry.getCrc()) + ':' + entry.getSize());
+                }
+            }
+        } finally {
+            zipFile.close();
+        }
+        return result;
+    }
+
+    /**
+     * The changes to apply to the overlay.
+     */
+    static class Delta {
+        final List<String> added = new ArrayList<String>();
+        final List<String> removed = new ArrayList<String>();
+        long size;
+
+        /**
+         * Compares the entries of the archive with the manifest.
+         *
+         * @param manifest the manifest
+         * @param current  the entries of the archive
+         *
+         * @return the delta or {@code null} if entries were removed from the archive
+         */
+        static Delta create(final Properties manifest, final Map<String, String> current) {
+            final Delta result = new Delta();
+            for (String key : manifest.stringPropertyNames()) {
+                final String entry;
+                if (key.startsWith(BASELINE_PREFIX)) {
+                    entry = key.substring(BASELINE_PREFIX.length());
+                } else if (key.startsWith(OVERLAY_PREFIX)) {
+                    entry = key.substring(OVERLAY_PREFIX.length());
+                } else {
+                    continue;
+                }
+                if (!current.containsKey(entry)) {
+                    return null;
+                }
+            }
+            for (Map.Entry<String, String> entry : current.entrySet()) {
+                final String checksum = entry.getValue();
+                final String overlay = manifest.getProperty(OVERLAY_PREFIX + entry.getKey());
+                final String baseline = manifest.getProperty(BASELINE_PREFIX + entry.getKey());
+                if (checksum.equals(overlay) || (overlay == null && checksum.equals(baseline))) {
+                    continue;
+                }
+                if (overlay != null) {
+                    result.removed.add(entry.getKey());
+                }
+                if (!checksum.equals(baseline)) {
+                    result.added.add(entry.getKey());
+                    result.size += sizeOf(checksum);
+                }
+            }
+            return result;
+        }
+
+        static long sizeOf(final String checksum) {
+            return Long.parseLong(checksum.substring(checksum.indexOf(':') + 1));
+        }
+
+        boolean isEmpty() {
+            return added.isEmpty() && removed.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,372 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.server;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.maven.plugin.logging.Log;
+import org.jboss.as.plugin.common.IoUtils;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Builds a timeline of the boot of a managed server.
+ * <p/>
+ * The timeline consists of the launch of the JVM, the first console output, the time the management interface became
+ * available and the events parsed from the {@code boot.log}. The activity of a subsystem is approximated by the time
+ * between the first and last message logged by its category during boot. Deployments are measured from the
+ * {@code JBAS015876} starting message to the {@code JBAS018559} or {@code JBAS015859} deployed message.
+ * <p/>
+ * Only the last boot written to the {@code boot.log} since the launch is profiled, so the profile of a server reloaded
+ * after it was configured in admin-only mode describes the boot in normal mode. All offsets are in milliseconds
+ * relative to the launch of the JVM.
+ *
+ * @author agent
+ */
+final class BootProfiler {
+
+    private static final Pattern LINE_PATTERN = Pattern.compile("^(\\d{2}):(\\d{2}):(\\d{2}),(\\d{3})\\s+\\w+\\s+\\[([^\\]]+)\\]\\s+\\([^)]*\\)\\s+(.*)$");
+    private static final Pattern NAME_PATTERN = Pattern.compile("\"([^\"]+)\"");
+    private static final Pattern STARTED_IN_PATTERN = Pattern.compile("started(?: \\(with errors\\))? in (\\d+)ms");
+    private static final String SERVER_STARTING = "JBAS015899";
+    private static final String DEPLOYMENT_STARTING = "JBAS015876";
+    private static final String[] DEPLOYMENT_DEPLOYED = {"JBAS018559", "JBAS015859"};
+    private static final String SUBSYSTEM_PREFIX = "org.jboss.as.";
+    private static final long DAY = 24L * 60L * 60L * 1000L;
+    private static final int SUMMARY_SIZE = 5;
+
+    private final long launchTime;
+    private final File bootLog;
+    private final long bootLogPosition;
+    private volatile long firstOutputTime;
+    private volatile long reloadTime;
+    private volatile long runningTime;
+
+    BootProfiler(final long launchTime, final File bootLog, final long bootLogPosition) {
+        this.launchTime = launchTime;
+        this.bootLog = bootLog;
+        this.bootLogPosition = bootLogPosition;
+    }
+
+    /**
+     * Creates a new profiler for a process launched now. Only the part of the boot log written after the launch is
+     * profiled, a boot log reused from earlier launches is skipped.
+     *
+     * @param bootLog the boot log of the server
+     *
+     * @return the profiler
+     */
+    static BootProfiler launched(final File bootLog) {
+        return new BootProfiler(System.currentTimeMillis(), bootLog, bootLog.length());
+    }
+
+    /**
+     * Records output from the console of the server. Only the first invocation is recorded.
+     */
+    void consoleOutput() {
+        if (firstOutputTime == 0L) {
+            firstOutputTime = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Records that the server is being reloaded. Only the boot following the last reload is profiled.
+     */
+    void reloading() {
+        reloadTime = System.currentTimeMillis();
+        runningTime = 0L;
+    }
+
+    /**
+     * Records that the server is running.
+     */
+    void running() {
+        runningTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Creates the profile from the boot log, writes it as JSON to the target file and logs a summary.
+     *
+     * @param target the file to write the JSON profile to
+     * @param log    the log to write the summary to
+     *
+     * @throws IOException if the boot log could not be read or the profile could not be written
+     */
+    void write(final File target, final Log log) throws IOException {
+        final ModelNode profile = profile();
+        final File parent = target.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException(String.format("Could not create directory %s", parent));
+        }
+        final FileWriter writer = new FileWriter(target);
+        try {
+            writer.write(profile.toJSONString(false));
+        } finally {
+            IoUtils.safeClose(writer);
+        }
+        log.info(String.format("Boot profile: first console output after %d ms, management available after %d ms, server reported started in %d ms",
+                profile.get("first-output").asLong(), profile.get("management-available").asLong(), profile.get("started-in").asLong()));
+        logSlowest(log, "subsystems", profile.get("subsystems"));
+        logSlowest(log, "deployments", profile.get("deployments"));
+        log.info(String.format("Boot profile written to %s", target));
+    }
+
+    /**
+     * Creates the profile from the boot log.
+     *
+     * @return the profile
+     *
+     * @throws IOException if the boot log could not be read
+     */
+    ModelNode profile() throws IOException {
+        final Boot boot = parse();
+        final ModelNode result = new ModelNode();
+        result.get("launch-time").set(launchTime);
+        result.get("first-output").set(firstOutputTime == 0L ? -1L : firstOutputTime - launchTime);
+        result.get("management-available").set(runningTime == 0L ? -1L : runningTime - launchTime);
+        result.get("started-in").set(boot.startedIn);
+
+        final ModelNode timeline = result.get("timeline").setEmptyList();
+        addEvent(timeline, 0L, "JVM launched");
+        if (firstOutputTime > 0L) {
+            addEvent(timeline, firstOutputTime - launchTime, "First console output");
+        }
+        if (reloadTime > 0L) {
+            addEvent(timeline, reloadTime - launchTime, "Server reloading");
+        }
+        for (Map.Entry<Long, String> event : boot.events) {
+            addEvent(timeline, event.getKey(), event.getValue());
+        }
+        if (runningTime > 0L) {
+            addEvent(timeline, runningTime - launchTime, "Management interface available");
+        }
+        sortByOffset(timeline);
+        result.get("subsystems").set(toSortedList(boot.subsystems));
+        result.get("deployments").set(toSortedList(boot.deployments));
+        return result;
+    }
+
+    /**
+     * Parses the last boot from the part of the boot log written since the launch.
+     *
+     * @return the parsed boot
+     *
+     * @throws IOException if the boot log could not be read
+     */
+    Boot parse() throws IOException {
+        final Boot result = new Boot();
+        if (!bootLog.isFile()) {
+            return result;
+        }
+        // Lines of the boot log written since the launch, the log may have been replaced by a new file
+        final List<Matcher> lines = new ArrayList<Matcher>();
+        int lastStart = 0;
+        final InputStream in = new FileInputStream(bootLog);
+        try {
+            final long position = (bootLog.length() < bootLogPosition ? 0L : bootLogPosition);
+            long skipped = 0L;
+            while (skipped < position) {
+                final long n = in.skip(position - skipped);
+                if (n <= 0L) {
+                    break;
+                }
+                skipped += n;
+            }
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final Matcher matcher = LINE_PATTERN.matcher(line);
+                if (matcher.matches()) {
+                    if (matcher.group(6).startsWith(SERVER_STARTING)) {
+                        lastStart = lines.size();
+                    }
+                    lines.add(matcher);
+                }
+            }
+        } finally {
+            IoUtils.safeClose(in);
+        }
+
+        final long launchTimeOfDay = timeOfDay(launchTime);
+        final Map<String, Long> deploymentsStarting = new HashMap<String, Long>();
+        boolean started = false;
+        for (Matcher matcher : lines.subList(lastStart, lines.size())) {
+            final long offset = offset(launchTimeOfDay, matcher);
+            final String category = matcher.group(5);
+            final String message = matcher.group(6);
+            if (message.startsWith(SERVER_STARTING)) {
+                result.addEvent(offset, "Server starting");
+            } else if (message.startsWith(DEPLOYMENT_STARTING)) {
+                final String name = deploymentName(message);
+                deploymentsStarting.put(name, offset);
+                result.addEvent(offset, String.format("Deployment %s starting", name));
+            } else if (isDeployed(message)) {
+                final String name = deploymentName(message);
+                final Long start = deploymentsStarting.remove(name);
+                result.deployments.put(name, new long[] {(start == null ? offset : start), offset});
+                result.addEvent(offset, String.format("Deployment %s deployed", name));
+            }
+            final Matcher startedIn = STARTED_IN_PATTERN.matcher(message);
+            if (!started && startedIn.find()) {
+                started = true;
+                result.startedIn = Long.parseLong(startedIn.group(1));
+                result.addEvent(offset, "Server started");
+            }
+            if (!started) {
+                final String subsystem = subsystemName(category);
+                final long[] span = result.subsystems.get(subsystem);
+                if (span == null) {
+                    result.subsystems.put(subsystem, new long[] {offset, offset});
+                } else {
+                    span[1] = offset;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void addEvent(final ModelNode timeline, final long offset, final String event) {
+        final ModelNode node = timeline.add();
+        node.get("offset").set(offset);
+        node.get("event").set(event);
+    }
+
+    private static void sortByOffset(final ModelNode timeline) {
+        final List<ModelNode> events = new ArrayList<ModelNode>(timeline.asList());
+        Collections.sort(events, new Comparator<ModelNode>() {
+            @Override
+            public int compare(final ModelNode o1, final ModelNode o2) {
+                final long offset1 = o1.get("offset").asLong();
+                final long offset2 = o2.get("offset").asLong();
+                return (offset1 < offset2 ? -1 : (offset1 == offset2 ? 0 : 1));
+            }
+        });
+        timeline.set(events);
+    }
+
+    private static List<ModelNode> toSortedList(final Map<String, long[]> spans) {
+        final List<Map.Entry<String, long[]>> entries = new ArrayList<Map.Entry<String, long[]>>(spans.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<String, long[]>>() {
+            @Override
+            public int compare(final Map.Entry<String, long[]> o1, final Map.Entry<String, long[]> o2) {
+                final long duration1 = o1.getValue()[1] - o1.getValue()[0];
+                final long duration2 = o2.getValue()[1] - o2.getValue()[0];
+                return (duration1 > duration2 ? -1 : (duration1 == duration2 ? 0 : 1));
+            }
+        });
+        final List<ModelNode> result = new ArrayList<ModelNode>(entries.size());
+        for (Map.Entry<String, long[]> entry : entries) {
+            final ModelNode node = new ModelNode();
+            node.get("name").set(entry.getKey());
+            node.get("start").set(entry.getValue()[0]);
+            node.get("duration").set(entry.getValue()[1] - entry.getValue()[0]);
+            result.add(node);
+        }
+        return result;
+    }
+
+    private static void logSlowest(final Log log, final String description, final ModelNode list) {
+        final List<ModelNode> entries = list.asList();
+        if (entries.isEmpty()) {
+            return;
+        }
+        final StringBuilder sb = new StringBuilder("Slowest ").append(description).append(": ");
+        final int size = Math.min(SUMMARY_SIZE, entries.size());
+        for (int i = 0; i < size; i++) {
+            final ModelNode entry = entries.get(i);
+            if (i > 0) sb.append(", ");
+            sb.append(entry.get("name").asString()).append(" (").append(entry.get("duration").asLong()).append(" ms)");
+        }
+        log.info(sb.toString());
+    }
+
+    private static boolean isDeployed(final String message) {
+        for (String id : DEPLOYMENT_DEPLOYED) {
+            if (message.startsWith(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String deploymentName(final String message) {
+        final Matcher matcher = NAME_PATTERN.matcher(message);
+        return matcher.find() ? matcher.group(1) : message;
+    }
+
+    private static String subsystemName(final String category) {
+        if (category.startsWith(SUBSYSTEM_PREFIX)) {
+            final int end = category.indexOf('.', SUBSYSTEM_PREFIX.length());
+            return (end < 0 ? category.substring(SUBSYSTEM_PREFIX.length()) : category.substring(SUBSYSTEM_PREFIX.length(), end));
+        }
+        return category;
+    }
+
+    /**
+     * The events of a boot parsed from the boot log, the offsets are relative to the launch of the JVM.
+     */
+    static class Boot {
+        final List<Map.Entry<Long, String>> events = new ArrayList<Map.Entry<Long, String>>();
+        final Map<String, long[]> subsystems = new LinkedHashMap<String, long[]>();
+        final Map<String, long[]> deployments = new LinkedHashMap<String, long[]>();
+        long startedIn = -1L;
+
+        void addEvent(final long offset, final String event) {
+            events.add(new AbstractMap.SimpleImmutableEntry<Long, String>(offset, event));
+        }
+    }
+
+    private static long timeOfDay(final long time) {
+        final Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(time);
+        return (calendar.get(Calendar.HOUR_OF_DAY) * 3600000L) + (calendar.get(Calendar.MINUTE) * 60000L) +
+                (calendar.get(Calendar.SECOND) * 1000L) + calendar.get(Calendar.MILLISECOND);
+    }
+
+    private static long offset(final long launchTimeOfDay, final Matcher matcher) {
+        final long timeOfDay = (Long.parseLong(matcher.group(1)) * 3600000L) + (Long.parseLong(matcher.group(2)) * 60000L) +
+                (Long.parseLong(matcher.group(3)) * 1000L) + Long.parseLong(matcher.group(4));
+        long offset = timeOfDay - launchTimeOfDay;
+        // The boot log only contains the time of day, account for booting over midnight
+        if (offset < -(DAY / 2L)) {
+            offset += DAY;
+        }
+        return offset;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.server;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jboss.as.plugin.common.Files;
+import org.jboss.as.plugin.common.IoUtils;
+
+/**
+ * Resolves the JVM arguments used to create and reuse an application class-data sharing (AppCDS) archive for a
+ * managed server.
+ * <p/>
+ * The archive is keyed by the version of the distribution and the version of the JDK. The distribution version is read
+ * from the {@code version.txt} file or the {@code org.jboss.as.version} module of the {@code JBOSS_HOME}, falling back to
+ * the name of the {@code JBOSS_HOME} directory. On Java 13 through 18 the first launch dumps a dynamic archive when the JVM exits and subsequent launches map
+ * the archive with {@code -Xshare:auto}. On Java 19 and later the JVM creates and validates the archive itself. Older
+ * or unknown JVMs get no additional arguments. If the archive can not be used, e.g. it was created by a different JVM,
+ * the JVM silently falls back to loading the classes normally.
+ * <p/>
+ * Note that the JBoss AS 7 distributions do not run on Java 13 or later, the archive only applies to servers launched
+ * with {@code jbossHome} pointing to a distribution which does.
+ *
+ * @author agent
+ */
+final class ClassDataSharing {
+
+    private static final int DYNAMIC_ARCHIVE_VERSION = 13;
+    private static final int AUTO_CREATE_VERSION = 19;
+    private static final Pattern VERSION_JAR_PATTERN = Pattern.compile("^jboss-as-version-(.+)\\.jar$");
+
+    private final File archive;
+    private final JavaRelease release;
+
+    private ClassDataSharing(final File archive, final JavaRelease release) {
+        this.archive = archive;
+        this.release = release;
+    }
+
+    /**
+     * Creates the class-data sharing configuration.
+     *
+     * @param javaHome   the Java home used to launch the server
+     * @param jbossHome  the home directory of the server
+     * @param archiveDir the directory the archive is stored in
+     *
+     * @return the configuration
+     */
+    static ClassDataSharing create(final String javaHome, final File jbossHome, final File archiveDir) {
+        final JavaRelease release = JavaRelease.of(javaHome);
+        final String name = String.format("jboss-as-%s-jdk-%s.jsa", getDistributionVersion(jbossHome), release.getVersion()).replaceAll("[^A-Za-z0-9._-]", "_");
+        return new ClassDataSharing(new File(archiveDir, name), release);
+    }
+
+    /**
+     * Resolves the version of the distribution.
+     *
+     * @param jbossHome the home directory of the server
+     *
+     * @return the version of the distribution or the name of the home directory if the version could not be resolved
+     */
+    static String getDistributionVersion(final File jbossHome) {
+        final File versionTxt = new File(jbossHome, "version.txt");
+        if (versionTxt.isFile()) {
+            BufferedReader reader = null;
+            try {
+                reader = new BufferedReader(new InputStreamReader(new FileInputStream(versionTxt), "UTF-8"));
+                final String line = reader.readLine();
+                if (line != null && !line.trim().isEmpty()) {
+                    // e.g. JBoss Application Server version 7.2.0.Final
+                    final String[] parts = line.trim().split("\\s+");
+                    return parts[parts.length - 1];
+                }
+            } catch (IOException ignore) {
+                // Try the version module
+            } finally {
+                IoUtils.safeClose(reader);
+            }
+        }
+        final String[] moduleDirs = {
+                Files.createPath(jbossHome, "modules", "org", "jboss", "as", "version", "main"),
+                Files.createPath(jbossHome, "modules", "system", "layers", "base", "org", "jboss", "as", "version", "main"),
+        };
+        for (String moduleDir : moduleDirs) {
+            final String[] names = new File(moduleDir).list();
+            if (names != null) {
+                for (String name : names) {
+                    final Matcher matcher = VERSION_JAR_PATTERN.matcher(name);
+                    if (matcher.matches()) {
+                        return matcher.group(1);
+                    }
+                }
+            }
+        }
+        return jbossHome.getName();
+    }
+
+    /**
+     * Checks whether or not the JVM supports the archive.
+     *
+     * @return {@code true} if class-data sharing archives are supported, otherwise {@code false}
+     */
+    boolean isSupported() {
+        return release.isAtLeast(DYNAMIC_ARCHIVE_VERSION);
+    }
+
+    /**
+     * Checks whether or not the archive has already been created.
+     *
+     * @return {@code true} if the archive exists, otherwise {@code false}
+     */
+    boolean isArchived() {
+        return archive.isFile() && archive.length() > 0L;
+    }
+
+    /**
+     * The archive file.
+     *
+     * @return the archive file
+     */
+    File getArchive() {
+        return archive;
+    }
+
+    /**
+     * The release of the JVM used to launch the server.
+     *
+     * @return the Java release
+     */
+    JavaRelease getJavaRelease() {
+        return release;
+    }
+
+    /**
+     * Returns the JVM arguments to create or use the archive. If the JVM does not support the archive an empty list is
+     * returned.
+     *
+     * @return the JVM arguments
+     */
+    List<String> getArguments() {
+        if (!isSupported()) {
+            return Collections.emptyList();
+        }
+        final File parent = archive.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            return Collections.emptyList();
+        }
+        final List<String> result = new ArrayList<String>(2);
+        if (release.isAtLeast(AUTO_CREATE_VERSION)) {
+            result.add("-XX:+AutoCreateSharedArchive");
+            result.add("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+        } else if (isArchived()) {
+            result.add("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+            result.add("-Xshare:auto");
+        } else {
+            result.add("-XX:ArchiveClassesAtExit=" + archive.getAbsolutePath());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.server;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.maven.plugin.logging.Log;
+import org.jboss.as.plugin.common.IoUtils;
+
+/**
+ * Writes the console output of a managed server asynchronously.
+ * <p/>
+ * Every {@link #offer(String) offered} line is written to the optional console log file by the caller through a
+ * buffered writer. The line is then handed to a bounded buffer which never blocks the caller. A single writer thread
+ * mirrors lines at or above the configured level to the Maven log, limited to a maximum number of lines per second, and
+ * flushes the console log file whenever the buffer is drained. If the buffer is full the line is only dropped from the
+ * Maven log and counted.
+ *
+ * @author agent
+ */
+final class ConsoleSink {
+
+    /**
+     * The log levels of the server output.
+     */
+    enum Level {
+        TRACE,
+        DEBUG,
+        INFO,
+        WARN,
+        ERROR,
+        FATAL;
+
+        /**
+         * Parses the level ignoring case.
+         *
+         * @param value the level to parse
+         *
+         * @return the level
+         *
+         * @throws IllegalArgumentException if the value is not a valid level
+         */
+        static Level parse(final String value) {
+            if (value != null) {
+                final String name = value.trim().toUpperCase(Locale.ENGLISH);
+                for (Level level : values()) {
+                    if (level.name().equals(name)) {
+                        return level;
+                    }
+                }
+            }
+            throw new IllegalArgumentException(String.format("Invalid console level '%s', expected one of %s", value, Arrays.toString(values())));
+        }
+    }
+
+    // Matches the default console format, e.g. 12:00:00,000 INFO  [org.jboss.as] (MSC service thread 1-1) message
+    private static final Pattern LEVEL_PATTERN = Pattern.compile("^\\d{2}:\\d{2}:\\d{2},\\d{3}\\s+(TRACE|DEBUG|INFO|WARN|ERROR|FATAL)\\s");
+    private static final int BUFFER_SIZE = 8192;
+    private static final String EOF = new String("EOF");
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+    private final BlockingQueue<String> buffer;
+    private final Log log;
+    private final File logFile;
+    private final Level level;
+    private final int maxLinesPerSecond;
+    private final AtomicLong dropped;
+    private final CountDownLatch done;
+    private Writer writer;
+
+    private ConsoleSink(final Log log, final File logFile, final Level level, final int maxLinesPerSecond) {
+        this.log = log;
+        this.logFile = logFile;
+        this.level = level;
+        this.maxLinesPerSecond = maxLinesPerSecond;
+        buffer = new ArrayBlockingQueue<String>(BUFFER_SIZE);
+        dropped = new AtomicLong();
+        done = new CountDownLatch(1);
+    }
+
+    /**
+     * Creates and starts a new console sink.
+     *
+     * @param log               the Maven log to mirror the output to
+     * @param logFile           the file to write all the output to or {@code null} to not write the output to a file
+     * @param level             the minimum level of the output mirrored to the Maven log
+     * @param maxLinesPerSecond the maximum number of lines per second mirrored to the Maven log or {@code 0} for no
+     *                          limit
+     *
+     * @return the started sink
+     */
+    static ConsoleSink start(final Log log, final File logFile, final Level level, final int maxLinesPerSecond) {
+        final ConsoleSink result = new ConsoleSink(log, logFile, level, maxLinesPerSecond);
+        result.openLogFile();
+        final Thread t = new Thread(result.new OutputWriter());
+        t.setName("AS7-Console-Writer");
+        t.setDaemon(true);
+        t.start();
+        return result;
+    }
+
+    /**
+     * Offers a line of output to the sink. The line is always written to the console log file, if the buffer is full
+     * the line is dropped from the Maven log.
+     *
+     * @param line the line to write
+     */
+    void offer(final String line) {
+        final Writer writer = getWriter();
+        if (writer != null) {
+            try {
+                writer.write(line);
+                writer.write(LINE_SEPARATOR);
+            } catch (IOException e) {
+                logFileFailed(e);
+            }
+        }
+        if (!buffer.offer(line)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Signals that no more output will be offered. The remaining buffered output is still written.
+     */
+    void close() {
+        // The end must always be written, wait for the writer to make room
+        try {
+            buffer.put(EOF);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for the remaining output to be written.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the timeout
+     *
+     * @return {@code true} if all the output was written, otherwise {@code false}
+     *
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    boolean awaitCompletion(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return done.await(timeout, unit);
+    }
+
+    private void openLogFile() {
+        if (logFile != null) {
+            try {
+                final File parent = logFile.getParentFile();
+                if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+                    throw new IOException(String.format("Could not create directory %s", parent));
+                }
+                writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(logFile)));
+            } catch (IOException e) {
+                log.warn(String.format("Could not write the server output to %s", logFile), e);
+            }
+        }
+    }
+
+    private synchronized Writer getWriter() {
+        return writer;
+    }
+
+    private void flushLogFile() {
+        final Writer writer = getWriter();
+        if (writer != null) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                logFileFailed(e);
+            }
+        }
+    }
+
+    private synchronized void logFileFailed(final IOException e) {
+        if (writer != null) {
+            log.warn(String.format("Could not write the server output to %s", logFile), e);
+            IoUtils.safeClose(writer);
+            writer = null;
+        }
+    }
+
+    private synchronized void closeLogFile() {
+        IoUtils.safeClose(writer);
+        writer = null;
+    }
+
+    /**
+     * Determines the level of the line. Lines without a level, e.g. stack traces, inherit the level of the previous
+     * line.
+     *
+     * @param line     the line to parse
+     * @param previous the level of the previous line
+     *
+     * @return the level of the line
+     */
+    static Level parseLevel(final String line, final Level previous) {
+        final Matcher matcher = LEVEL_PATTERN.matcher(line);
+        if (matcher.find()) {
+            return Level.valueOf(matcher.group(1));
+        }
+        return previous;
+    }
+
+    private class OutputWriter implements Runnable {
+        private Level previous = Level.INFO;
+        private long windowStart = System.nanoTime();
+        private int linesInWindow;
+        private long suppressed;
+
+        @Override
+        public void run() {
+            try {
+                String line;
+                while ((line = buffer.take()) != EOF) {
+                    mirror(line);
+                    // Only flush once the buffer has been drained
+                    if (buffer.isEmpty()) {
+                        flushLogFile();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                // All the lines were written to the file before the end was offered
+                closeLogFile();
+                reportSuppressed();
+                final long droppedLines = dropped.get();
+                if (droppedLines > 0L) {
+                    if (logFile == null) {
+                        log.warn(String.format("%d lines of server output were dropped as the console could not keep up.", droppedLines));
+                    } else {
+                        log.warn(String.format("%d lines of server output were not written to the console as it could not keep up, see %s",
+                                droppedLines, logFile));
+                    }
+                }
+                done.countDown();
+            }
+        }
+
+        private void mirror(final String line) {
+            final Level lineLevel = parseLevel(line, previous);
+            previous = lineLevel;
+            if (lineLevel.compareTo(level) < 0) {
+                return;
+            }
+            if (maxLinesPerSecond > 0) {
+                final long now = System.nanoTime();
+                if (now - windowStart >= TimeUnit.SECONDS.toNanos(1L)) {
+                    reportSuppressed();
+                    windowStart = now;
+                    linesInWindow = 0;
+                }
+                if (++linesInWindow > maxLinesPerSecond) {
+                    suppressed++;
+                    return;
+                }
+            }
+            switch (lineLevel) {
+                case ERROR:
+                case FATAL:
+                    log.error(line);
+                    break;
+                case WARN:
+                    log.warn(line);
+                    break;
+                default:
+                    log.info(line);
+                    break;
+            }
+        }
+
+        private void reportSuppressed() {
+            if (suppressed > 0L) {
+                if (logFile == null) {
+                    log.warn(String.format("%d lines of server output were suppressed.", suppressed));
+                } else {
+                    log.warn(String.format("%d lines of server output were suppressed, see %s", suppressed, logFile));
+                }
+                suppressed = 0L;
+            }
+        }
+    }
+}
@@ -40,6 +40,17 @@ interface Defaults {
             "-Dsun.rmi.dgc.server.gcInterval=3600000"
     };
 
+    /**
+     * The default JVM arguments used with a {@link JvmPreset JVM preset}, the memory arguments are resolved by the
+     * preset.
+     */
+    String[] DEFAULT_JVM_PRESET_ARGS = {
+            "-Djava.net.preferIPv4Stack=true",
+            "-Dorg.jboss.resolver.warning=true",
+            "-Dsun.rmi.dgc.client.gcInterval=3600000",
+            "-Dsun.rmi.dgc.server.gcInterval=3600000"
+    };
+
     /**
      * The default group id
      */
@@ -64,4 +75,24 @@ interface Defaults {
      * The default startup timeout.
      */
     String TIMEOUT = "60";
+
+    /**
+     * The default timeout to wait for the server process to exit after a shutdown.
+     */
+    String SHUTDOWN_TIMEOUT = "30";
+
+    /**
+     * The default initial interval between health checks of a managed server.
+     */
+    String HEALTH_CHECK_INTERVAL = "10";
+
+    /**
+     * The default minimum level of the server output written to the Maven log.
+     */
+    String CONSOLE_LEVEL = "INFO";
+
+    /**
+     * The default maximum number of lines of server output written to the Maven log per second.
+     */
+    String CONSOLE_MAX_LINES_PER_SECOND = "200";
 }
@@ -0,0 +1,179 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.as.plugin.common.ArchiveEntryFilter;
+
+/**
+ * Filters the entries extracted from a server distribution.
+ * <p/>
+ * Entry names are matched relative to the root directory of the distribution, e.g. {@code modules/} rather than
+ * {@code jboss-as-7.1.1.Final/modules/}. The {@code standalone} profile only extracts what is required to launch a
+ * standalone server; {@code jboss-modules.jar}, {@code modules/}, {@code bundles/} and {@code standalone/}. The
+ * {@code full} profile extracts everything. Includes and excludes are path prefixes and take precedence over the
+ * profile, excludes before includes. If an allow-list of modules is defined only the modules with a name starting with
+ * one of the allowed names are extracted.
+ *
+ * @author agent
+ */
+final class DistributionFilter implements ArchiveEntryFilter {
+
+    static final String STANDALONE_PROFILE = "standalone";
+    static final String FULL_PROFILE = "full";
+
+    private static final String MODULES_DIR = "modules/";
+    private static final String LAYERS_DIR = "system/layers/";
+    private static final List<String> STANDALONE_PATHS = Arrays.asList(
+            "jboss-modules.jar",
+            MODULES_DIR,
+            "bundles/",
+            "standalone/"
+    );
+
+    private final boolean full;
+    private final List<String> includes;
+    private final List<String> excludes;
+    private final List<String> modules;
+
+    private DistributionFilter(final boolean full, final List<String> includes, final List<String> excludes, final List<String> modules) {
+        this.full = full;
+        this.includes = includes;
+        this.excludes = excludes;
+        this.modules = modules;
+    }
+
+    /**
+     * Creates a new filter.
+     *
+     * @param profile  the profile, {@code standalone} or {@code full}, a {@code null} value is the standalone profile
+     * @param includes the path prefixes to extract regardless of the profile, may be {@code null}
+     * @param excludes the path prefixes to never extract, may be {@code null}
+     * @param modules  the names of the modules allowed to be extracted, {@code null} or empty allows all modules
+     *
+     * @return the filter
+     */
+    static DistributionFilter create(final String profile, final String[] includes, final String[] excludes, final String[] modules) {
+        final boolean full;
+        if (profile == null || STANDALONE_PROFILE.equalsIgnoreCase(profile)) {
+            full = false;
+        } else if (FULL_PROFILE.equalsIgnoreCase(profile)) {
+            full = true;
+        } else {
+            throw new IllegalArgumentException(String.format("Invalid distribution profile '%s'. Valid profiles are %s and %s.", profile, STANDALONE_PROFILE, FULL_PROFILE));
+        }
+        final List<String> modulePaths = new ArrayList<String>();
+        if (modules != null) {
+            for (String module : modules) {
+                if (module != null && !module.trim().isEmpty()) {
+                    modulePaths.add(module.trim().replace('.', '/') + "/");
+                }
+            }
+        }
+        return new DistributionFilter(full, toPaths(includes), toPaths(excludes), modulePaths);
+    }
+
+    @Override
+    public boolean accept(final String name, final boolean directory) {
+        final String path = stripRoot(name.replace('\\', '/'));
+        if (path.isEmpty()) {
+            return true;
+        }
+        if (matches(excludes, path)) {
+            return false;
+        }
+        if (matches(includes, path)) {
+            return true;
+        }
+        if (!full && !matches(STANDALONE_PATHS, path)) {
+            return false;
+        }
+        return !path.startsWith(MODULES_DIR) || isAllowedModule(path.substring(MODULES_DIR.length()), directory);
+    }
+
+    private boolean isAllowedModule(final String path, final boolean directory) {
+        if (modules.isEmpty() || path.isEmpty()) {
+            return true;
+        }
+        String modulePath = path;
+        // Modules may be in a layer, e.g. modules/system/layers/base/org/jboss/...
+        if (modulePath.startsWith(LAYERS_DIR)) {
+            final int index = modulePath.indexOf('/', LAYERS_DIR.length());
+            if (index < 0) {
+                return directory;
+            }
+            modulePath = modulePath.substring(index + 1);
+        }
+        for (String module : modules) {
+            if (modulePath.startsWith(module)) {
+                return true;
+            }
+            // Allow the parent directories of allowed modules
+            if (directory && module.startsWith(modulePath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripRoot(final String name) {
+        final int index = name.indexOf('/');
+        return index < 0 ? "" : name.substring(index + 1);
+    }
+
+    private static boolean matches(final List<String> prefixes, final String path) {
+        for (String prefix : prefixes) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> toPaths(final String[] values) {
+        if (values == null || values.length == 0) {
+            return Collections.emptyList();
+        }
+        final List<String> result = new ArrayList<String>(values.length);
+        for (String value : values) {
+            if (value != null && !value.trim().isEmpty()) {
+                String path = value.trim().replace('\\', '/');
+                while (path.startsWith("/")) {
+                    path = path.substring(1);
+                }
+                result.add(path);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[profile=%s, includes=%s, excludes=%s, modules=%s]", getClass().getSimpleName(),
+                (full ? FULL_PROFILE : STANDALONE_PROFILE), includes, excludes, modules);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.server;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+
+import org.jboss.as.plugin.common.IoUtils;
+
+/**
+ * The resources, cores and memory, available to a server launched on this host.
+ * <p/>
+ * The memory is the cgroup memory limit of the container, version 2 {@code memory.max} or version 1
+ * {@code memory.limit_in_bytes}, if one is set. Otherwise the physical memory of the host is used if it can be
+ * determined.
+ *
+ * @author agent
+ */
+final class HostResources {
+
+    private static final String[] CGROUP_MEMORY_LIMITS = {
+            "/sys/fs/cgroup/memory.max",
+            "/sys/fs/cgroup/memory/memory.limit_in_bytes"
+    };
+    // cgroup v1 reports an unlimited limit as a very large number rounded to the page size
+    private static final long UNLIMITED = Long.MAX_VALUE / 2L;
+
+    private final int cores;
+    private final long memory;
+    private final boolean containerLimit;
+
+    HostResources(final int cores, final long memory, final boolean containerLimit) {
+        this.cores = cores;
+        this.memory = memory;
+        this.containerLimit = containerLimit;
+    }
+
+    /**
+     * Detects the resources of the current host.
+     *
+     * @return the resources
+     */
+    static HostResources detect() {
+        final int cores = Runtime.getRuntime().availableProcessors();
+        final long physicalMemory = physicalMemory();
+        for (String path : CGROUP_MEMORY_LIMITS) {
+            final long limit = readLimit(new File(path));
+            // A limit larger than the physical memory is no limit
+            if (limit > 0L && (physicalMemory <= 0L || limit < physicalMemory)) {
+                return new HostResources(cores, limit, true);
+            }
+        }
+        return new HostResources(cores, physicalMemory, false);
+    }
+
+    /**
+     * The number of cores available.
+     *
+     * @return the number of cores
+     */
+    int getCores() {
+        return cores;
+    }
+
+    /**
+     * The memory available in bytes.
+     *
+     * @return the memory or {@code -1} if it could not be determined
+     */
+    long getMemory() {
+        return memory;
+    }
+
+    /**
+     * Indicates whether or not the memory is limited by a container.
+     *
+     * @return {@code true} if the memory is a container limit, otherwise {@code false}
+     */
+    boolean isContainerLimit() {
+        return containerLimit;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d cores, %s MB memory%s", cores, (memory > 0L ? Long.toString(memory / (1024L * 1024L)) : "unknown"),
+                (containerLimit ? " (container limit)" : ""));
+    }
+
+    private static long readLimit(final File file) {
+        if (!file.isFile()) {
+            return -1L;
+        }
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new FileReader(file));
+            final String line = reader.readLine();
+            if (line == null || "max".equals(line.trim())) {
+                return -1L;
+            }
+            final long limit = Long.parseLong(line.trim());
+            return (limit >= UNLIMITED ? -1L : limit);
+        } catch (IOException e) {
+            return -1L;
+        } catch (NumberFormatException e) {
+            return -1L;
+        } finally {
+            IoUtils.safeClose(reader);
+        }
+    }
+
+    private static long physicalMemory() {
+        final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getTotalPhysicalMemorySize();
+        }
+        return -1L;
+    }
+}
@@ -40,6 +40,17 @@ public class JavaOpts {
     @Parameter
     private String[] args = Defaults.DEFAULT_JVM_ARGS;
 
+    /**
+     * The name of a preset, {@code fast-boot}, {@code throughput} or {@code low-memory}, used to choose the heap size,
+     * garbage collector, compiler and number of cores based on the cores and memory, including container limits,
+     * available when the server is launched.
+     * <p/>
+     * If no {@code args} are defined the default memory arguments are replaced by the preset. Any {@code args} defined
+     * are added after the preset and take precedence.
+     */
+    @Parameter
+    private String preset;
+
     public void set(final String args) {
         if (args == null) {
             this.args = new String[0];
@@ -49,9 +60,16 @@ public class JavaOpts {
     }
 
     public String[] getArgs() {
+        if (preset != null && args == Defaults.DEFAULT_JVM_ARGS) {
+            return Arrays.copyOf(Defaults.DEFAULT_JVM_PRESET_ARGS, Defaults.DEFAULT_JVM_PRESET_ARGS.length);
+        }
         if (args != null && args.length > 0) {
             return Arrays.copyOf(args, args.length);
         }
         return new String[0];
     }
+
+    public String getPreset() {
+        return preset;
+    }
 }
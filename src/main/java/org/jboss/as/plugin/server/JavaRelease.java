@@ -0,0 +1,132 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.server;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+import org.jboss.as.plugin.common.Files;
+import org.jboss.as.plugin.common.IoUtils;
+
+/**
+ * The version of the JVM used to launch a server as described by the {@code release} file in the Java home.
+ *
+ * @author agent
+ */
+final class JavaRelease {
+
+    static final String UNKNOWN = "unknown";
+
+    private final String version;
+    private final int featureVersion;
+
+    private JavaRelease(final String version) {
+        this.version = version;
+        featureVersion = parseFeatureVersion(version);
+    }
+
+    /**
+     * Reads the release information from the Java home.
+     *
+     * @param javaHome the Java home
+     *
+     * @return the release information, the version will be {@link #UNKNOWN unknown} if it could not be read
+     */
+    static JavaRelease of(final String javaHome) {
+        if (javaHome == null) {
+            return new JavaRelease(UNKNOWN);
+        }
+        final File release = new File(Files.createPath(javaHome, "release"));
+        if (!release.isFile()) {
+            return new JavaRelease(UNKNOWN);
+        }
+        final Properties properties = new Properties();
+        InputStream in = null;
+        try {
+            in = new FileInputStream(release);
+            properties.load(in);
+        } catch (IOException e) {
+            return new JavaRelease(UNKNOWN);
+        } finally {
+            IoUtils.safeClose(in);
+        }
+        final String version = properties.getProperty("JAVA_VERSION");
+        if (version == null) {
+            return new JavaRelease(UNKNOWN);
+        }
+        return new JavaRelease(version.replace("\"", "").trim());
+    }
+
+    /**
+     * The full version, e.g. {@code 1.8.0_292} or {@code 17.0.2}.
+     *
+     * @return the version
+     */
+    String getVersion() {
+        return version;
+    }
+
+    /**
+     * The feature version, e.g. {@code 8} for {@code 1.8.0_292} or {@code 17} for {@code 17.0.2}.
+     *
+     * @return the feature version or {@code -1} if unknown
+     */
+    int getFeatureVersion() {
+        return featureVersion;
+    }
+
+    /**
+     * Checks whether or not the feature version is known and at least the version specified.
+     *
+     * @param featureVersion the minimum feature version
+     *
+     * @return {@code true} if the release is at least the feature version, otherwise {@code false}
+     */
+    boolean isAtLeast(final int featureVersion) {
+        return this.featureVersion >= featureVersion;
+    }
+
+    @Override
+    public String toString() {
+        return version;
+    }
+
+    static int parseFeatureVersion(final String version) {
+        if (version == null) {
+            return -1;
+        }
+        final String[] parts = version.split("[._+-]");
+        try {
+            final int major = Integer.parseInt(parts[0]);
+            if (major == 1 && parts.length > 1) {
+                return Integer.parseInt(parts[1]);
+            }
+            return major;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Named sets of JVM arguments resolved from the {@link HostResources resources} of the host at launch time.
+ * <ul>
+ * <li>{@code fast-boot}: a fixed size heap, the serial collector and only the C1 compiler to reduce the time to boot.
+ * </li>
+ * <li>{@code throughput}: a larger fixed size heap and the parallel collector for long running test suites.</li>
+ * <li>{@code low-memory}: a small heap, the serial collector and small thread stacks for constrained containers.</li>
+ * </ul>
+ * The arguments only include flags supported by the version of the JVM launching the server.
+ *
+ * @author agent
+ */
+enum JvmPreset {
+
+    FAST_BOOT("fast-boot") {
+        @Override
+        void addArguments(final List<String> args, final HostResources host, final JavaRelease release) {
+            final long heap = heapSize(host, 4, 256L, 1024L);
+            args.add(String.format("-Xms%dm", heap));
+            args.add(String.format("-Xmx%dm", heap));
+            args.add("-XX:+UseSerialGC");
+            args.add("-XX:TieredStopAtLevel=1");
+            addMetaspace(args, release, 256L);
+            addActiveProcessorCount(args, release, host.getCores());
+        }
+    },
+    THROUGHPUT("throughput") {
+        @Override
+        void addArguments(final List<String> args, final HostResources host, final JavaRelease release) {
+            final long heap = heapSize(host, 2, 512L, 4096L);
+            args.add(String.format("-Xms%dm", heap));
+            args.add(String.format("-Xmx%dm", heap));
+            // A parallel collector gains nothing on a single core
+            args.add(host.getCores() > 1 ? "-XX:+UseParallelGC" : "-XX:+UseSerialGC");
+            addMetaspace(args, release, 512L);
+            addActiveProcessorCount(args, release, host.getCores());
+        }
+    },
+    LOW_MEMORY("low-memory") {
+        @Override
+        void addArguments(final List<String> args, final HostResources host, final JavaRelease release) {
+            args.add("-Xms32m");
+            args.add(String.format("-Xmx%dm", heapSize(host, 8, 128L, 256L)));
+            args.add("-XX:+UseSerialGC");
+            args.add("-XX:TieredStopAtLevel=1");
+            args.add("-Xss256k");
+            addMetaspace(args, release, 128L);
+            addActiveProcessorCount(args, release, Math.min(host.getCores(), 2));
+        }
+    };
+
+    private static final long MB = 1024L * 1024L;
+    // Java 10 and later, back ported to 8u191, however the update version is not reliably available
+    private static final int ACTIVE_PROCESSOR_COUNT_VERSION = 10;
+    private static final int METASPACE_VERSION = 8;
+
+    private final String name;
+
+    private JvmPreset(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * Finds the preset by its name, e.g. {@code fast-boot}.
+     *
+     * @param name the name of the preset
+     *
+     * @return the preset
+     *
+     * @throws IllegalArgumentException if the preset is not known
+     */
+    static JvmPreset fromName(final String name) {
+        final String value = name.trim().toLowerCase(Locale.ENGLISH);
+        for (JvmPreset preset : values()) {
+            if (preset.name.equals(value)) {
+                return preset;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Unknown JVM preset '%s'. Valid values are %s.", name, Arrays.asList(values())));
+    }
+
+    /**
+     * Resolves the JVM arguments of the preset.
+     *
+     * @param host    the resources of the host
+     * @param release the release of the JVM launching the server
+     *
+     * @return the JVM arguments
+     */
+    List<String> resolve(final HostResources host, final JavaRelease release) {
+        final List<String> result = new ArrayList<String>();
+        addArguments(result, host, release);
+        return result;
+    }
+
+    abstract void addArguments(List<String> args, HostResources host, JavaRelease release);
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    static long heapSize(final HostResources host, final int fraction, final long min, final long max) {
+        if (host.getMemory() <= 0L) {
+            return min;
+        }
+        return Math.max(min, Math.min(max, host.getMemory() / fraction / MB));
+    }
+
+    static void addMetaspace(final List<String> args, final JavaRelease release, final long size) {
+        // Unknown versions are assumed to be modern
+        if (release.isAtLeast(METASPACE_VERSION) || release.getFeatureVersion() < 0) {
+            args.add(String.format("-XX:MaxMetaspaceSize=%dm", size));
+        } else {
+            args.add(String.format("-XX:MaxPermSize=%dm", size));
+        }
+    }
+
+    static void addActiveProcessorCount(final List<String> args, final JavaRelease release, final int cores) {
+        if (release.isAtLeast(ACTIVE_PROCESSOR_COUNT_VERSION)) {
+            args.add("-XX:ActiveProcessorCount=" + cores);
+        }
+    }
+}
@@ -25,7 +25,6 @@ package org.jboss.as.plugin.server;
 import java.net.URLClassLoader;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
-import java.util.concurrent.TimeUnit;
 
 import org.codehaus.plexus.classworlds.realm.ClassRealm;
 
@@ -67,12 +66,6 @@ final class SecurityActions {
                 respawnCurrentClassLoader();
 
                 server.stop();
-                // Bad hack to get maven to complete it's message output
-                try {
-                    TimeUnit.MILLISECONDS.sleep(500L);
-                } catch (InterruptedException ignore) {
-                    // no-op
-                }
             }
         });
         hook.setDaemon(true);
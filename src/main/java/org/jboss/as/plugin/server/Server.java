@@ -22,34 +22,55 @@
 
 package org.jboss.as.plugin.server;
 
+import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.util.List;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.maven.plugin.logging.Log;
 import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.plugin.common.Files;
+import org.jboss.as.plugin.common.ReloadWaiter;
 
 /**
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  */
 abstract class Server {
-    private final ScheduledExecutorService timerService;
+    private static final long CONSOLE_DRAIN_TIMEOUT = 2000L;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
     private final ServerConfig serverConfig;
+    private final Log log;
+    private final ServerMonitor monitor;
     private Process process;
     private ConsoleConsumer console;
+    private ConsoleSink sink;
+    private BootProfiler profiler;
+    private Thread consoleThread;
+    private volatile boolean stopping;
     private final String shutdownId;
 
-    protected Server(final ServerConfig serverConfig) {
-        this(serverConfig, null);
+    protected Server(final ServerConfig serverConfig, final Log log) {
+        this(serverConfig, log, null);
     }
 
-    protected Server(final ServerConfig serverConfig, final String shutdownId) {
+    protected Server(final ServerConfig serverConfig, final Log log, final String shutdownId) {
         this.serverConfig = serverConfig;
+        this.log = log;
         this.shutdownId = shutdownId;
-        timerService = Executors.newScheduledThreadPool(1);
+        monitor = new ServerMonitor(this, serverConfig.getHealthCheckInterval(), log);
+    }
+
+    /**
+     * The log used to report the progress of the server.
+     *
+     * @return the log
+     */
+    protected final Log getLog() {
+        return log;
     }
 
     /**
@@ -71,54 +92,163 @@ abstract class Server {
         final List<String> cmd = createLaunchCommand();
         final ProcessBuilder processBuilder = new ProcessBuilder(cmd);
         processBuilder.redirectErrorStream(true);
+        if (serverConfig.getBootProfile() != null) {
+            profiler = BootProfiler.launched(new File(Files.createPath(serverConfig.getLogDir(), "boot.log")));
+        }
         process = processBuilder.start();
+        monitor.watch(process);
+        sink = ConsoleSink.start(log, serverConfig.getConsoleLog(), serverConfig.getConsoleLevel(), serverConfig.getConsoleMaxLinesPerSecond());
         console = startConsoleConsumer(process.getInputStream(), shutdownId);
-        long timeout = serverConfig.getStartupTimeout() * 1000;
-        boolean serverAvailable = false;
-        long sleep = 50;
         init();
-        while (timeout > 0 && !serverAvailable) {
-            serverAvailable = isRunning();
-            if (!serverAvailable) {
-                if (processHasDied(process))
-                    break;
-                try {
-                    Thread.sleep(sleep);
-                } catch (InterruptedException e) {
-                    serverAvailable = false;
-                    break;
-                }
-                timeout -= sleep;
-                sleep = Math.max(sleep / 2, 100);
+        if (waitForServer(serverConfig.getStartupTimeout() * 1000)) {
+            monitor.startHealthChecks();
+            if (profiler != null) {
+                profiler.running();
             }
-        }
-        if (serverAvailable) {
-            timerService.scheduleWithFixedDelay(new Reaper(), 20, 10, TimeUnit.SECONDS);
         } else {
             destroyProcess();
             throw new IllegalStateException(String.format("Managed server was not started within [%d] s", serverConfig.getStartupTimeout()));
         }
     }
 
+    /**
+     * Reloads the server and waits until the server is running again.
+     *
+     * @param adminOnly {@code true} if the server should be reloaded in admin-only mode, {@code false} to reload the
+     *                  server in normal mode
+     *
+     * @throws IOException if an error occurs communicating with the server
+     */
+    public final synchronized void reload(final boolean adminOnly) throws IOException {
+        if (profiler != null) {
+            profiler.reloading();
+        }
+        reloadServer(adminOnly);
+        try {
+            final long reloadTime = ReloadWaiter.create(serverConfig.getConnectionInfo()).waitForReload(serverConfig.getStartupTimeout(), TimeUnit.SECONDS);
+            log.debug(String.format("Server reloaded in %d ms", reloadTime));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the server to reload", e);
+        }
+        // The management channel was closed by the reload
+        init();
+        if (profiler != null) {
+            profiler.running();
+        }
+    }
+
+    /**
+     * Writes the profile of the last boot, or reload, of the server if {@link ServerConfig#getBootProfile() boot
+     * profiling} is enabled. Invoke once the server has been configured so the profile describes the boot the server
+     * is put into service with.
+     */
+    public final synchronized void writeBootProfile() {
+        if (profiler != null) {
+            try {
+                profiler.write(serverConfig.getBootProfile(), log);
+            } catch (IOException e) {
+                log.warn("Could not create the boot profile", e);
+            }
+        }
+    }
+
     /**
      * Stops the server.
+     * <p/>
+     * The shutdown operation is executed and the process is given until the
+     * {@link ServerConfig#getShutdownTimeout() shutdown timeout} to exit. Only if the shutdown could not be confirmed
+     * or the process did not exit in time is the process destroyed. Invoking this method on a server that has already
+     * been stopped is a no-op.
      */
     public final synchronized void stop() {
+        if (stopping) {
+            return;
+        }
+        stopping = true;
+        monitor.stopHealthChecks();
+        final long start = System.currentTimeMillis();
+        boolean confirmed = false;
         try {
-            stopServer();
+            // A process that has already exited, e.g. shutdown externally, does not need to be confirmed
+            confirmed = stopServer() || monitor.hasExited();
         } finally {
+            final long shutdownTime = System.currentTimeMillis() - start;
             if (process != null) {
-                process.destroy();
-                try {
-                    process.waitFor();
-                } catch (InterruptedException ignore) {
-                    // no-op
+                final long exitStart = System.currentTimeMillis();
+                boolean exited = confirmed && awaitExit(serverConfig.getShutdownTimeout() * 1000);
+                final long exitTime = System.currentTimeMillis() - exitStart;
+                long destroyTime = 0L;
+                if (!exited) {
+                    if (confirmed) {
+                        log.warn(String.format("Server process did not exit within [%d] s, destroying the process.", serverConfig.getShutdownTimeout()));
+                    } else {
+                        log.warn("Shutdown of the server could not be confirmed, destroying the process.");
+                    }
+                    final long destroyStart = System.currentTimeMillis();
+                    process.destroy();
+                    exited = awaitExit(serverConfig.getShutdownTimeout() * 1000);
+                    destroyTime = System.currentTimeMillis() - destroyStart;
+                    if (!exited) {
+                        log.warn("Server process did not exit after being destroyed.");
+                    }
                 }
+                // Allow the console to write out any remaining output
+                if (consoleThread != null && consoleThread != Thread.currentThread()) {
+                    try {
+                        consoleThread.join(CONSOLE_DRAIN_TIMEOUT);
+                        sink.awaitCompletion(CONSOLE_DRAIN_TIMEOUT, TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                log.info(String.format("Server stopped in %d ms (shutdown operation: %d ms, process exit: %d ms, destroy: %d ms)",
+                        System.currentTimeMillis() - start, shutdownTime, exitTime, destroyTime));
             }
-            timerService.shutdown();
         }
     }
 
+    /**
+     * Blocks until the process of the server has exited.
+     *
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    public final void awaitExit() throws InterruptedException {
+        monitor.awaitExit();
+    }
+
+    /**
+     * Adds a listener to be notified when the state of the server changes.
+     *
+     * @param listener the listener to add
+     */
+    public final void addListener(final ServerMonitor.Listener listener) {
+        monitor.addListener(listener);
+    }
+
+    /**
+     * Removes a previously added listener.
+     *
+     * @param listener the listener to remove
+     */
+    public final void removeListener(final ServerMonitor.Listener listener) {
+        monitor.removeListener(listener);
+    }
+
+    /**
+     * Checks the health of the server via the management interface. A server that is being stopped is considered
+     * healthy as the health is no longer relevant.
+     *
+     * @return {@code true} if the server is healthy, otherwise {@code false}
+     */
+    final synchronized boolean checkHealth() {
+        if (stopping) {
+            return true;
+        }
+        checkServerState();
+        return isRunning();
+    }
+
     /**
      * Invokes any optional initialization that should take place after the process has been launched. Note the server
      * may not be completely started when the method is invoked.
@@ -128,9 +258,22 @@ abstract class Server {
     protected abstract void init() throws IOException;
 
     /**
-     * Stops the server before the process is destroyed. A no-op override will just destroy the process.
+     * Executes the shutdown of the server. The process will be destroyed if this method returns {@code false} or the
+     * process does not exit within the shutdown timeout.
+     *
+     * @return {@code true} if the server confirmed the shutdown, otherwise {@code false}
+     */
+    protected abstract boolean stopServer();
+
+    /**
+     * Executes a reload operation on the server. The server is not expected to be running once this method returns and
+     * any client connected to the server should be closed. {@link #init()} is invoked once the server is running again.
+     *
+     * @param adminOnly {@code true} if the server should be reloaded in admin-only mode
+     *
+     * @throws IOException if an error occurs communicating with the server
      */
-    protected abstract void stopServer();
+    protected abstract void reloadServer(boolean adminOnly) throws IOException;
 
     /**
      * Checks the status of the server and returns {@code true} if the server is fully started.
@@ -159,24 +302,44 @@ abstract class Server {
      */
     protected abstract void checkServerState();
 
-    private int destroyProcess() {
+    private boolean waitForServer(final long timeoutMillis) {
+        long timeout = timeoutMillis;
+        boolean serverAvailable = false;
+        long sleep = 50;
+        while (timeout > 0 && !serverAvailable) {
+            serverAvailable = isRunning();
+            if (!serverAvailable) {
+                if (monitor.hasExited())
+                    break;
+                try {
+                    Thread.sleep(sleep);
+                } catch (InterruptedException e) {
+                    serverAvailable = false;
+                    break;
+                }
+                timeout -= sleep;
+                sleep = Math.max(sleep / 2, 100);
+            }
+        }
+        return serverAvailable;
+    }
+
+    private void destroyProcess() {
         if (process == null)
-            return 0;
+            return;
+        stopping = true;
         process.destroy();
-        try {
-            return process.waitFor();
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
+        if (!awaitExit(serverConfig.getShutdownTimeout() * 1000)) {
+            log.warn("Server process did not exit after being destroyed.");
         }
     }
 
-    private static boolean processHasDied(final Process process) {
+    private boolean awaitExit(final long timeoutMillis) {
         try {
-            process.exitValue();
-            return true;
-        } catch (IllegalThreadStateException e) {
-            // good
-            return false;
+            return monitor.awaitExit(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return monitor.hasExited();
         }
     }
 
@@ -185,22 +348,13 @@ abstract class Server {
         final Thread t = new Thread(result);
         t.setName("AS7-Console");
         t.start();
+        consoleThread = t;
         return result;
     }
 
-    private class Reaper implements Runnable {
-
-        @Override
-        public void run() {
-            checkServerState();
-            if (!isRunning()) {
-                stop();
-            }
-        }
-    }
-
     /**
-     * Runnable that consumes the output of the process.
+     * Runnable that consumes the output of the process. The output is read line by line and handed off to the
+     * {@link ConsoleSink} so the process never blocks on writing its output.
      *
      * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
      */
@@ -208,37 +362,32 @@ abstract class Server {
 
         private final InputStream in;
         private final String shutdownId;
-        private final CountDownLatch latch;
 
         protected ConsoleConsumer(final InputStream in, final String shutdownId) {
             this.in = in;
-            latch = new CountDownLatch(1);
             this.shutdownId = shutdownId;
         }
 
         @Override
         public void run() {
-
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(in), READ_BUFFER_SIZE);
             try {
-                byte[] buf = new byte[512];
-                int num;
-                while ((num = in.read(buf)) != -1) {
-                    System.out.write(buf, 0, num);
-                    if (shutdownId != null && new String(buf).contains(shutdownId)) {
-                        latch.countDown();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (profiler != null) profiler.consoleOutput();
+                    sink.offer(line);
+                    // The server was stopped externally, don't block on the lock if the stop is already in progress
+                    if (shutdownId != null && !stopping && line.contains(shutdownId)) {
                         if (isRunning()) {
                             stop();
                         }
                     }
                 }
             } catch (IOException ignore) {
+            } finally {
+                sink.close();
             }
         }
 
-        void awaitShutdown(final long seconds) throws InterruptedException {
-            if (shutdownId == null) latch.countDown();
-            latch.await(seconds, TimeUnit.SECONDS);
-        }
-
     }
 }
@@ -47,9 +47,18 @@ class ServerConfig {
     private String propertiesFile;
     private final Arguments serverArgs;
     private long startupTimeout;
+    private long shutdownTimeout;
+    private long healthCheckInterval;
+    private File consoleLog;
+    private ConsoleSink.Level consoleLevel;
+    private int consoleMaxLinesPerSecond;
+    private File bootProfile;
+    private File classDataSharingDir;
+    private JvmPreset jvmPreset;
     private String baseDir;
     private String configDir;
     private String logDir;
+    private boolean adminOnly;
 
     ServerConfig(final ConnectionInfo connectionInfo, final File jbossHome) {
         this.connectionInfo = connectionInfo;
@@ -57,6 +66,10 @@ class ServerConfig {
         jvmArgs = new Arguments();
         serverArgs = new Arguments();
         startupTimeout = 60L;
+        shutdownTimeout = 30L;
+        healthCheckInterval = 10L;
+        consoleLevel = ConsoleSink.Level.INFO;
+        consoleMaxLinesPerSecond = 200;
     }
 
     public static ServerConfig of(final ConnectionInfo connectionInfo, final File jbossHome) {
@@ -114,6 +127,15 @@ class ServerConfig {
         return this;
     }
 
+    public JvmPreset getJvmPreset() {
+        return jvmPreset;
+    }
+
+    public ServerConfig setJvmPreset(final JvmPreset jvmPreset) {
+        this.jvmPreset = jvmPreset;
+        return this;
+    }
+
     public String getJavaHome() {
         return javaHome;
     }
@@ -175,6 +197,78 @@ class ServerConfig {
         return this;
     }
 
+    public long getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    public ServerConfig setShutdownTimeout(final long shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+        return this;
+    }
+
+    public long getHealthCheckInterval() {
+        return healthCheckInterval;
+    }
+
+    public ServerConfig setHealthCheckInterval(final long healthCheckInterval) {
+        this.healthCheckInterval = healthCheckInterval;
+        return this;
+    }
+
+    public File getConsoleLog() {
+        return consoleLog;
+    }
+
+    public ServerConfig setConsoleLog(final File consoleLog) {
+        this.consoleLog = consoleLog;
+        return this;
+    }
+
+    public ConsoleSink.Level getConsoleLevel() {
+        return consoleLevel;
+    }
+
+    public ServerConfig setConsoleLevel(final ConsoleSink.Level consoleLevel) {
+        this.consoleLevel = consoleLevel;
+        return this;
+    }
+
+    public int getConsoleMaxLinesPerSecond() {
+        return consoleMaxLinesPerSecond;
+    }
+
+    public ServerConfig setConsoleMaxLinesPerSecond(final int consoleMaxLinesPerSecond) {
+        this.consoleMaxLinesPerSecond = consoleMaxLinesPerSecond;
+        return this;
+    }
+
+    public File getBootProfile() {
+        return bootProfile;
+    }
+
+    public ServerConfig setBootProfile(final File bootProfile) {
+        this.bootProfile = bootProfile;
+        return this;
+    }
+
+    public File getClassDataSharingDir() {
+        return classDataSharingDir;
+    }
+
+    public ServerConfig setClassDataSharingDir(final File classDataSharingDir) {
+        this.classDataSharingDir = classDataSharingDir;
+        return this;
+    }
+
+    public boolean isAdminOnly() {
+        return adminOnly;
+    }
+
+    public ServerConfig setAdminOnly(final boolean adminOnly) {
+        this.adminOnly = adminOnly;
+        return this;
+    }
+
     public String getBaseDir() {
         return baseDir == null ? Files.createPath(jbossHome, "standalone") : baseDir;
     }
@@ -0,0 +1,127 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.server;
+
+import java.io.IOException;
+
+import org.apache.maven.plugin.logging.Log;
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.plugin.cli.Commands;
+import org.jboss.as.plugin.common.ServerOperations;
+import org.jboss.as.plugin.deployment.resource.Resource;
+import org.jboss.as.plugin.deployment.resource.ResourceProcessor;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Applies {@link Resource resources} and CLI {@link Commands commands} to a server launched by the plugin before the
+ * server is put into service.
+ * <p/>
+ * In admin-only mode the server is expected to be booted with {@code --admin-only}. The configuration is applied with
+ * no subsystems or deployments active and the server is then reloaded once in normal mode.
+ *
+ * @author agent
+ */
+final class ServerConfigurator {
+
+    private static final String RELOAD_REQUIRED = "reload-required";
+
+    private final Resource[] resources;
+    private final Commands commands;
+    private final boolean adminOnly;
+
+    private ServerConfigurator(final Resource[] resources, final Commands commands, final boolean adminOnly) {
+        this.resources = resources;
+        this.commands = commands;
+        this.adminOnly = adminOnly;
+    }
+
+    /**
+     * Creates a new configurator.
+     *
+     * @param resources the resources to add, may be {@code null}
+     * @param commands  the commands to execute, may be {@code null}
+     * @param adminOnly {@code true} if the configuration should be applied in admin-only mode
+     *
+     * @return the configurator
+     */
+    static ServerConfigurator of(final Resource[] resources, final Commands commands, final boolean adminOnly) {
+        return new ServerConfigurator(resources, commands, adminOnly);
+    }
+
+    /**
+     * Checks whether or not there is any configuration to apply.
+     *
+     * @return {@code true} if there are resources or commands to apply, otherwise {@code false}
+     */
+    boolean hasConfiguration() {
+        return (resources != null && resources.length > 0) || (commands != null && (commands.hasCommands() || commands.hasScripts()));
+    }
+
+    /**
+     * Indicates whether the server should be booted in admin-only mode.
+     *
+     * @return {@code true} if the server should be booted in admin-only mode, otherwise {@code false}
+     */
+    boolean isAdminOnly() {
+        return adminOnly && hasConfiguration();
+    }
+
+    /**
+     * Applies the configuration to the running server. If the server was started in admin-only mode or the
+     * configuration changes require a reload, the server is reloaded in normal mode.
+     *
+     * @param log    the log to write messages to
+     * @param server the server to configure
+     *
+     * @throws IOException if an error occurs communicating with the server
+     */
+    void configure(final Log log, final Server server) throws IOException {
+        if (!hasConfiguration()) {
+            return;
+        }
+        final long start = System.currentTimeMillis();
+        final ModelControllerClient client = server.getClient();
+        if (resources != null && resources.length > 0) {
+            log.debug(String.format("Adding %d resource(s)", resources.length));
+            ResourceProcessor.create(client, null, true).process(resources);
+        }
+        if (commands != null) {
+            log.debug("Executing configuration commands");
+            commands.execute(client);
+        }
+        final long configured = System.currentTimeMillis();
+        if (isAdminOnly()) {
+            log.info("Configuration applied in admin-only mode, reloading the server in normal mode.");
+            server.reload(false);
+        } else if (RELOAD_REQUIRED.equals(readServerState(client))) {
+            log.info("Configuration changes require a reload, reloading the server.");
+            server.reload(false);
+        }
+        log.debug(String.format("Configuration applied in %d ms, server reloaded in %d ms", (configured - start), (System.currentTimeMillis() - configured)));
+    }
+
+    private static String readServerState(final ModelControllerClient client) throws IOException {
+        final ModelNode result = client.execute(ServerOperations.createReadAttributeOperation(ServerOperations.SERVER_STATE));
+        return ServerOperations.readResultAsString(result);
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.server;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Monitors the lifecycle of a managed server.
+ * <p/>
+ * A single thread blocks on {@link Process#waitFor()} so the exit of the process is detected immediately without any
+ * polling. Management health checks are executed on a shared scheduler. The interval between health checks starts at
+ * the configured interval and is doubled, up to a maximum, while the server stays healthy. An interval of {@code 0}
+ * disables the health checks completely.
+ *
+ * @author agent
+ */
+final class ServerMonitor {
+
+    /**
+     * The state of the server as seen by the monitor.
+     */
+    enum State {
+        STARTING,
+        RUNNING,
+        NOT_RESPONDING,
+        STOPPED
+    }
+
+    /**
+     * A listener notified when the {@link State state} of the server changes. Listeners are invoked on the monitoring
+     * threads and should not block.
+     */
+    interface Listener {
+
+        /**
+         * Invoked when the state of the server changes.
+         *
+         * @param previous the previous state
+         * @param current  the new state
+         */
+        void stateChanged(State previous, State current);
+    }
+
+    private static final int MAX_INTERVAL_MULTIPLIER = 6;
+    private static final int MAX_FAILURES = 3;
+
+    private static ScheduledExecutorService healthCheckService;
+
+    private final Server server;
+    private final Log log;
+    private final long interval;
+    private final long maxInterval;
+    private final CountDownLatch exitLatch;
+    private final List<Listener> listeners;
+    private volatile State state;
+    private volatile int exitCode;
+    private ScheduledFuture<?> healthCheck;
+    private boolean healthChecksEnabled;
+
+    /**
+     * Creates a new monitor.
+     *
+     * @param server              the server to monitor
+     * @param healthCheckInterval the initial interval, in seconds, between health checks or {@code 0} to disable
+     *                            health checks
+     * @param log                 the log to write messages to
+     */
+    ServerMonitor(final Server server, final long healthCheckInterval, final Log log) {
+        this.server = server;
+        this.log = log;
+        interval = TimeUnit.SECONDS.toMillis(Math.max(0L, healthCheckInterval));
+        maxInterval = interval * MAX_INTERVAL_MULTIPLIER;
+        exitLatch = new CountDownLatch(1);
+        listeners = new CopyOnWriteArrayList<Listener>();
+        state = State.STARTING;
+        exitCode = -1;
+    }
+
+    /**
+     * Starts watching the process for its exit.
+     *
+     * @param process the process of the server
+     */
+    void watch(final Process process) {
+        final Thread t = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    exitCode = process.waitFor();
+                    log.debug(String.format("Server process exited with code %d", exitCode));
+                } catch (InterruptedException ignore) {
+                    // no-op
+                } finally {
+                    stopHealthChecks();
+                    exitLatch.countDown();
+                    setState(State.STOPPED);
+                }
+            }
+        });
+        t.setName("AS7-Process-Watcher");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /**
+     * Adds a listener to be notified of state changes.
+     *
+     * @param listener the listener to add
+     */
+    void addListener(final Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener.
+     *
+     * @param listener the listener to remove
+     */
+    void removeListener(final Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * The current state of the server.
+     *
+     * @return the state
+     */
+    State getState() {
+        return state;
+    }
+
+    /**
+     * Checks whether or not the process has exited.
+     *
+     * @return {@code true} if the process has exited, otherwise {@code false}
+     */
+    boolean hasExited() {
+        return exitLatch.getCount() == 0L;
+    }
+
+    /**
+     * The exit code of the process or {@code -1} if the process has not exited.
+     *
+     * @return the exit code
+     */
+    int getExitCode() {
+        return exitCode;
+    }
+
+    /**
+     * Waits for the process to exit.
+     *
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    void awaitExit() throws InterruptedException {
+        exitLatch.await();
+    }
+
+    /**
+     * Waits for the process to exit.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the time unit of the timeout
+     *
+     * @return {@code true} if the process exited, {@code false} if the waiting time elapsed
+     *
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    boolean awaitExit(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return exitLatch.await(timeout, unit);
+    }
+
+    /**
+     * Marks the server as running and schedules the health checks if enabled.
+     */
+    void startHealthChecks() {
+        setState(State.RUNNING);
+        synchronized (this) {
+            healthChecksEnabled = interval > 0L;
+        }
+        schedule(interval, 0);
+    }
+
+    /**
+     * Cancels any scheduled health checks.
+     */
+    synchronized void stopHealthChecks() {
+        healthChecksEnabled = false;
+        if (healthCheck != null) {
+            healthCheck.cancel(false);
+            healthCheck = null;
+        }
+    }
+
+    private synchronized void schedule(final long delay, final int failures) {
+        if (healthChecksEnabled && !hasExited()) {
+            healthCheck = getHealthCheckService().schedule(new HealthCheck(delay, failures), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void setState(final State newState) {
+        final State previous;
+        synchronized (this) {
+            previous = state;
+            if (previous == newState || previous == State.STOPPED) {
+                return;
+            }
+            state = newState;
+        }
+        for (Listener listener : listeners) {
+            try {
+                listener.stateChanged(previous, newState);
+            } catch (RuntimeException e) {
+                log.debug("Server state listener failed", e);
+            }
+        }
+    }
+
+    private static synchronized ScheduledExecutorService getHealthCheckService() {
+        if (healthCheckService == null) {
+            healthCheckService = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable r) {
+                    final Thread t = new Thread(r);
+                    t.setName("AS7-Health-Check");
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+        }
+        return healthCheckService;
+    }
+
+    private class HealthCheck implements Runnable {
+        private final long delay;
+        private final int failures;
+
+        HealthCheck(final long delay, final int failures) {
+            this.delay = delay;
+            this.failures = failures;
+        }
+
+        @Override
+        public void run() {
+            if (hasExited()) {
+                return;
+            }
+            if (server.checkHealth()) {
+                setState(State.RUNNING);
+                // Back-off while the server is healthy
+                schedule(Math.min(delay * 2, maxInterval), 0);
+            } else {
+                setState(State.NOT_RESPONDING);
+                final int failed = failures + 1;
+                if (failed >= MAX_FAILURES) {
+                    log.warn(String.format("Server did not respond to %d consecutive health checks, stopping the server.", failed));
+                    server.stop();
+                } else {
+                    schedule(interval, failed);
+                }
+            }
+        }
+    }
+}
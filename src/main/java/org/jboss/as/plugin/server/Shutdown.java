@@ -22,10 +22,6 @@
 
 package org.jboss.as.plugin.server;
 
-import static org.jboss.as.controller.client.helpers.ClientConstants.CONTROLLER_PROCESS_STATE_STARTING;
-import static org.jboss.as.controller.client.helpers.ClientConstants.CONTROLLER_PROCESS_STATE_STOPPING;
-
-import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.maven.plugin.MojoExecutionException;
@@ -35,6 +31,7 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.jboss.as.controller.client.ModelControllerClient;
 import org.jboss.as.plugin.common.AbstractServerMojo;
 import org.jboss.as.plugin.common.PropertyNames;
+import org.jboss.as.plugin.common.ReloadWaiter;
 import org.jboss.as.plugin.common.ServerOperations;
 import org.jboss.dmr.ModelNode;
 
@@ -68,18 +65,16 @@ public class Shutdown extends AbstractServerMojo {
         }
         try {
             final ModelControllerClient client = getClient();
+            final long start = System.currentTimeMillis();
             if (reload) {
-                client.execute(ServerOperations.createOperation(ServerOperations.RELOAD));
-                waitForStandalone(client, reloadTimeout);
+                final long reloadTime = ReloadWaiter.create(this).reload(client, reloadTimeout, TimeUnit.SECONDS);
+                getLog().info(String.format("Server reloaded in %d ms", reloadTime));
             } else {
-                client.execute(ServerOperations.createOperation(ServerOperations.SHUTDOWN));
-            }
-            // Bad hack to get maven to complete it's message output
-            try {
-                TimeUnit.MILLISECONDS.sleep(500L);
-            } catch (InterruptedException ignore) {
-                ignore.printStackTrace();
-                // no-op
+                final ModelNode result = client.execute(ServerOperations.createOperation(ServerOperations.SHUTDOWN));
+                if (!ServerOperations.isSuccessfulOutcome(result)) {
+                    throw new IllegalStateException(ServerOperations.getFailureDescriptionAsString(result));
+                }
+                getLog().info(String.format("Server shutdown confirmed in %d ms", System.currentTimeMillis() - start));
             }
         } catch (Exception e) {
             throw new MojoExecutionException(String.format("Could not execute goal %s. Reason: %s", goal(), e.getMessage()), e);
@@ -92,36 +87,4 @@ public class Shutdown extends AbstractServerMojo {
     public String goal() {
         return "shutdown";
     }
-
-    private void waitForStandalone(final ModelControllerClient client, final int startupTimeout) throws InterruptedException, IOException {
-        long timeout = startupTimeout * 1000;
-        final long sleep = 100L;
-        while (timeout > 0) {
-            long before = System.currentTimeMillis();
-            if (isStandaloneRunning(client))
-                break;
-            timeout -= (System.currentTimeMillis() - before);
-            TimeUnit.MILLISECONDS.sleep(sleep);
-            timeout -= sleep;
-        }
-        if (timeout <= 0) {
-            throw new RuntimeException(String.format("The server did not reload within %s seconds.", startupTimeout));
-        }
-    }
-
-    private boolean isStandaloneRunning(final ModelControllerClient client) {
-        try {
-            final ModelNode response = client.execute(ServerOperations.createReadAttributeOperation("server-state"));
-            if (ServerOperations.isSuccessfulOutcome(response)) {
-                final String state = ServerOperations.readResult(response).asString();
-                return !CONTROLLER_PROCESS_STATE_STARTING.equals(state)
-                        && !CONTROLLER_PROCESS_STATE_STOPPING.equals(state);
-            }
-        } catch (RuntimeException e) {
-            getLog().debug("Interrupted determining if standalone is running", e);
-        } catch (IOException e) {
-            getLog().debug("Error checking if a standalone server is running", e);
-        }
-        return false;
-    }
 }
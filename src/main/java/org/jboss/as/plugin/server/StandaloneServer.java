@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.maven.plugin.logging.Log;
 import org.jboss.as.controller.client.ModelControllerClient;
 import org.jboss.as.plugin.common.Files;
 import org.jboss.as.plugin.common.IoUtils;
@@ -51,9 +52,10 @@ final class StandaloneServer extends Server {
      * Creates a new standalone server.
      *
      * @param serverConfig the configuration information for the server
+     * @param log          the log used to report the progress of the server
      */
-    public StandaloneServer(final ServerConfig serverConfig) {
-        super(serverConfig, "JBAS015950");
+    public StandaloneServer(final ServerConfig serverConfig, final Log log) {
+        super(serverConfig, log, "JBAS015950");
         this.serverConfig = serverConfig;
         isRunning = false;
     }
@@ -64,28 +66,41 @@ final class StandaloneServer extends Server {
     }
 
     @Override
-    protected void stopServer() {
+    protected boolean stopServer() {
         try {
             if (client != null) {
                 try {
-                    client.execute(ServerOperations.createOperation(ServerOperations.SHUTDOWN));
+                    final ModelNode result = client.execute(ServerOperations.createOperation(ServerOperations.SHUTDOWN));
+                    return ServerOperations.isSuccessfulOutcome(result);
                 } catch (IOException e) {
-                    // no-op
+                    return false;
                 } finally {
                     IoUtils.safeClose(client);
                     client = null;
                 }
-                try {
-                    getConsole().awaitShutdown(5L);
-                } catch (InterruptedException ignore) {
-                    // no-op
-                }
             }
+            return false;
         } finally {
             isRunning = false;
         }
     }
 
+    @Override
+    protected void reloadServer(final boolean adminOnly) throws IOException {
+        final ModelNode op = ServerOperations.createOperation(ServerOperations.RELOAD);
+        op.get(ServerOperations.ADMIN_ONLY).set(adminOnly);
+        try {
+            final ModelNode result = client.execute(op);
+            if (!ServerOperations.isSuccessfulOutcome(result)) {
+                throw new IllegalStateException(ServerOperations.getFailureDescriptionAsString(result));
+            }
+        } finally {
+            IoUtils.safeClose(client);
+            client = null;
+            isRunning = false;
+        }
+    }
+
     @Override
     public synchronized boolean isRunning() {
         if (isRunning) {
@@ -116,9 +131,28 @@ final class StandaloneServer extends Server {
         final List<String> cmd = new ArrayList<String>();
         cmd.add(javaExec);
 
-        // Add the JVM args
+        // Add the JVM args, any explicit arguments override the preset
+        final JvmPreset preset = serverConfig.getJvmPreset();
+        if (preset != null) {
+            final HostResources host = HostResources.detect();
+            final List<String> presetArgs = preset.resolve(host, JavaRelease.of(javaHome));
+            getLog().info(String.format("JVM preset %s resolved for %s: %s", preset, host, presetArgs));
+            cmd.addAll(presetArgs);
+        }
         cmd.addAll(serverConfig.getJvmArgs());
 
+        // Create or reuse the class-data sharing archive
+        if (serverConfig.getClassDataSharingDir() != null) {
+            final ClassDataSharing cds = ClassDataSharing.create(javaHome, jbossHome, serverConfig.getClassDataSharingDir());
+            if (cds.isSupported()) {
+                getLog().info(String.format("%s class-data sharing archive %s", (cds.isArchived() ? "Using" : "Creating"), cds.getArchive()));
+                cmd.addAll(cds.getArguments());
+            } else {
+                getLog().warn(String.format("Class-data sharing archives require Java 13 or later, found Java version %s. The server is launched without the archive.",
+                        cds.getJavaRelease()));
+            }
+        }
+
         cmd.add("-Djboss.home.dir=" + jbossHome);
         cmd.add("-Dorg.jboss.boot.log.file=" + Files.createPath(serverConfig.getLogDir(), "boot.log"));
         cmd.add("-Dlogging.configuration=file:" + Files.createPath(serverConfig.getConfigDir(), "logging.properties"));
@@ -135,6 +169,9 @@ final class StandaloneServer extends Server {
             cmd.add("-server-config");
             cmd.add(serverConfig.getServerConfig());
         }
+        if (serverConfig.isAdminOnly()) {
+            cmd.add("--admin-only");
+        }
         if (serverConfig.getPropertiesFile() != null) {
             cmd.add("-P");
             cmd.add(serverConfig.getPropertiesFile());
@@ -151,7 +188,6 @@ final class StandaloneServer extends Server {
         } else {
             try {
                 final ModelNode result = client.execute(ServerOperations.createReadAttributeOperation(ServerOperations.SERVER_STATE));
-                System.out.println(result.asString());
                 isRunning = ServerOperations.isSuccessfulOutcome(result) && !STARTING.equalsIgnoreCase(ServerOperations.readResultAsString(result)) &&
                         !STOPPING.equalsIgnoreCase(ServerOperations.readResultAsString(result));
             } catch (Throwable ignore) {
@@ -34,9 +34,12 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
+import org.jboss.as.plugin.cli.Commands;
 import org.jboss.as.plugin.common.AbstractServerMojo;
+import org.jboss.as.plugin.common.BackgroundDeleter;
 import org.jboss.as.plugin.common.Files;
 import org.jboss.as.plugin.common.PropertyNames;
+import org.jboss.as.plugin.deployment.resource.Resource;
 
 /**
  * Starts a standalone instance of JBoss Application Server 7.
@@ -163,6 +166,127 @@ public class Start extends AbstractServerMojo {
     @Parameter(alias = "startup-timeout", defaultValue = Defaults.TIMEOUT, property = PropertyNames.STARTUP_TIMEOUT)
     private long startupTimeout;
 
+    /**
+     * The maximum time, in seconds, to wait for the server process to exit after the shutdown operation was executed.
+     * If the process has not exited within this time it is destroyed.
+     */
+    @Parameter(alias = "shutdown-timeout", defaultValue = Defaults.SHUTDOWN_TIMEOUT, property = PropertyNames.SHUTDOWN_TIMEOUT)
+    private long shutdownTimeout;
+
+    /**
+     * The initial interval, in seconds, between health checks of the running server. The interval is increased while
+     * the server stays healthy. A value of {@code 0} disables the health checks, the exit of the server process is
+     * always detected.
+     */
+    @Parameter(alias = "health-check-interval", defaultValue = Defaults.HEALTH_CHECK_INTERVAL, property = PropertyNames.HEALTH_CHECK_INTERVAL)
+    private long healthCheckInterval;
+
+    /**
+     * The file all the console output of the server is written to.
+     */
+    @Parameter(alias = "console-log", defaultValue = "${project.build.directory}/jboss-as-console.log", property = PropertyNames.CONSOLE_LOG)
+    private File consoleLog;
+
+    /**
+     * The minimum level, e.g. {@code INFO} or {@code WARN}, of the console output of the server written to the Maven
+     * log. All output is always written to the {@code consoleLog}.
+     */
+    @Parameter(alias = "console-level", defaultValue = Defaults.CONSOLE_LEVEL, property = PropertyNames.CONSOLE_LEVEL)
+    private String consoleLevel;
+
+    /**
+     * The maximum number of lines of console output of the server written to the Maven log per second. Any lines over
+     * the limit are only written to the {@code consoleLog}. A value of {@code 0} disables the limit.
+     */
+    @Parameter(alias = "console-max-lines-per-second", defaultValue = Defaults.CONSOLE_MAX_LINES_PER_SECOND, property = PropertyNames.CONSOLE_MAX_LINES_PER_SECOND)
+    private int consoleMaxLinesPerSecond;
+
+    /**
+     * Set to {@code true} to profile the boot of the server. A timeline of the launch of the JVM, the subsystems, the
+     * deployments and the time the server reported it was started is written to the {@code bootProfile} file and a
+     * summary of the slowest subsystems and deployments is logged.
+     */
+    @Parameter(alias = "profile-boot", defaultValue = "false", property = PropertyNames.PROFILE_BOOT)
+    private boolean profileBoot;
+
+    /**
+     * The file the JSON boot profile is written to if {@code profileBoot} is enabled.
+     */
+    @Parameter(alias = "boot-profile", defaultValue = "${project.build.directory}/jboss-as-boot-profile.json", property = PropertyNames.BOOT_PROFILE)
+    private File bootProfile;
+
+    /**
+     * Set to {@code true} to create a class-data sharing archive on the first launch of the server and reuse it on
+     * subsequent launches to reduce the time spent loading classes. The archive is keyed by the version of the
+     * distribution and the JDK.
+     * <p/>
+     * Requires the server to be launched with Java 13 or later, older JVMs are launched without the archive and a
+     * warning is logged. The JBoss AS 7 distributions do not run on these JVMs, the archive is only used with a
+     * {@code jbossHome} distribution that does.
+     */
+    @Parameter(alias = "class-data-sharing", defaultValue = "false", property = PropertyNames.CLASS_DATA_SHARING)
+    private boolean classDataSharing;
+
+    /**
+     * The directory the class-data sharing archive is stored in. Defaults to the directory of the resolved
+     * distribution or, if {@code jbossHome} is set, the {@code jbossHome} directory.
+     */
+    @Parameter(alias = "class-data-sharing-dir", property = PropertyNames.CLASS_DATA_SHARING_DIR)
+    private File classDataSharingDir;
+
+    /**
+     * The entries of the distribution to extract. The {@code standalone} profile only extracts
+     * {@code jboss-modules.jar}, {@code modules/}, {@code bundles/} and {@code standalone/}. The {@code full} profile
+     * extracts the complete distribution.
+     */
+    @Parameter(alias = "distribution-profile", defaultValue = "standalone", property = PropertyNames.DISTRIBUTION_PROFILE)
+    private String distributionProfile;
+
+    /**
+     * Paths, relative to the root of the distribution, to extract regardless of the {@code distributionProfile}, e.g.
+     * {@code bin/}.
+     */
+    @Parameter(alias = "distribution-includes", property = PropertyNames.DISTRIBUTION_INCLUDES)
+    private String[] distributionIncludes;
+
+    /**
+     * Paths, relative to the root of the distribution, to never extract, e.g. {@code standalone/deployments/}.
+     */
+    @Parameter(alias = "distribution-excludes", property = PropertyNames.DISTRIBUTION_EXCLUDES)
+    private String[] distributionExcludes;
+
+    /**
+     * An optional allow-list of module names to extract, e.g. {@code org.jboss.as.naming}. All modules with a name
+     * starting with one of the names are extracted. The allow-list must include every module required by the server
+     * configuration.
+     */
+    @Parameter(alias = "distribution-modules", property = PropertyNames.DISTRIBUTION_MODULES)
+    private String[] distributionModules;
+
+    private File distributionDir;
+
+    /**
+     * Resources to add to the server before it is put into service.
+     */
+    @Parameter
+    private Resource[] resources;
+
+    /**
+     * CLI commands to execute on the server before it is put into service.
+     */
+    @Parameter
+    private Commands commands;
+
+    /**
+     * Set to {@code true} if the {@code resources} and {@code commands} should be applied with the server booted in
+     * admin-only mode. Once the configuration has been applied the server is reloaded once in normal mode. This avoids
+     * starting and stopping services for each configuration change.
+     * <p/>
+     * If set to {@code false} the configuration is applied after the server has fully started.
+     */
+    @Parameter(alias = "admin-only-configuration", defaultValue = "true", property = PropertyNames.ADMIN_ONLY_CONFIGURATION)
+    private boolean adminOnlyConfiguration;
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
         final Log log = getLog();
@@ -185,26 +309,49 @@ public class Start extends AbstractServerMojo {
         if (!invalidPaths.isEmpty()) {
             throw new MojoExecutionException("Invalid module path(s). " + invalidPaths);
         }
+        final ConsoleSink.Level consoleLevel;
+        try {
+            consoleLevel = ConsoleSink.Level.parse(this.consoleLevel);
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+        final JvmPreset jvmPreset;
+        try {
+            jvmPreset = (jvmArgs.getPreset() == null ? null : JvmPreset.fromName(jvmArgs.getPreset()));
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+        final ServerConfigurator configurator = ServerConfigurator.of(resources, commands, adminOnlyConfiguration);
         final ServerConfig serverConfig = ServerConfig.of(this, jbossHome)
                 .setJavaHome(javaHome)
                 .setModulesDir(modulesPath.get())
                 .setBundlesDir(bundlesPath)
                 .setJvmArgs(jvmArgs.getArgs())
+                .setJvmPreset(jvmPreset)
                 .setServerConfig(this.serverConfig)
                 .setPropertiesFile(propertiesFile)
                 .setServerArgs(serverArgs)
-                .setStartupTimeout(startupTimeout);
+                .setStartupTimeout(startupTimeout)
+                .setShutdownTimeout(shutdownTimeout)
+                .setHealthCheckInterval(healthCheckInterval)
+                .setConsoleLog(consoleLog)
+                .setConsoleLevel(consoleLevel)
+                .setConsoleMaxLinesPerSecond(consoleMaxLinesPerSecond)
+                .setBootProfile(profileBoot ? bootProfile : null)
+                .setClassDataSharingDir(classDataSharing ? resolveClassDataSharingDir(jbossHome) : null)
+                .setAdminOnly(configurator.isAdminOnly());
         // Print some server information
         log.info(String.format("JAVA_HOME=%s", javaHome));
         log.info(String.format("JBOSS_HOME=%s%n", jbossHome));
         try {
             // Create the server
-            final Server server = new StandaloneServer(serverConfig);
-            // Add the shutdown hook
-            SecurityActions.registerShutdown(server);
+            final Server server = new StandaloneServer(serverConfig, log);
             // Start the server
             log.info("Server is starting up.");
             server.start();
+            // Apply any configuration before the server is put into service
+            configurator.configure(log, server);
+            server.writeBootProfile();
             server.checkServerState();
         } catch (Exception e) {
             throw new MojoExecutionException("The server failed to start", e);
@@ -212,20 +359,37 @@ public class Start extends AbstractServerMojo {
 
     }
 
+    private File resolveClassDataSharingDir(final File jbossHome) {
+        if (classDataSharingDir != null) {
+            return classDataSharingDir;
+        }
+        return (distributionDir == null ? jbossHome : distributionDir);
+    }
+
     private File extractIfRequired(final File buildDir) throws MojoFailureException, MojoExecutionException {
         if (jbossHome != null) {
             //we do not need to download JBoss
             return new File(jbossHome);
         }
         final File result = artifactResolver.resolve(project, createArtifact());
+        distributionDir = result.getParentFile();
         final File target = new File(buildDir, JBOSS_DIR);
-        // Delete the target if it exists
-        if (target.exists()) {
-            Files.deleteRecursively(target);
+        // Move the target aside and delete it, and any leftovers from previous builds, in the background
+        final int leftovers = BackgroundDeleter.sweep(target);
+        if (leftovers > 0) {
+            getLog().debug(String.format("Deleting %d leftover server directories", leftovers));
+        }
+        BackgroundDeleter.delete(target);
+        final DistributionFilter filter;
+        try {
+            filter = DistributionFilter.create(distributionProfile, distributionIncludes, distributionExcludes, distributionModules);
+        } catch (IllegalArgumentException e) {
+            throw new MojoFailureException(e.getMessage(), e);
         }
+        getLog().debug(String.format("Extracting %s with %s", result, filter));
         target.mkdirs();
         try {
-            Files.unzip(result, target);
+            Files.unzip(result, target, filter);
         } catch (IOException e) {
             throw new MojoFailureException("Artifact was not successfully extracted: " + result, e);
         }
@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.common;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author agent
+ */
+public class ChecksumsTest {
+
+    private File dir;
+    private File file;
+    private byte[] content;
+
+    @Before
+    public void createFile() throws IOException {
+        dir = File.createTempFile("checksums", "");
+        dir.delete();
+        dir.mkdirs();
+        file = new File(dir, "content.bin");
+        content = new byte[100000];
+        new Random(42).nextBytes(content);
+        write(file, content);
+    }
+
+    @After
+    public void deleteFiles() {
+        Files.deleteRecursively(dir);
+    }
+
+    @Test
+    public void sha1() throws Exception {
+        final byte[] expected = MessageDigest.getInstance("SHA-1").digest(content);
+        assertArrayEquals(expected, Checksums.sha1(file));
+        assertArrayEquals(expected, Checksums.sha1(content));
+        assertArrayEquals(expected, Checksums.fromHexString(Checksums.toHexString(expected)));
+    }
+
+    @Test
+    public void treeHash() throws Exception {
+        final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+        digest.update(Checksums.sha1(Arrays.copyOfRange(content, 0, 40000)));
+        digest.update(Checksums.sha1(Arrays.copyOfRange(content, 40000, 80000)));
+        digest.update(Checksums.sha1(Arrays.copyOfRange(content, 80000, content.length)));
+        final byte[] expected = digest.digest();
+        assertArrayEquals(expected, Checksums.treeHash(file, 40000, 1));
+        assertArrayEquals(expected, Checksums.treeHash(file, 40000, 3));
+    }
+
+    @Test
+    public void cached() throws Exception {
+        final File indexFile = new File(dir, "checksums.properties");
+        final byte[] expected = Checksums.sha1(file);
+        assertArrayEquals(expected, new Checksums(indexFile).checksum(file));
+
+        // The cached checksum is returned as long as the size and last modified time do not change
+        final long lastModified = file.lastModified();
+        final byte[] changed = content.clone();
+        changed[0]++;
+        write(file, changed);
+        file.setLastModified(lastModified);
+        assertArrayEquals(expected, new Checksums(indexFile).checksum(file));
+
+        file.setLastModified(lastModified - 10000L);
+        final byte[] result = new Checksums(indexFile).checksum(file);
+        assertFalse(Arrays.equals(expected, result));
+        assertArrayEquals(Checksums.sha1(changed), result);
+        assertTrue(indexFile.isFile());
+    }
+
+    private static void write(final File file, final byte[] bytes) throws IOException {
+        final OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(bytes);
+        } finally {
+            IoUtils.safeClose(out);
+        }
+    }
+}
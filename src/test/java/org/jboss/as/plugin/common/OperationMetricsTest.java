@@ -0,0 +1,81 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.jboss.as.plugin.common.OperationMetrics.Histogram;
+import org.junit.Test;
+
+/**
+ * @author agent
+ */
+public class OperationMetricsTest {
+
+    @Test
+    public void smallValuesAreExact() {
+        final Histogram histogram = new Histogram();
+        for (long i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertEquals(100L, histogram.getCount());
+        assertEquals(1L, histogram.getMin());
+        assertEquals(100L, histogram.getMax());
+        assertEquals(50L, histogram.getValueAtPercentile(50D));
+        assertEquals(99L, histogram.getValueAtPercentile(99D));
+    }
+
+    @Test
+    public void relativeError() {
+        final Histogram histogram = new Histogram();
+        final Random random = new Random(7L);
+        final long[] values = new long[10000];
+        for (int i = 0; i < values.length; i++) {
+            // Latencies between 1 microsecond and 10 seconds
+            values[i] = 1000L + (long) (random.nextDouble() * 10000000000L);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        for (double percentile : new double[] {50D, 90D, 99D, 99.9D}) {
+            final long expected = values[(int) Math.ceil((percentile / 100D) * values.length) - 1];
+            final long actual = histogram.getValueAtPercentile(percentile);
+            assertTrue(String.format("p%s expected %d was %d", percentile, expected, actual), actual >= expected);
+            assertTrue(String.format("p%s expected %d was %d", percentile, expected, actual), (actual - expected) <= expected / 50L);
+        }
+    }
+
+    @Test
+    public void bucketBoundaries() {
+        for (long value : new long[] {0L, 1L, 127L, 128L, 129L, 1000L, 123456789L, Long.MAX_VALUE}) {
+            final int index = Histogram.indexOf(value);
+            assertTrue(Histogram.highestEquivalentValue(index) >= value);
+            if (index > 0) {
+                assertTrue(Histogram.highestEquivalentValue(index - 1) < value);
+            }
+        }
+    }
+}
@@ -0,0 +1,637 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.common;
+
+import static org.jboss.as.controller.client.helpers.ClientConstants.ADD;
+import static org.jboss.as.controller.client.helpers.ClientConstants.CHILD_TYPE;
+import static org.jboss.as.controller.client.helpers.ClientConstants.COMPOSITE;
+import static org.jboss.as.controller.client.helpers.ClientConstants.CONTENT;
+import static org.jboss.as.controller.client.helpers.ClientConstants.DEPLOYMENT;
+import static org.jboss.as.controller.client.helpers.ClientConstants.DEPLOYMENT_DEPLOY_OPERATION;
+import static org.jboss.as.controller.client.helpers.ClientConstants.DEPLOYMENT_FULL_REPLACE_OPERATION;
+import static org.jboss.as.controller.client.helpers.ClientConstants.DEPLOYMENT_REDEPLOY_OPERATION;
+import static org.jboss.as.controller.client.helpers.ClientConstants.DEPLOYMENT_UNDEPLOY_OPERATION;
+import static org.jboss.as.controller.client.helpers.ClientConstants.ENABLED;
+import static org.jboss.as.controller.client.helpers.ClientConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.client.helpers.ClientConstants.INPUT_STREAM_INDEX;
+import static org.jboss.as.controller.client.helpers.ClientConstants.NAME;
+import static org.jboss.as.controller.client.helpers.ClientConstants.OP;
+import static org.jboss.as.controller.client.helpers.ClientConstants.OPERATION_HEADERS;
+import static org.jboss.as.controller.client.helpers.ClientConstants.OP_ADDR;
+import static org.jboss.as.controller.client.helpers.ClientConstants.OUTCOME;
+import static org.jboss.as.controller.client.helpers.ClientConstants.READ_RESOURCE_OPERATION;
+import static org.jboss.as.controller.client.helpers.ClientConstants.RECURSIVE;
+import static org.jboss.as.controller.client.helpers.ClientConstants.REMOVE_OPERATION;
+import static org.jboss.as.controller.client.helpers.ClientConstants.RESULT;
+import static org.jboss.as.controller.client.helpers.ClientConstants.RUNTIME_NAME;
+import static org.jboss.as.controller.client.helpers.ClientConstants.STEPS;
+import static org.jboss.as.controller.client.helpers.ClientConstants.SUCCESS;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.controller.client.ModelControllerClient;
+import org.jboss.as.controller.client.Operation;
+import org.jboss.as.controller.client.OperationBuilder;
+import org.jboss.as.controller.client.OperationMessageHandler;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.Property;
+import org.jboss.threads.AsyncFuture;
+import org.jboss.threads.AsyncFutureTask;
+
+/**
+ * An in-process stand-in for a standalone server's management endpoint.
+ * <p/>
+ * The client keeps a resource tree in memory and simulates the semantics of the operations the plugin uses; the
+ * deployment operations, {@code add}, {@code remove}, {@code read-resource}, {@code read-children-names},
+ * {@code enable} and {@code composite}. Composite operations are applied atomically and rolled back if any step fails.
+ * <p/>
+ * Latency, upload bandwidth and failing operations can be configured. The jitter is taken from a seeded generator so
+ * a run is repeatable. Concurrent callers wait for the latency and upload their content concurrently, only applying
+ * the operations to the model is serialized. Asynchronous operations are executed on a separate thread and can be
+ * cancelled until they are applied to the model.
+ *
+ * @author agent
+ */
+public class SimulatedModelControllerClient implements ModelControllerClient {
+
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(final Runnable command) {
+            command.run();
+        }
+    };
+
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactory() {
+        @Override
+        public Thread newThread(final Runnable r) {
+            final Thread result = new Thread(r, "simulated-management-operation");
+            result.setDaemon(true);
+            return result;
+        }
+    };
+
+    private final Set<String> failingOperations;
+    private final List<String> executedOperations;
+    private final AtomicLong uploadedBytes;
+    private final Random random;
+    private final ExecutorService executor;
+    private Resource root;
+    private long latency;
+    private long jitter;
+    private long bandwidth;
+    private boolean closed;
+
+    public SimulatedModelControllerClient() {
+        failingOperations = new HashSet<String>();
+        executedOperations = new ArrayList<String>();
+        uploadedBytes = new AtomicLong();
+        random = new Random(0L);
+        executor = Executors.newCachedThreadPool(THREAD_FACTORY);
+        root = new Resource();
+    }
+
+    /**
+     * Sets the latency added to each top level operation.
+     *
+     * @param latency the fixed latency
+     * @param jitter  the maximum random latency added to the fixed latency
+     * @param unit    the unit of the latency and jitter
+     *
+     * @return this client
+     */
+    public synchronized SimulatedModelControllerClient setLatency(final long latency, final long jitter, final TimeUnit unit) {
+        this.latency = unit.toNanos(latency);
+        this.jitter = unit.toNanos(jitter);
+        return this;
+    }
+
+    /**
+     * Sets the bandwidth used for the content attached to operations.
+     *
+     * @param bytesPerSecond the bandwidth in bytes per second or {@code 0} for no limit
+     *
+     * @return this client
+     */
+    public synchronized SimulatedModelControllerClient setBandwidth(final long bytesPerSecond) {
+        this.bandwidth = bytesPerSecond;
+        return this;
+    }
+
+    /**
+     * Fails every operation, including steps of composite operations, with the name.
+     *
+     * @param operationName the name of the operation to fail
+     *
+     * @return this client
+     */
+    public synchronized SimulatedModelControllerClient failOperation(final String operationName) {
+        failingOperations.add(operationName);
+        return this;
+    }
+
+    /**
+     * Adds a deployment without executing an operation.
+     *
+     * @param name    the name of the deployment
+     * @param enabled {@code true} if the deployment is deployed
+     *
+     * @return this client
+     */
+    public synchronized SimulatedModelControllerClient addDeployment(final String name, final boolean enabled) {
+        final Resource deployment = root.addChild(DEPLOYMENT, name);
+        deployment.model.get(NAME).set(name);
+        deployment.model.get(RUNTIME_NAME).set(name);
+        deployment.model.get(ENABLED).set(enabled);
+        return this;
+    }
+
+    /**
+     * Returns the names of the deployments in the model.
+     *
+     * @return the deployment names
+     */
+    public synchronized List<String> getDeployments() {
+        return new ArrayList<String>(root.children(DEPLOYMENT).keySet());
+    }
+
+    /**
+     * Checks whether the deployment exists and is enabled.
+     *
+     * @param name the name of the deployment
+     *
+     * @return {@code true} if the deployment is deployed, otherwise {@code false}
+     */
+    public synchronized boolean isDeployed(final String name) {
+        final Resource deployment = root.children(DEPLOYMENT).get(name);
+        return deployment != null && deployment.model.get(ENABLED).asBoolean(false);
+    }
+
+    /**
+     * Returns the names of the operations executed, including the steps of composite operations, in the order they
+     * were executed.
+     *
+     * @return the executed operation names
+     */
+    public synchronized List<String> getExecutedOperations() {
+        return new ArrayList<String>(executedOperations);
+    }
+
+    /**
+     * Returns the total number of bytes read from the content attached to operations.
+     *
+     * @return the number of bytes uploaded
+     */
+    public long getUploadedBytes() {
+        return uploadedBytes.get();
+    }
+
+    @Override
+    public ModelNode execute(final ModelNode operation) throws IOException {
+        return execute(OperationBuilder.create(operation).build());
+    }
+
+    @Override
+    public ModelNode execute(final Operation operation) throws IOException {
+        return execute(operation, null);
+    }
+
+    @Override
+    public ModelNode execute(final ModelNode operation, final OperationMessageHandler messageHandler) throws IOException {
+        return execute(OperationBuilder.create(operation).build(), messageHandler);
+    }
+
+    @Override
+    public ModelNode execute(final Operation operation, final OperationMessageHandler messageHandler) throws IOException {
+        final long latency;
+        final long bandwidth;
+        synchronized (this) {
+            if (closed) {
+                throw new IOException("Channel closed");
+            }
+            latency = nextLatency();
+            bandwidth = this.bandwidth;
+        }
+        try {
+            sleep(latency);
+            // The content is uploaded before the model is locked so concurrent uploads overlap
+            final List<Long> uploads = new ArrayList<Long>();
+            for (InputStream in : operation.getInputStreams()) {
+                uploads.add(transfer(in, bandwidth));
+            }
+            synchronized (this) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Interrupted while executing the operation");
+                }
+                // Work on a copy of the model so a failure leaves the model untouched
+                final Resource model = root.copy();
+                final ModelNode response = new ModelNode();
+                try {
+                    final ModelNode result = executeStep(model, operation.getOperation(), uploads, response);
+                    response.get(OUTCOME).set(SUCCESS);
+                    if (result.isDefined()) {
+                        response.get(RESULT).set(result);
+                    }
+                    root = model;
+                } catch (OperationFailedException e) {
+                    response.get(OUTCOME).set("failed");
+                    response.get(FAILURE_DESCRIPTION).set(e.getMessage());
+                    response.get("rolled-back").set(true);
+                }
+                return response;
+            }
+        } finally {
+            if (operation.isAutoCloseStreams()) {
+                for (InputStream in : operation.getInputStreams()) {
+                    IoUtils.safeClose(in);
+                }
+            }
+        }
+    }
+
+    @Override
+    public AsyncFuture<ModelNode> executeAsync(final ModelNode operation, final OperationMessageHandler messageHandler) {
+        return executeAsync(OperationBuilder.create(operation).build(), messageHandler);
+    }
+
+    @Override
+    public AsyncFuture<ModelNode> executeAsync(final Operation operation, final OperationMessageHandler messageHandler) {
+        final OperationTask result = new OperationTask(operation, messageHandler);
+        synchronized (this) {
+            if (closed) {
+                result.fail(new IOException("Channel closed"));
+                return result;
+            }
+            executor.execute(result);
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        executor.shutdown();
+    }
+
+    private ModelNode executeStep(final Resource model, final ModelNode op, final List<Long> uploads, final ModelNode response) throws OperationFailedException, IOException {
+        final String name = op.get(OP).asString();
+        executedOperations.add(name);
+        if (failingOperations.contains(name)) {
+            throw new OperationFailedException("Injected failure of operation %s", name);
+        }
+        if (COMPOSITE.equals(name)) {
+            return executeComposite(model, op, uploads, response);
+        }
+        final List<Property> address = (op.hasDefined(OP_ADDR) ? op.get(OP_ADDR).asPropertyList() : Collections.<Property>emptyList());
+        final ModelNode result = new ModelNode();
+        if (ADD.equals(name)) {
+            if (model.find(address) != null) {
+                throw new OperationFailedException("Duplicate resource %s", op.get(OP_ADDR));
+            }
+            final Resource resource = model.create(address);
+            if (isDeployment(address)) {
+                final String deploymentName = address.get(0).getValue().asString();
+                resource.model.get(NAME).set(deploymentName);
+                resource.model.get(RUNTIME_NAME).set(op.hasDefined(RUNTIME_NAME) ? op.get(RUNTIME_NAME).asString() : deploymentName);
+                resource.model.get(ENABLED).set(op.get(ENABLED).asBoolean(false));
+                resource.model.get(CONTENT).set(upload(op, uploads));
+            } else {
+                for (String key : op.keys()) {
+                    if (!OP.equals(key) && !OP_ADDR.equals(key) && !OPERATION_HEADERS.equals(key)) {
+                        resource.model.get(key).set(op.get(key));
+                    }
+                }
+            }
+        } else if (REMOVE_OPERATION.equals(name)) {
+            if (!model.remove(address)) {
+                throw notFound(op);
+            }
+        } else if (DEPLOYMENT_DEPLOY_OPERATION.equals(name)) {
+            require(model, op, address).model.get(ENABLED).set(true);
+        } else if (DEPLOYMENT_UNDEPLOY_OPERATION.equals(name)) {
+            require(model, op, address).model.get(ENABLED).set(false);
+        } else if (DEPLOYMENT_REDEPLOY_OPERATION.equals(name)) {
+            if (!require(model, op, address).model.get(ENABLED).asBoolean(false)) {
+                throw new OperationFailedException("Deployment %s is not deployed", op.get(OP_ADDR));
+            }
+        } else if (DEPLOYMENT_FULL_REPLACE_OPERATION.equals(name)) {
+            final String deploymentName = op.get(NAME).asString();
+            final Resource deployment = model.children(DEPLOYMENT).get(deploymentName);
+            if (deployment == null) {
+                throw new OperationFailedException("No deployment with name %s found", deploymentName);
+            }
+            deployment.model.get(CONTENT).set(upload(op, uploads));
+            if (op.hasDefined(RUNTIME_NAME)) {
+                deployment.model.get(RUNTIME_NAME).set(op.get(RUNTIME_NAME));
+            }
+        } else if (ServerOperations.READ_CHILDREN_NAMES.equals(name)) {
+            final ModelNode names = result.setEmptyList();
+            for (String childName : require(model, op, address).children(op.get(CHILD_TYPE).asString()).keySet()) {
+                names.add(childName);
+            }
+        } else if (READ_RESOURCE_OPERATION.equals(name)) {
+            result.set(require(model, op, address).toModelNode(op.get(RECURSIVE).asBoolean(false)));
+        } else if (ServerOperations.ENABLE.equals(name)) {
+            require(model, op, address).model.get(ENABLED).set(true);
+        } else {
+            throw new OperationFailedException("No operation named '%s' exists at address %s", name, op.get(OP_ADDR));
+        }
+        return result;
+    }
+
+    private ModelNode executeComposite(final Resource model, final ModelNode op, final List<Long> uploads, final ModelNode response) throws OperationFailedException, IOException {
+        final ModelNode result = new ModelNode();
+        final List<ModelNode> steps = (op.hasDefined(STEPS) ? op.get(STEPS).asList() : Collections.<ModelNode>emptyList());
+        int i = 0;
+        for (ModelNode step : steps) {
+            final String stepName = "step-" + (++i);
+            final ModelNode stepResult = result.get(stepName);
+            try {
+                final ModelNode value = executeStep(model, step, uploads, stepResult);
+                stepResult.get(OUTCOME).set(SUCCESS);
+                if (value.isDefined()) {
+                    stepResult.get(RESULT).set(value);
+                }
+            } catch (OperationFailedException e) {
+                stepResult.get(OUTCOME).set("failed");
+                stepResult.get(FAILURE_DESCRIPTION).set(e.getMessage());
+                // Mark every step as rolled back, the caller discards the changes
+                for (int j = 1; j <= steps.size(); j++) {
+                    final ModelNode rolledBack = result.get("step-" + j);
+                    if (!rolledBack.hasDefined(OUTCOME)) {
+                        rolledBack.get(OUTCOME).set("cancelled");
+                    }
+                    rolledBack.get("rolled-back").set(true);
+                }
+                response.get(RESULT).set(result);
+                throw new OperationFailedException("Composite operation failed and was rolled back. Steps that failed: %s: %s", stepName, e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    private ModelNode upload(final ModelNode op, final List<Long> uploads) throws OperationFailedException, IOException {
+        if (!op.hasDefined(CONTENT)) {
+            throw new OperationFailedException("No content defined for %s", op.get(OP_ADDR));
+        }
+        final ModelNode result = new ModelNode();
+        for (ModelNode content : op.get(CONTENT).asList()) {
+            if (content.hasDefined(INPUT_STREAM_INDEX)) {
+                final int index = content.get(INPUT_STREAM_INDEX).asInt();
+                if (index >= uploads.size()) {
+                    throw new OperationFailedException("Invalid input stream index %d", index);
+                }
+                result.add().get("bytes").set(uploads.get(index));
+            } else {
+                result.add(content);
+            }
+        }
+        return result;
+    }
+
+    private long transfer(final InputStream in, final long bandwidth) throws IOException {
+        final byte[] buffer = new byte[8192];
+        final long start = System.nanoTime();
+        long total = 0L;
+        int len;
+        while ((len = in.read(buffer)) != -1) {
+            total += len;
+            if (bandwidth > 0L) {
+                final long expected = TimeUnit.SECONDS.toNanos(total) / bandwidth;
+                sleep(expected - (System.nanoTime() - start));
+            }
+        }
+        uploadedBytes.addAndGet(total);
+        return total;
+    }
+
+    private long nextLatency() {
+        long nanos = latency;
+        if (jitter > 0L) {
+            nanos += (long) (random.nextDouble() * jitter);
+        }
+        return nanos;
+    }
+
+    private static void sleep(final long nanos) throws IOException {
+        if (nanos > 0L) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(nanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                final InterruptedIOException ioe = new InterruptedIOException("Interrupted while executing the operation");
+                ioe.initCause(e);
+                throw ioe;
+            }
+        }
+    }
+
+    private static boolean isDeployment(final List<Property> address) {
+        return address.size() == 1 && DEPLOYMENT.equals(address.get(0).getName());
+    }
+
+    private static Resource require(final Resource model, final ModelNode op, final List<Property> address) throws OperationFailedException {
+        final Resource result = model.find(address);
+        if (result == null) {
+            throw notFound(op);
+        }
+        return result;
+    }
+
+    private static OperationFailedException notFound(final ModelNode op) {
+        return new OperationFailedException("Management resource %s not found", op.get(OP_ADDR));
+    }
+
+    /**
+     * A resource in the simulated model.
+     */
+    private static class Resource {
+        final ModelNode model = new ModelNode();
+        final Map<String, Map<String, Resource>> children = new TreeMap<String, Map<String, Resource>>();
+
+        Map<String, Resource> children(final String type) {
+            final Map<String, Resource> result = children.get(type);
+            return (result == null ? Collections.<String, Resource>emptyMap() : result);
+        }
+
+        Resource addChild(final String type, final String name) {
+            Map<String, Resource> resources = children.get(type);
+            if (resources == null) {
+                resources = new TreeMap<String, Resource>();
+                children.put(type, resources);
+            }
+            final Resource result = new Resource();
+            resources.put(name, result);
+            return result;
+        }
+
+        Resource find(final List<Property> address) {
+            Resource current = this;
+            for (Property element : address) {
+                current = current.children(element.getName()).get(element.getValue().asString());
+                if (current == null) {
+                    return null;
+                }
+            }
+            return current;
+        }
+
+        /**
+         * Creates the resource at the address, any missing parent resources are created as well.
+         */
+        Resource create(final List<Property> address) {
+            Resource current = this;
+            for (Property element : address) {
+                final Resource child = current.children(element.getName()).get(element.getValue().asString());
+                current = (child == null ? current.addChild(element.getName(), element.getValue().asString()) : child);
+            }
+            return current;
+        }
+
+        boolean remove(final List<Property> address) {
+            if (address.isEmpty()) {
+                return false;
+            }
+            final Resource parent = find(address.subList(0, address.size() - 1));
+            final Property last = address.get(address.size() - 1);
+            return parent != null && parent.children.containsKey(last.getName())
+                    && parent.children.get(last.getName()).remove(last.getValue().asString()) != null;
+        }
+
+        ModelNode toModelNode(final boolean recursive) {
+            final ModelNode result = model.clone();
+            for (Map.Entry<String, Map<String, Resource>> entry : children.entrySet()) {
+                final ModelNode type = result.get(entry.getKey());
+                for (Map.Entry<String, Resource> child : entry.getValue().entrySet()) {
+                    if (recursive) {
+                        type.get(child.getKey()).set(child.getValue().toModelNode(true));
+                    } else {
+                        type.get(child.getKey());
+                    }
+                }
+            }
+            return result;
+        }
+
+        Resource copy() {
+            final Resource result = new Resource();
+            result.model.set(model.clone());
+            for (Map.Entry<String, Map<String, Resource>> entry : children.entrySet()) {
+                final Map<String, Resource> copies = new TreeMap<String, Resource>();
+                for (Map.Entry<String, Resource> child : entry.getValue().entrySet()) {
+                    copies.put(child.getKey(), child.getValue().copy());
+                }
+                result.children.put(entry.getKey(), copies);
+            }
+            return result;
+        }
+    }
+
+    private static class OperationFailedException extends Exception {
+
+        OperationFailedException(final String format, final Object... args) {
+            super(String.format(format, args));
+        }
+    }
+
+    /**
+     * An asynchronous operation. Cancelling the operation before it is applied to the model interrupts it and leaves
+     * the model untouched.
+     */
+    private class OperationTask extends AsyncFutureTask<ModelNode> implements Runnable {
+        private final Operation operation;
+        private final OperationMessageHandler messageHandler;
+        private Thread thread;
+        private boolean started;
+        private boolean cancelled;
+
+        OperationTask(final Operation operation, final OperationMessageHandler messageHandler) {
+            super(DIRECT_EXECUTOR);
+            this.operation = operation;
+            this.messageHandler = messageHandler;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                started = true;
+                thread = Thread.currentThread();
+            }
+            try {
+                setResult(execute(operation, messageHandler));
+            } catch (InterruptedIOException e) {
+                if (isCancelRequested()) {
+                    setCancelled();
+                } else {
+                    setFailed(e);
+                }
+            } catch (IOException e) {
+                setFailed(e);
+            } catch (RuntimeException e) {
+                setFailed(e);
+            } finally {
+                synchronized (this) {
+                    thread = null;
+                }
+                // Clear a cancellation which arrived after the operation was applied
+                Thread.interrupted();
+            }
+        }
+
+        void fail(final Throwable cause) {
+            setFailed(cause);
+        }
+
+        private synchronized boolean isCancelRequested() {
+            return cancelled;
+        }
+
+        @Override
+        public synchronized void asyncCancel(final boolean interruptionDesired) {
+            cancelled = true;
+            if (!started) {
+                setCancelled();
+            } else if (thread != null && interruptionDesired) {
+                thread.interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.common;
+
+import static org.jboss.as.controller.client.helpers.ClientConstants.ADD;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.threads.AsyncFuture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author agent
+ */
+public class SimulatedModelControllerClientTest {
+
+    private static final long LATENCY = 200L;
+
+    private SimulatedModelControllerClient client;
+
+    @Before
+    public void setUp() {
+        client = new SimulatedModelControllerClient().setLatency(LATENCY, 0L, TimeUnit.MILLISECONDS);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        client.close();
+    }
+
+    @Test
+    public void asyncOperationsOverlap() throws Exception {
+        final long start = System.nanoTime();
+        final AsyncFuture<ModelNode> first = client.executeAsync(addOperation("first"), null);
+        final AsyncFuture<ModelNode> second = client.executeAsync(addOperation("second"), null);
+        assertTrue(ServerOperations.isSuccessfulOutcome(first.get()));
+        assertTrue(ServerOperations.isSuccessfulOutcome(second.get()));
+        // Both operations waited for the latency at the same time
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2L * LATENCY);
+        assertTrue(exists("first"));
+        assertTrue(exists("second"));
+    }
+
+    @Test
+    public void concurrentCallers() throws Exception {
+        final Thread[] threads = new Thread[4];
+        final IOException[] failures = new IOException[threads.length];
+        final long start = System.nanoTime();
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        client.execute(addOperation("resource-" + index));
+                    } catch (IOException e) {
+                        failures[index] = e;
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < threads.length * LATENCY);
+        for (int i = 0; i < threads.length; i++) {
+            assertNull(failures[i]);
+            assertTrue(exists("resource-" + i));
+        }
+    }
+
+    @Test
+    public void cancelledOperationIsNotApplied() throws Exception {
+        client.setLatency(10L, 0L, TimeUnit.SECONDS);
+        final AsyncFuture<ModelNode> future = client.executeAsync(addOperation("cancelled"), null);
+        future.cancel(true);
+        assertEquals(AsyncFuture.Status.CANCELLED, future.await(5L, TimeUnit.SECONDS));
+        client.setLatency(0L, 0L, TimeUnit.MILLISECONDS);
+        assertFalse(exists("cancelled"));
+        assertFalse(client.getExecutedOperations().contains(ADD));
+    }
+
+    private static ModelNode addOperation(final String name) {
+        final ModelNode op = ServerOperations.createAddOperation(ServerOperations.createAddress("subsystem", name));
+        op.get("value").set(name);
+        return op;
+    }
+
+    private boolean exists(final String name) throws IOException {
+        return ServerOperations.isSuccessfulOutcome(client.execute(ServerOperations.createOperation(ServerOperations.READ_RESOURCE,
+                ServerOperations.createAddress("subsystem", name), false)));
+    }
+}
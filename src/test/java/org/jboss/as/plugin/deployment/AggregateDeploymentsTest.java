@@ -0,0 +1,144 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.execution.BuildSuccess;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.project.MavenProject;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author agent
+ */
+public class AggregateDeploymentsTest {
+
+    private final File war = new File("web.war");
+    private final File jar = new File("ejb.jar");
+
+    private MavenProject ejb;
+    private MavenProject web;
+    private MavenProject parent;
+    private MavenExecutionRequest request;
+    private MavenSession session;
+
+    @Before
+    public void setUp() {
+        ejb = project("ejb");
+        web = project("web");
+        parent = project("parent");
+        request = new DefaultMavenExecutionRequest();
+        session = session();
+    }
+
+    @Test
+    public void archivesInReactorOrder() throws MojoFailureException {
+        final AggregateDeployments deployments = AggregateDeployments.get(session, ids(ejb, web, parent));
+        assertNull(deployments.register(web, "web.war", war));
+        assertEquals(Arrays.asList(id(ejb), id(parent)), deployments.getPending());
+        assertNull(deployments.register(parent, null, null));
+        final Map<String, File> contents = deployments.register(ejb, "ejb.jar", jar);
+        assertEquals(Arrays.asList("ejb.jar", "web.war"), Arrays.asList(contents.keySet().toArray()));
+        assertSame(jar, contents.get("ejb.jar"));
+        assertSame(war, contents.get("web.war"));
+    }
+
+    @Test
+    public void sharedByTheProjectsOfAParallelBuild() {
+        // Each project of a parallel build has its own copy of the session sharing the request
+        final AggregateDeployments deployments = AggregateDeployments.get(session, ids(ejb, web));
+        assertSame(deployments, AggregateDeployments.get(session(), ids(ejb, web)));
+    }
+
+    @Test
+    public void onlyExpectedProjectsAreAwaited() throws MojoFailureException {
+        final AggregateDeployments deployments = AggregateDeployments.get(session, ids(web));
+        assertEquals(Collections.singletonMap("web.war", war), deployments.register(web, "web.war", war));
+    }
+
+    @Test
+    public void nothingToDeploy() throws MojoFailureException {
+        final AggregateDeployments deployments = AggregateDeployments.get(session, ids(ejb, web));
+        assertNull(deployments.register(ejb, null, null));
+        assertTrue(deployments.register(web, null, null).isEmpty());
+    }
+
+    @Test(expected = MojoFailureException.class)
+    public void duplicateDeploymentName() throws MojoFailureException {
+        final AggregateDeployments deployments = AggregateDeployments.get(session, ids(ejb, web));
+        deployments.register(ejb, "app.war", jar);
+        deployments.register(web, "app.war", war);
+    }
+
+    @Test
+    public void projectNeverRegisters() throws MojoFailureException {
+        final AggregateDeployments deployments = AggregateDeployments.get(session, ids(ejb, web));
+        // The ejb project has not been built yet and may still register
+        assertNull(deployments.register(web, "web.war", war));
+        assertTrue(deployments.getMissing(session).isEmpty());
+
+        // The ejb project finished without executing the goal
+        session.getResult().addBuildSummary(new BuildSuccess(ejb, 0L));
+        assertEquals(Collections.singletonList(id(ejb)), deployments.getMissing(session));
+    }
+
+    @SuppressWarnings("deprecation")
+    private MavenSession session() {
+        return new MavenSession(null, request, new DefaultMavenExecutionResult(), Arrays.asList(ejb, web, parent));
+    }
+
+    private static MavenProject project(final String artifactId) {
+        final MavenProject result = new MavenProject();
+        result.setGroupId("org.example");
+        result.setArtifactId(artifactId);
+        return result;
+    }
+
+    private static String id(final MavenProject project) {
+        return AggregateDeployments.id(project);
+    }
+
+    private static Set<String> ids(final MavenProject... projects) {
+        final Set<String> result = new HashSet<String>();
+        for (MavenProject project : projects) {
+            result.add(id(project));
+        }
+        return result;
+    }
+}
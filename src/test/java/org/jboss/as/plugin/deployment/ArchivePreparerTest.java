@@ -0,0 +1,125 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.maven.plugin.MojoFailureException;
+import org.jboss.as.plugin.common.IoUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author agent
+ */
+public class ArchivePreparerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void archivesInSourceOrder() throws Exception {
+        final Map<String, Callable<File>> sources = new LinkedHashMap<String, Callable<File>>();
+        sources.put("org.example:web:war", source(createArchive("a/web.war")));
+        sources.put("org.example:ejb:jar", source(createArchive("b/ejb.jar")));
+        sources.put("org.example:app:ear", source(createArchive("c/app.ear")));
+        final Map<String, File> result = ArchivePreparer.prepare(sources);
+        assertEquals(Arrays.asList("web.war", "ejb.jar", "app.ear"), Arrays.asList(result.keySet().toArray()));
+        assertEquals(new File(temporaryFolder.getRoot(), "b/ejb.jar"), result.get("ejb.jar"));
+    }
+
+    @Test
+    public void noSources() throws Exception {
+        assertTrue(ArchivePreparer.prepare(new LinkedHashMap<String, Callable<File>>()).isEmpty());
+    }
+
+    @Test
+    public void allFailuresAreReported() throws Exception {
+        final File truncated = temporaryFolder.newFile("truncated.war");
+        final FileOutputStream out = new FileOutputStream(truncated);
+        try {
+            out.write(new byte[] {'P', 'K', 3, 4, 0, 0});
+        } finally {
+            IoUtils.safeClose(out);
+        }
+        final Map<String, Callable<File>> sources = new LinkedHashMap<String, Callable<File>>();
+        sources.put("valid", source(createArchive("a/app.war")));
+        sources.put("duplicate", source(createArchive("b/app.war")));
+        sources.put("truncated", source(truncated));
+        sources.put("missing", source(new File(temporaryFolder.getRoot(), "missing.war")));
+        sources.put("unresolved", new Callable<File>() {
+            @Override
+            public File call() throws Exception {
+                throw new IOException("Could not download");
+            }
+        });
+        try {
+            ArchivePreparer.prepare(sources);
+            fail("The archives should not have been prepared");
+        } catch (MojoFailureException e) {
+            final String message = e.getMessage();
+            assertFalse(message, message.contains("valid:"));
+            assertTrue(message, message.contains("duplicate: the deployment name app.war"));
+            assertTrue(message, message.contains("truncated: "));
+            assertTrue(message, message.contains("missing: "));
+            assertTrue(message, message.contains("unresolved: Could not download"));
+        }
+    }
+
+    private File createArchive(final String path) throws IOException {
+        final File result = new File(temporaryFolder.getRoot(), path);
+        result.getParentFile().mkdirs();
+        final ZipOutputStream out = new ZipOutputStream(new FileOutputStream(result));
+        try {
+            out.putNextEntry(new ZipEntry("index.html"));
+            out.write("<html/>".getBytes("UTF-8"));
+            out.closeEntry();
+        } finally {
+            IoUtils.safeClose(out);
+        }
+        return result;
+    }
+
+    private static Callable<File> source(final File file) {
+        return new Callable<File>() {
+            @Override
+            public File call() {
+                return file;
+            }
+        };
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.junit.Test;
+
+/**
+ * @author agent
+ */
+public class ArtifactIndexTest {
+
+    private final Artifact ear = create("org.example", "app", "compile", "ear");
+    private final Artifact war = create("org.example", "web", "runtime", "war");
+    private final Artifact testWar = create("org.example.test", "web-test", "test", "war");
+    private final Artifact jar = create("org.other", "lib", "compile", "jar");
+
+    private final ArtifactIndex index = ArtifactIndex.of(Arrays.asList(ear, war, testWar, jar));
+
+    @Test
+    public void get() {
+        assertSame(war, index.get("org.example", "web"));
+        assertNull(index.get("org.example", "missing"));
+        assertNull(ArtifactIndex.of(null).get("org.example", "web"));
+    }
+
+    @Test
+    public void select() {
+        final List<String> none = Collections.emptyList();
+        assertEquals(Arrays.asList(ear, war, testWar, jar), index.select(none, none, none, none));
+        assertEquals(Arrays.asList(ear, war), index.select(Arrays.asList("compile", "runtime"), Arrays.asList("ear", "war"), none, none));
+        assertEquals(Arrays.asList(ear, war), index.select(none, none, Arrays.asList("org.example"), none));
+        assertEquals(Arrays.asList(war, testWar), index.select(none, none, Arrays.asList("org.example*:web*"), none));
+        assertEquals(Arrays.asList(ear, jar), index.select(none, none, none, Arrays.asList("*:web*")));
+    }
+
+    private static Artifact create(final String groupId, final String artifactId, final String scope, final String type) {
+        return new DefaultArtifact(groupId, artifactId, "1.0", scope, type, null, new DefaultArtifactHandler(type));
+    }
+}
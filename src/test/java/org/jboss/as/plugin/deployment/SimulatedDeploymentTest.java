@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.plugin.common.DeploymentExecutionException;
+import org.jboss.as.plugin.common.DeploymentFailureException;
+import org.jboss.as.plugin.common.DeploymentInspector;
+import org.jboss.as.plugin.common.IoUtils;
+import org.jboss.as.plugin.common.SimulatedModelControllerClient;
+import org.jboss.as.plugin.deployment.Deployment.Type;
+import org.jboss.as.plugin.deployment.standalone.StandaloneDeployment;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Deployment tests against a {@link SimulatedModelControllerClient simulated server}.
+ *
+ * @author agent
+ */
+public class SimulatedDeploymentTest {
+
+    private static final String NAME = "simulated.war";
+    private static final int CONTENT_SIZE = 64 * 1024;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private SimulatedModelControllerClient client;
+    private File content;
+
+    @Before
+    public void setUp() throws Exception {
+        content = temporaryFolder.newFile(NAME);
+        final FileOutputStream out = new FileOutputStream(content);
+        try {
+            out.write(new byte[CONTENT_SIZE]);
+        } finally {
+            IoUtils.safeClose(out);
+        }
+        client = new SimulatedModelControllerClient();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.close();
+    }
+
+    @Test
+    public void deployUndeploy() throws Exception {
+        execute(Type.DEPLOY);
+        assertTrue(client.isDeployed(NAME));
+        assertEquals(Collections.singletonList(NAME), DeploymentInspector.getDeployments(client, NAME, null));
+        assertEquals(CONTENT_SIZE, client.getUploadedBytes());
+
+        execute(Type.UNDEPLOY);
+        assertTrue(client.getDeployments().isEmpty());
+    }
+
+    @Test
+    public void forceDeployReplaces() throws Exception {
+        execute(Type.FORCE_DEPLOY);
+        execute(Type.FORCE_DEPLOY);
+        assertTrue(client.isDeployed(NAME));
+        assertTrue(client.getExecutedOperations().contains("full-replace-deployment"));
+        assertEquals(2L * CONTENT_SIZE, client.getUploadedBytes());
+    }
+
+    @Test
+    public void undeployIgnoreMissing() throws Exception {
+        execute(Type.UNDEPLOY_IGNORE_MISSING);
+        assertFalse(client.getExecutedOperations().contains("composite"));
+    }
+
+    @Test
+    public void failedDeployIsRolledBack() throws Exception {
+        client.failOperation("deploy");
+        try {
+            execute(Type.DEPLOY);
+            fail("The deployment should have failed");
+        } catch (DeploymentExecutionException expected) {
+            // The content added in the same composite operation must be removed
+            assertTrue(client.getDeployments().isEmpty());
+        }
+    }
+
+    @Test
+    public void matchPatternUndeploy() throws Exception {
+        client.addDeployment("app-1.war", true).addDeployment("app-2.war", true).addDeployment("other.war", true);
+        StandaloneDeployment.create(client, content, NAME, Type.UNDEPLOY, "app-.*\\.war", MatchPatternStrategy.ALL).execute();
+        assertEquals(Collections.singletonList("other.war"), client.getDeployments());
+    }
+
+    @Test
+    public void repeatedCyclesWithLatency() throws Exception {
+        client.setLatency(1L, 1L, TimeUnit.MILLISECONDS).setBandwidth(64L * 1024L * 1024L);
+        final int cycles = 50;
+        for (int i = 0; i < cycles; i++) {
+            execute(Type.DEPLOY);
+            execute(Type.REDEPLOY);
+            execute(Type.UNDEPLOY);
+        }
+        assertTrue(client.getDeployments().isEmpty());
+        assertEquals(2L * cycles * CONTENT_SIZE, client.getUploadedBytes());
+    }
+
+    private void execute(final Type type) throws DeploymentExecutionException, DeploymentFailureException {
+        StandaloneDeployment.create(client, content, null, type, null, null).execute();
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.controller.client.helpers.domain.DomainClient;
+import org.jboss.as.plugin.common.DeploymentExecutionException;
+import org.jboss.as.plugin.common.DeploymentFailureException;
+import org.jboss.as.plugin.common.IoUtils;
+import org.jboss.as.plugin.common.SimulatedModelControllerClient;
+import org.jboss.as.plugin.deployment.Deployment.Type;
+import org.jboss.as.plugin.deployment.domain.Domain;
+import org.jboss.as.plugin.deployment.domain.DomainMultiDeployment;
+import org.jboss.as.plugin.deployment.standalone.StandaloneMultiDeployment;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Multi-archive deployment tests against a {@link SimulatedModelControllerClient simulated server}.
+ *
+ * @author agent
+ */
+public class SimulatedMultiDeploymentTest {
+
+    private static final int CONTENT_SIZE = 16 * 1024;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private SimulatedModelControllerClient client;
+    private Map<String, File> contents;
+
+    @Before
+    public void setUp() throws Exception {
+        contents = new LinkedHashMap<String, File>();
+        for (String name : Arrays.asList("ejb.jar", "web.war", "app.ear")) {
+            final File content = temporaryFolder.newFile(name);
+            final FileOutputStream out = new FileOutputStream(content);
+            try {
+                out.write(new byte[CONTENT_SIZE]);
+            } finally {
+                IoUtils.safeClose(out);
+            }
+            contents.put(name, content);
+        }
+        client = new SimulatedModelControllerClient();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.close();
+    }
+
+    @Test
+    public void singlePlan() throws Exception {
+        StandaloneMultiDeployment.create(client, contents, Type.DEPLOY).execute();
+        assertEquals(Arrays.asList("app.ear", "ejb.jar", "web.war"), client.getDeployments());
+        for (String name : contents.keySet()) {
+            assertTrue(client.isDeployed(name));
+        }
+        assertEquals(1, count(client.getExecutedOperations(), "composite"));
+        assertEquals(3L * CONTENT_SIZE, client.getUploadedBytes());
+
+        StandaloneMultiDeployment.create(client, contents, Type.UNDEPLOY).execute();
+        assertTrue(client.getDeployments().isEmpty());
+    }
+
+    @Test
+    public void failedArchiveRollsBackThePlan() throws Exception {
+        // Adding the last archive fails as it is already deployed
+        client.addDeployment("app.ear", true);
+        try {
+            StandaloneMultiDeployment.create(client, contents, Type.DEPLOY).execute();
+            fail("The deployment should have failed");
+        } catch (DeploymentExecutionException expected) {
+            assertEquals(Collections.singletonList("app.ear"), client.getDeployments());
+            assertFalse(client.getExecutedOperations().contains("full-replace-deployment"));
+        }
+    }
+
+    @Test
+    public void forceDeployReplacesExisting() throws Exception {
+        client.addDeployment("web.war", true);
+        StandaloneMultiDeployment.create(client, contents, Type.FORCE_DEPLOY).execute();
+        assertEquals(Arrays.asList("app.ear", "ejb.jar", "web.war"), client.getDeployments());
+        assertEquals(1, count(client.getExecutedOperations(), "full-replace-deployment"));
+    }
+
+    @Test
+    public void undeployMissingFailsBeforeThePlan() throws Exception {
+        client.addDeployment("ejb.jar", true);
+        try {
+            StandaloneMultiDeployment.create(client, contents, Type.UNDEPLOY).execute();
+            fail("The undeployment should have failed");
+        } catch (DeploymentFailureException expected) {
+            assertTrue(client.isDeployed("ejb.jar"));
+            assertEquals(0, count(client.getExecutedOperations(), "composite"));
+        }
+    }
+
+    @Test
+    public void undeployIgnoreMissing() throws Exception {
+        StandaloneMultiDeployment.create(client, contents, Type.UNDEPLOY_IGNORE_MISSING).execute();
+        assertEquals(0, count(client.getExecutedOperations(), "composite"));
+    }
+
+    @Test
+    public void domainWithoutServerGroupsFailsBeforeThePlan() throws Exception {
+        try {
+            DomainMultiDeployment.create(DomainClient.Factory.create(client), new Domain(), contents, Type.DEPLOY).execute();
+            fail("The deployment should have failed");
+        } catch (DeploymentFailureException expected) {
+            assertEquals(0, count(client.getExecutedOperations(), "composite"));
+            assertEquals(0L, client.getUploadedBytes());
+        }
+    }
+
+    @Test
+    public void domainUndeployMissingFailsBeforeThePlan() throws Exception {
+        client.addDeployment("ejb.jar", true);
+        try {
+            DomainMultiDeployment.create(DomainClient.Factory.create(client), new Domain(), contents, Type.UNDEPLOY).execute();
+            fail("The undeployment should have failed");
+        } catch (DeploymentFailureException expected) {
+            assertTrue(client.isDeployed("ejb.jar"));
+            assertEquals(0, count(client.getExecutedOperations(), "composite"));
+        }
+    }
+
+    private static int count(final List<String> values, final String value) {
+        int result = 0;
+        for (String v : values) {
+            if (v.equals(value)) {
+                result++;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment.archive;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.jboss.as.plugin.common.IoUtils;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author agent
+ */
+public class AnnotationIndexerTest {
+
+    private static final String CLASSES_INDEX = "WEB-INF/classes/" + AnnotationIndexer.INDEX_NAME;
+    private static final String LIBRARY = "WEB-INF/lib/library-1.0.jar";
+    private static final String TEST_CLASS = "org/jboss/as/plugin/deployment/archive/AnnotationIndexerTest.class";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File cacheDir;
+
+    @Before
+    public void setUp() throws Exception {
+        cacheDir = temporaryFolder.newFolder("cache");
+    }
+
+    @Test
+    public void webArchive() throws IOException {
+        final File war = createWar(TEST_CLASS, classBytes(AnnotationIndexerTest.class));
+        final AnnotationIndexer indexer = new AnnotationIndexer(cacheDir, new SystemStreamLog());
+        final File indexed = indexer.index(war, new File(temporaryFolder.getRoot(), "indexed/app.war"));
+        assertEquals(2, indexer.getIndexed());
+
+        final Index classesIndex = new IndexReader(new ByteArrayInputStream(readEntry(read(indexed), CLASSES_INDEX))).read();
+        assertNotNull(classesIndex.getClassByName(DotName.createSimple(AnnotationIndexerTest.class.getName())));
+        final Map<String, byte[]> library = unzip(readEntry(read(indexed), LIBRARY));
+        final Index libraryIndex = new IndexReader(new ByteArrayInputStream(library.get(AnnotationIndexer.INDEX_NAME))).read();
+        assertNotNull(libraryIndex.getClassByName(DotName.createSimple(AnnotationIndexer.class.getName())));
+    }
+
+    @Test
+    public void cachedLibraryIndex() throws IOException {
+        final File war = createWar(TEST_CLASS, classBytes(AnnotationIndexerTest.class));
+        final AnnotationIndexer indexer = new AnnotationIndexer(cacheDir, new SystemStreamLog());
+        final File first = indexer.index(war, new File(temporaryFolder.getRoot(), "first/app.war"));
+        assertEquals(0, indexer.getCached());
+        final File second = indexer.index(war, new File(temporaryFolder.getRoot(), "second/app.war"));
+        assertEquals(1, indexer.getCached());
+        assertArrayEquals(readEntry(read(first), LIBRARY), readEntry(read(second), LIBRARY));
+    }
+
+    @Test
+    public void existingIndexIsKept() throws IOException {
+        final byte[] existing = {1, 2, 3, 4};
+        final Map<String, byte[]> entries = new LinkedHashMap<String, byte[]>();
+        entries.put(TEST_CLASS, classBytes(AnnotationIndexerTest.class));
+        entries.put(AnnotationIndexer.INDEX_NAME, existing);
+        final File jar = write("library.jar", zip(entries));
+        final AnnotationIndexer indexer = new AnnotationIndexer(cacheDir, new SystemStreamLog());
+        final File indexed = indexer.index(jar, new File(temporaryFolder.getRoot(), "indexed/library.jar"));
+        assertEquals(0, indexer.getIndexed());
+        assertArrayEquals(existing, readEntry(read(indexed), AnnotationIndexer.INDEX_NAME));
+    }
+
+    @Test
+    public void invalidClassIsNotIndexed() throws IOException {
+        final byte[] invalid = {(byte) 0xCA, (byte) 0xFE, 0, 0};
+        final File war = createWar("org/example/Invalid.class", invalid);
+        final AnnotationIndexer indexer = new AnnotationIndexer(cacheDir, new SystemStreamLog());
+        final File indexed = indexer.index(war, new File(temporaryFolder.getRoot(), "indexed/app.war"));
+        // The classes are left to be scanned by the server, the library is still indexed
+        assertEquals(1, indexer.getIndexed());
+        final ZipFile zipFile = new ZipFile(indexed);
+        try {
+            assertNull(zipFile.getEntry(CLASSES_INDEX));
+        } finally {
+            zipFile.close();
+        }
+        assertArrayEquals(invalid, readEntry(read(indexed), "WEB-INF/classes/org/example/Invalid.class"));
+    }
+
+    private File createWar(final String className, final byte[] classBytes) throws IOException {
+        final Map<String, byte[]> library = new LinkedHashMap<String, byte[]>();
+        library.put("org/jboss/as/plugin/deployment/archive/AnnotationIndexer.class", classBytes(AnnotationIndexer.class));
+        final Map<String, byte[]> entries = new LinkedHashMap<String, byte[]>();
+        entries.put("WEB-INF/classes/" + className, classBytes);
+        entries.put(LIBRARY, zip(library));
+        return write("app.war", zip(entries));
+    }
+
+    private File write(final String name, final byte[] content) throws IOException {
+        final File result = new File(temporaryFolder.getRoot(), name);
+        final FileOutputStream out = new FileOutputStream(result);
+        try {
+            out.write(content);
+        } finally {
+            IoUtils.safeClose(out);
+        }
+        return result;
+    }
+
+    private static byte[] classBytes(final Class<?> type) throws IOException {
+        final InputStream in = type.getResourceAsStream(type.getSimpleName() + ".class");
+        try {
+            return read(in);
+        } finally {
+            IoUtils.safeClose(in);
+        }
+    }
+
+    private static byte[] zip(final Map<String, byte[]> entries) throws IOException {
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        final ZipOutputStream out = new ZipOutputStream(result);
+        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+            out.putNextEntry(new ZipEntry(entry.getKey()));
+            out.write(entry.getValue());
+            out.closeEntry();
+        }
+        out.close();
+        return result.toByteArray();
+    }
+
+    private static byte[] read(final File file) throws IOException {
+        final InputStream in = new FileInputStream(file);
+        try {
+            return read(in);
+        } finally {
+            IoUtils.safeClose(in);
+        }
+    }
+
+    private static Map<String, byte[]> unzip(final byte[] content) throws IOException {
+        final Map<String, byte[]> result = new LinkedHashMap<String, byte[]>();
+        final ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(content));
+        ZipEntry entry;
+        while ((entry = in.getNextEntry()) != null) {
+            result.put(entry.getName(), read(in));
+        }
+        return result;
+    }
+
+    private static byte[] readEntry(final byte[] archive, final String name) throws IOException {
+        return unzip(archive).get(name);
+    }
+
+    private static byte[] read(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int len;
+        while ((len = in.read(buffer)) != -1) {
+            out.write(buffer, 0, len);
+        }
+        return out.toByteArray();
+    }
+}
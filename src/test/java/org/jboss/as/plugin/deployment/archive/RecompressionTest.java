@@ -0,0 +1,209 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment.archive;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.as.plugin.common.IoUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Round trips an enterprise archive with a web archive and a library through the recompression policies.
+ *
+ * @author agent
+ */
+public class RecompressionTest {
+
+    private static final String WAR = "web.war";
+    private static final String JAR = "lib/library.jar";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File ear;
+    private Map<String, byte[]> expected;
+
+    @Before
+    public void setUp() throws Exception {
+        final Map<String, byte[]> war = new LinkedHashMap<String, byte[]>();
+        war.put("WEB-INF/", null);
+        war.put("WEB-INF/web.xml", text("<web-app/>"));
+        war.put("WEB-INF/classes/org/example/App.class", text("class"));
+        war.put("images/logo.png", new byte[] {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3});
+        final Map<String, byte[]> jar = new LinkedHashMap<String, byte[]>();
+        jar.put("META-INF/MANIFEST.MF", text("Manifest-Version: 1.0\r\n\r\n"));
+        jar.put("org/example/Library.class", text("library"));
+        final Map<String, byte[]> entries = new LinkedHashMap<String, byte[]>();
+        entries.put("META-INF/application.xml", text("<application/>"));
+        entries.put(WAR, zip(war));
+        entries.put(JAR, zip(jar));
+        ear = new File(temporaryFolder.getRoot(), "app.ear");
+        final FileOutputStream out = new FileOutputStream(ear);
+        try {
+            out.write(zip(entries));
+        } finally {
+            IoUtils.safeClose(out);
+        }
+        expected = new LinkedHashMap<String, byte[]>();
+        flatten("", read(ear), expected, new LinkedHashMap<String, Integer>());
+    }
+
+    @Test
+    public void keep() throws IOException {
+        assertSame(ear, Recompression.KEEP.apply(ear, new File(temporaryFolder.getRoot(), "keep/app.ear")));
+    }
+
+    @Test
+    public void store() throws IOException {
+        final File stored = Recompression.STORE.apply(ear, new File(temporaryFolder.getRoot(), "store/app.ear"));
+        final Map<String, Integer> methods = assertContent(stored);
+        for (Map.Entry<String, Integer> method : methods.entrySet()) {
+            assertEquals(method.getKey(), ZipEntry.STORED, method.getValue().intValue());
+        }
+        // The nested archives spooled to disk are removed
+        for (String name : stored.getParentFile().list()) {
+            assertFalse(name, name.endsWith(".tmp"));
+        }
+    }
+
+    @Test
+    public void storeMedia() throws IOException {
+        final File stored = Recompression.STORE_MEDIA.apply(ear, new File(temporaryFolder.getRoot(), "store-media/app.ear"));
+        final Map<String, Integer> methods = assertContent(stored);
+        assertEquals(ZipEntry.DEFLATED, methods.get("META-INF/application.xml").intValue());
+        assertEquals(ZipEntry.STORED, methods.get(WAR).intValue());
+        assertEquals(ZipEntry.STORED, methods.get(JAR).intValue());
+        // Nested archives are stored as is
+        assertArrayEquals(readEntry(read(ear), WAR), readEntry(read(stored), WAR));
+        assertArrayEquals(readEntry(read(ear), JAR), readEntry(read(stored), JAR));
+    }
+
+    /**
+     * Asserts the content, including the content of the nested archives, is unchanged and returns the compression
+     * method of each entry.
+     */
+    private Map<String, Integer> assertContent(final File archive) throws IOException {
+        final Map<String, byte[]> content = new LinkedHashMap<String, byte[]>();
+        final Map<String, Integer> methods = new LinkedHashMap<String, Integer>();
+        flatten("", read(archive), content, methods);
+        assertEquals(expected.keySet(), content.keySet());
+        for (Map.Entry<String, byte[]> entry : expected.entrySet()) {
+            assertArrayEquals(entry.getKey(), entry.getValue(), content.get(entry.getKey()));
+        }
+        return methods;
+    }
+
+    /**
+     * Reads the entries of the archive and its nested archives, verifying the CRC and size recorded for every stored
+     * entry.
+     */
+    private static void flatten(final String prefix, final byte[] archive, final Map<String, byte[]> content, final Map<String, Integer> methods) throws IOException {
+        final ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(archive));
+        ZipEntry entry;
+        while ((entry = in.getNextEntry()) != null) {
+            final String name = prefix + entry.getName();
+            final byte[] bytes = read(in);
+            methods.put(name, entry.getMethod());
+            if (entry.getMethod() == ZipEntry.STORED) {
+                final CRC32 crc = new CRC32();
+                crc.update(bytes);
+                assertEquals(name, crc.getValue(), entry.getCrc());
+                assertEquals(name, bytes.length, entry.getSize());
+                assertEquals(name, bytes.length, entry.getCompressedSize());
+            }
+            if (name.endsWith(".war") || name.endsWith(".jar")) {
+                flatten(name + "!/", bytes, content, methods);
+            } else {
+                content.put(name, bytes);
+            }
+        }
+    }
+
+    private static byte[] readEntry(final byte[] archive, final String name) throws IOException {
+        final ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(archive));
+        ZipEntry entry;
+        while ((entry = in.getNextEntry()) != null) {
+            if (entry.getName().equals(name)) {
+                return read(in);
+            }
+        }
+        return null;
+    }
+
+    private static byte[] zip(final Map<String, byte[]> entries) throws IOException {
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        final ZipOutputStream out = new ZipOutputStream(result);
+        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+            out.putNextEntry(new ZipEntry(entry.getKey()));
+            if (entry.getValue() != null) {
+                out.write(entry.getValue());
+            }
+            out.closeEntry();
+        }
+        out.close();
+        return result.toByteArray();
+    }
+
+    private static byte[] text(final String value) throws IOException {
+        return value.getBytes("UTF-8");
+    }
+
+    private static byte[] read(final File file) throws IOException {
+        final InputStream in = new FileInputStream(file);
+        try {
+            return read(in);
+        } finally {
+            IoUtils.safeClose(in);
+        }
+    }
+
+    private static byte[] read(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int len;
+        while ((len = in.read(buffer)) != -1) {
+            out.write(buffer, 0, len);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment.archive;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.as.plugin.common.Checksums;
+import org.jboss.as.plugin.common.IoUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author agent
+ */
+public class ReproducibleArchiveTest {
+
+    private static final String MANIFEST = "META-INF/MANIFEST.MF";
+    private static final String POM_PROPERTIES = "META-INF/maven/org.example/app/pom.properties";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ReproducibleArchive reproducibleArchive = new ReproducibleArchive(ReproducibleArchive.VOLATILE_HEADERS);
+
+    @Test
+    public void deterministicAcrossBuilds() throws IOException {
+        final File first = createBuild("first", 1000000000000L, "alice", "#Mon Jan 01 00:00:00 UTC 2001", false);
+        final File second = createBuild("second", 1300000000000L, "bob", "#Fri Mar 01 00:00:00 UTC 2013", true);
+        assertFalse(Arrays.equals(Checksums.sha1(first), Checksums.sha1(second)));
+
+        final File normalizedFirst = reproducibleArchive.normalize(first, new File(temporaryFolder.getRoot(), "normalized/first/app.war"));
+        final File normalizedSecond = reproducibleArchive.normalize(second, new File(temporaryFolder.getRoot(), "normalized/second/app.war"));
+        assertArrayEquals(Checksums.sha1(normalizedFirst), Checksums.sha1(normalizedSecond));
+    }
+
+    @Test
+    public void manifestContinuationLines() throws IOException {
+        final String manifest = "Manifest-Version: 1.0\r\n" +
+                "Built-By: a-very-long-user-name-which-does-not-fit-on-a-single-line-of-th\r\n" +
+                " e-manifest\r\n" +
+                "Class-Path: lib/first-library-1.0.jar lib/second-library-1.0.jar lib/thi\r\n" +
+                " rd-library-1.0.jar\r\n" +
+                "Implementation-Title: app\r\n" +
+                "\r\n";
+        final byte[] result = reproducibleArchive.normalizeManifest(manifest.getBytes("UTF-8"));
+        assertEquals("Manifest-Version: 1.0\r\n" +
+                "Class-Path: lib/first-library-1.0.jar lib/second-library-1.0.jar lib/thi\r\n" +
+                " rd-library-1.0.jar\r\n" +
+                "Implementation-Title: app\r\n" +
+                "\r\n", new String(result, "UTF-8"));
+    }
+
+    @Test
+    public void signedNestedArchiveIsCopied() throws IOException {
+        final Map<String, byte[]> signedEntries = new LinkedHashMap<String, byte[]>();
+        signedEntries.put(MANIFEST, "Manifest-Version: 1.0\r\nBuilt-By: signer\r\n\r\n".getBytes("UTF-8"));
+        signedEntries.put("META-INF/SIGNER.SF", "Signature-Version: 1.0\r\n\r\n".getBytes("UTF-8"));
+        signedEntries.put("META-INF/SIGNER.RSA", new byte[] {1, 2, 3});
+        signedEntries.put("org/example/Signed.class", new byte[] {4, 5, 6});
+        final byte[] signed = zip(signedEntries, 1000000000000L);
+
+        final Map<String, byte[]> entries = new LinkedHashMap<String, byte[]>();
+        entries.put("WEB-INF/lib/signed-1.0.jar", signed);
+        final File archive = write("signed/app.war", zip(entries, 1000000000000L));
+        final File normalized = reproducibleArchive.normalize(archive, new File(temporaryFolder.getRoot(), "normalized/signed/app.war"));
+        assertArrayEquals(signed, readEntry(normalized, "WEB-INF/lib/signed-1.0.jar"));
+
+        // A signed archive is not rewritten at all, nor is a key written for it
+        final File signedArchive = write("signed/signed.jar", signed);
+        final File signedTarget = new File(temporaryFolder.getRoot(), "normalized/signed/signed.jar");
+        assertSame(signedArchive, reproducibleArchive.normalize(signedArchive, signedTarget));
+        assertFalse(signedTarget.exists());
+        assertFalse(new File(signedTarget.getPath() + ".key").exists());
+    }
+
+    private File createBuild(final String name, final long time, final String builtBy, final String comment, final boolean reversed) throws IOException {
+        final Map<String, byte[]> libraryEntries = new LinkedHashMap<String, byte[]>();
+        libraryEntries.put(MANIFEST, String.format("Manifest-Version: 1.0\r\nBuilt-By: %s\r\nBuild-Jdk: 1.7.0_%s\r\n\r\n", builtBy, name).getBytes("UTF-8"));
+        libraryEntries.put("org/example/lib/Library.class", new byte[] {7, 8, 9});
+
+        final Map<String, byte[]> entries = new LinkedHashMap<String, byte[]>();
+        entries.put(MANIFEST, String.format("Manifest-Version: 1.0\r\nBuilt-By: %s\r\nCreated-By: Apache Maven\r\n\r\n", builtBy).getBytes("UTF-8"));
+        entries.put(POM_PROPERTIES, String.format("%s%n#Generated by Maven%nversion=1.0%ngroupId=org.example%nartifactId=app%n", comment).getBytes("ISO-8859-1"));
+        entries.put("WEB-INF/classes/org/example/App.class", new byte[] {1, 2, 3});
+        entries.put("WEB-INF/lib/library-1.0.jar", zip(libraryEntries, time));
+        entries.put("index.html", "<html/>".getBytes("UTF-8"));
+        final Map<String, byte[]> ordered;
+        if (reversed) {
+            ordered = new LinkedHashMap<String, byte[]>();
+            final String[] names = entries.keySet().toArray(new String[entries.size()]);
+            for (int i = names.length - 1; i >= 0; i--) {
+                ordered.put(names[i], entries.get(names[i]));
+            }
+        } else {
+            ordered = entries;
+        }
+        return write(name + "/app.war", zip(ordered, time));
+    }
+
+    private File write(final String name, final byte[] content) throws IOException {
+        final File result = new File(temporaryFolder.getRoot(), name);
+        result.getParentFile().mkdirs();
+        final FileOutputStream out = new FileOutputStream(result);
+        try {
+            out.write(content);
+        } finally {
+            IoUtils.safeClose(out);
+        }
+        return result;
+    }
+
+    private static byte[] zip(final Map<String, byte[]> entries, final long time) throws IOException {
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        final ZipOutputStream out = new ZipOutputStream(result);
+        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+            final ZipEntry zipEntry = new ZipEntry(entry.getKey());
+            zipEntry.setTime(time);
+            out.putNextEntry(zipEntry);
+            out.write(entry.getValue());
+            out.closeEntry();
+        }
+        out.close();
+        return result.toByteArray();
+    }
+
+    private static byte[] readEntry(final File archive, final String name) throws IOException {
+        final ZipFile zipFile = new ZipFile(archive);
+        try {
+            final InputStream in = zipFile.getInputStream(zipFile.getEntry(name));
+            try {
+                final ByteArrayOutputStream result = new ByteArrayOutputStream();
+                final byte[] buffer = new byte[1024];
+                int len;
+                while ((len = in.read(buffer)) != -1) {
+                    result.write(buffer, 0, len);
+                }
+                return result.toByteArray();
+            } finally {
+                IoUtils.safeClose(in);
+            }
+        } finally {
+            zipFile.close();
+        }
+    }
+}
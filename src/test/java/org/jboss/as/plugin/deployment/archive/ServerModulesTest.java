@@ -0,0 +1,61 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment.archive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * @author agent
+ */
+public class ServerModulesTest {
+
+    @Test
+    public void libraryName() {
+        assertEquals("jackson-core-asl", ServerModules.getLibraryName("jackson-core-asl-1.9.2.jar"));
+        assertEquals("hibernate-validator", ServerModules.getLibraryName("hibernate-validator-4.3.1.Final.jar"));
+        assertEquals("bcprov-jdk16", ServerModules.getLibraryName("bcprov-jdk16-1.46.jar"));
+        assertEquals("xalan", ServerModules.getLibraryName("xalan-2.7.1.jbossorg-1.jar"));
+        assertEquals("guava", ServerModules.getLibraryName("guava-13.jar"));
+        assertNull(ServerModules.getLibraryName("jboss-modules.jar"));
+    }
+
+    @Test
+    public void versionedApiName() {
+        // Versions which are part of the artifact name are kept
+        assertEquals("hibernate-jpa-2.0-api", ServerModules.getLibraryName("hibernate-jpa-2.0-api-1.0.1.Final.jar"));
+        assertEquals("hibernate-jpa-2.1-api", ServerModules.getLibraryName("hibernate-jpa-2.1-api-1.0.0.Final.jar"));
+        assertEquals("1.0.1.Final", ServerModules.getLibraryVersion("hibernate-jpa-2.0-api-1.0.1.Final.jar"));
+    }
+
+    @Test
+    public void majorVersion() {
+        assertTrue(ServerModules.isSameMajorVersion("4.3.0.Final", "4.3.1.Final"));
+        assertFalse(ServerModules.isSameMajorVersion("5.0.1.Final", "4.3.1.Final"));
+        assertFalse(ServerModules.isSameMajorVersion(null, "4.3.1.Final"));
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment.archive;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.jboss.as.plugin.common.IoUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author agent
+ */
+public class SkinnyArchiveTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ServerModules serverModules;
+
+    @Before
+    public void createModules() throws IOException {
+        final File modulesDir = temporaryFolder.newFolder("modules");
+        writeModule(modulesDir, "org.codehaus.jackson.jackson-core-asl", null, "jackson-core-asl-1.9.2.jar");
+        writeModule(modulesDir, "org.hibernate.validator", null, "hibernate-validator-4.3.1.Final.jar");
+        writeModule(modulesDir, "org.hibernate", "3", "hibernate-core-3.6.10.Final.jar");
+        serverModules = ServerModules.scan(modulesDir);
+    }
+
+    @Test
+    public void webArchiveDescriptor() throws IOException {
+        final SkinnyArchive archive = SkinnyArchive.analyze(createArchive("app.war", "WEB-INF/lib/",
+                "jackson-core-asl-1.9.9.jar", "hibernate-core-3.6.9.Final.jar", "hibernate-validator-5.0.1.Final.jar", "app-lib-1.0.jar"), serverModules);
+        assertEquals(2, archive.getProvidedLibraries().size());
+        assertEquals(1, archive.getMismatchedLibraries().size());
+        assertEquals("WEB-INF/lib/hibernate-validator-5.0.1.Final.jar", archive.getMismatchedLibraries().get(0).getEntryName());
+        assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<jboss-deployment-structure>\n" +
+                "    <deployment>\n" +
+                "        <dependencies>\n" +
+                "            <module name=\"org.codehaus.jackson.jackson-core-asl\"/>\n" +
+                "            <module name=\"org.hibernate\" slot=\"3\"/>\n" +
+                "        </dependencies>\n" +
+                "    </deployment>\n" +
+                "</jboss-deployment-structure>\n", archive.createDescriptor());
+    }
+
+    @Test
+    public void enterpriseArchiveDescriptorExportsModules() throws IOException {
+        final SkinnyArchive archive = SkinnyArchive.analyze(createArchive("app.ear", "lib/", "jackson-core-asl-1.9.9.jar"), serverModules);
+        assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<jboss-deployment-structure>\n" +
+                "    <deployment>\n" +
+                "        <dependencies>\n" +
+                "            <module name=\"org.codehaus.jackson.jackson-core-asl\" export=\"true\"/>\n" +
+                "        </dependencies>\n" +
+                "    </deployment>\n" +
+                "</jboss-deployment-structure>\n", archive.createDescriptor());
+    }
+
+    @Test
+    public void stripIsReproducibleAndCached() throws IOException {
+        final SkinnyArchive archive = SkinnyArchive.analyze(createArchive("app.war", "WEB-INF/lib/",
+                "jackson-core-asl-1.9.9.jar", "app-lib-1.0.jar"), serverModules);
+        final File first = archive.strip(new File(temporaryFolder.getRoot(), "first/app.war"));
+        final ZipFile zipFile = new ZipFile(first);
+        try {
+            assertNull(zipFile.getEntry("WEB-INF/lib/jackson-core-asl-1.9.9.jar"));
+            assertNotNull(zipFile.getEntry("WEB-INF/lib/app-lib-1.0.jar"));
+            assertEquals(PreparedArchives.entryTime(), zipFile.getEntry("WEB-INF/jboss-deployment-structure.xml").getTime());
+        } finally {
+            zipFile.close();
+        }
+        // Stripping the same archive again results in the same bytes
+        final File second = archive.strip(new File(temporaryFolder.getRoot(), "second/app.war"));
+        assertArrayEquals(read(first), read(second));
+
+        // An up to date copy is not written again
+        assertTrue(first.setLastModified(1000L));
+        assertEquals(first, archive.strip(first));
+        assertEquals(1000L, first.lastModified());
+    }
+
+    private File createArchive(final String name, final String libraryDir, final String... libraries) throws IOException {
+        final File result = new File(temporaryFolder.getRoot(), name);
+        final ZipOutputStream out = new ZipOutputStream(new FileOutputStream(result));
+        try {
+            for (String library : libraries) {
+                final ZipEntry entry = new ZipEntry(libraryDir + library);
+                entry.setTime(1000L);
+                out.putNextEntry(entry);
+                out.write(new byte[] {1, 2, 3});
+                out.closeEntry();
+            }
+        } finally {
+            IoUtils.safeClose(out);
+        }
+        return result;
+    }
+
+    private static byte[] read(final File file) throws IOException {
+        final InputStream in = new FileInputStream(file);
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[1024];
+            int len;
+            while ((len = in.read(buffer)) != -1) {
+                out.write(buffer, 0, len);
+            }
+            return out.toByteArray();
+        } finally {
+            IoUtils.safeClose(in);
+        }
+    }
+
+    private static void writeModule(final File modulesDir, final String name, final String slot, final String jarName) throws IOException {
+        final File dir = new File(modulesDir, name.replace('.', '/') + "/" + (slot == null ? "main" : slot));
+        dir.mkdirs();
+        final OutputStream out = new FileOutputStream(new File(dir, "module.xml"));
+        try {
+            out.write(String.format("<module xmlns=\"urn:jboss:module:1.1\" name=\"%s\"%s>%n    <resources>%n        <resource-root path=\"%s\"/>%n    </resources>%n</module>%n",
+                    name, (slot == null ? "" : " slot=\"" + slot + "\""), jarName).getBytes("UTF-8"));
+        } finally {
+            IoUtils.safeClose(out);
+        }
+    }
+}
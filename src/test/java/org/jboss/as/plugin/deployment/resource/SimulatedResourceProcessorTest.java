@@ -0,0 +1,112 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.jboss.as.plugin.common.ServerOperations;
+import org.jboss.as.plugin.common.SimulatedModelControllerClient;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Adds resources to a {@link SimulatedModelControllerClient simulated server}.
+ *
+ * @author agent
+ */
+public class SimulatedResourceProcessorTest {
+
+    private static final String PARENT = "subsystem=simulated";
+    private static final String CHILD = "entry=one";
+
+    private SimulatedModelControllerClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        client = new SimulatedModelControllerClient();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.close();
+    }
+
+    @Test
+    public void compositeResource() throws Exception {
+        ResourceProcessor.create(client, null, false).process(createResource());
+        // Both resources are added, and the parent enabled, in a single composite operation
+        assertEquals(Arrays.asList("read-resource", "composite", "add", "add", "enable"), client.getExecutedOperations());
+        assertTrue(exists(PARENT));
+        assertTrue(exists(PARENT + "," + CHILD));
+    }
+
+    @Test
+    public void existingResourceFails() throws Exception {
+        ResourceProcessor.create(client, null, false).process(createResource());
+        try {
+            ResourceProcessor.create(client, null, false).process(createResource());
+            fail("Adding an existing resource should fail");
+        } catch (RuntimeException expected) {
+            assertFalse(client.getExecutedOperations().contains("remove"));
+        }
+    }
+
+    @Test
+    public void forceReplacesResource() throws Exception {
+        ResourceProcessor.create(client, null, false).process(createResource());
+        ResourceProcessor.create(client, null, true).process(createResource());
+        assertTrue(client.getExecutedOperations().contains("remove"));
+        assertTrue(exists(PARENT + "," + CHILD));
+    }
+
+    @Test
+    public void failedStepIsRolledBack() throws Exception {
+        client.failOperation(ServerOperations.ENABLE);
+        try {
+            ResourceProcessor.create(client, null, false).process(createResource());
+            fail("The composite operation should have failed");
+        } catch (RuntimeException expected) {
+            // The resources added in the same composite operation must be removed
+            assertFalse(exists(PARENT));
+        }
+    }
+
+    private static Resource createResource() {
+        final Map<String, String> properties = Collections.singletonMap("value", "simulated");
+        return new Resource(PARENT, properties, true, new Resource(CHILD, properties, false));
+    }
+
+    private boolean exists(final String address) throws IOException {
+        return ServerOperations.isSuccessfulOutcome(client.execute(ServerOperations.createOperation(ServerOperations.READ_RESOURCE,
+                ResourceProcessor.parseAddress(null, address), false)));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.deployment.standalone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.jboss.as.plugin.deployment.standalone.StandaloneOverlayDeployment.Delta;
+import org.junit.Test;
+
+/**
+ * @author agent
+ */
+public class StandaloneOverlayDeploymentTest {
+
+    @Test
+    public void unchanged() {
+        final Properties manifest = manifest("index.jsp", "1:10", "WEB-INF/web.xml", "2:20");
+        assertTrue(Delta.create(manifest, entries("index.jsp", "1:10", "WEB-INF/web.xml", "2:20")).isEmpty());
+    }
+
+    @Test
+    public void changedAndAdded() {
+        final Properties manifest = manifest("index.jsp", "1:10", "WEB-INF/web.xml", "2:20");
+        final Delta delta = Delta.create(manifest, entries("index.jsp", "3:30", "WEB-INF/web.xml", "2:20", "new.css", "4:40"));
+        Collections.sort(delta.added);
+        assertEquals(Arrays.asList("index.jsp", "new.css"), delta.added);
+        assertTrue(delta.removed.isEmpty());
+        assertEquals(70L, delta.size);
+    }
+
+    @Test
+    public void overlayUpdated() {
+        final Properties manifest = manifest("index.jsp", "1:10", "style.css", "2:20");
+        manifest.setProperty("overlay.index.jsp", "3:30");
+        manifest.setProperty("overlay.style.css", "4:40");
+        // index.jsp changed again, style.css reverted to the deployed content
+        final Delta delta = Delta.create(manifest, entries("index.jsp", "5:50", "style.css", "2:20"));
+        Collections.sort(delta.removed);
+        assertEquals(Arrays.asList("index.jsp", "style.css"), delta.removed);
+        assertEquals(Arrays.asList("index.jsp"), delta.added);
+        assertEquals(50L, delta.size);
+    }
+
+    @Test
+    public void removedEntry() {
+        final Properties manifest = manifest("index.jsp", "1:10", "WEB-INF/web.xml", "2:20");
+        assertNull(Delta.create(manifest, entries("WEB-INF/web.xml", "2:20")));
+    }
+
+    @Test
+    public void baseline() {
+        final Properties manifest = manifest("index.jsp", "1:10");
+        manifest.setProperty("hash", "0a0b");
+        assertTrue(StandaloneOverlayDeployment.isBaseline(manifest, new byte[] {0x0a, 0x0b}, false));
+        // The overlay was removed from the server by another deployment
+        manifest.setProperty("overlay.index.jsp", "2:20");
+        assertFalse(StandaloneOverlayDeployment.isBaseline(manifest, new byte[] {0x0a, 0x0b}, false));
+        assertTrue(StandaloneOverlayDeployment.isBaseline(manifest, new byte[] {0x0a, 0x0b}, true));
+    }
+
+    @Test
+    public void contentReplaced() {
+        final Properties manifest = manifest("index.jsp", "1:10");
+        manifest.setProperty("hash", "0a0b");
+        assertFalse(StandaloneOverlayDeployment.isBaseline(manifest, new byte[] {0x0a, 0x0c}, false));
+        assertFalse(StandaloneOverlayDeployment.isBaseline(manifest, null, false));
+        // Manifests written before the hash was recorded
+        assertFalse(StandaloneOverlayDeployment.isBaseline(manifest("index.jsp", "1:10"), new byte[] {0x0a, 0x0b}, false));
+    }
+
+    @Test
+    public void uncompressedSize() {
+        assertEquals(30L, StandaloneOverlayDeployment.sizeOf(entries("index.jsp", "1:10", "WEB-INF/web.xml", "2:20")));
+        assertEquals(0L, StandaloneOverlayDeployment.sizeOf(entries()));
+    }
+
+    private static Properties manifest(final String... values) {
+        final Properties result = new Properties();
+        for (int i = 0; i < values.length; i += 2) {
+            result.setProperty("baseline." + values[i], values[i + 1]);
+        }
+        return result;
+    }
+
+    private static Map<String, String> entries(final String... values) {
+        final Map<String, String> result = new HashMap<String, String>();
+        for (int i = 0; i < values.length; i += 2) {
+            result.put(values[i], values[i + 1]);
+        }
+        return result;
+    }
+}
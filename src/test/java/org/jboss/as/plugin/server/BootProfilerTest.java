@@ -0,0 +1,129 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2026, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.plugin.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Calendar;
+
+import org.jboss.as.plugin.common.IoUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Parses fabricated boot logs.
+ *
+ * @author agent
+ */
+public class BootProfilerTest {
+
+    private static final String PREVIOUS_BOOT = "10:00:00,000 INFO  [org.jboss.as] (MSC service thread 1-1) JBAS015899: JBoss AS 7.2.0.Final starting\n" +
+            "10:00:01,000 INFO  [org.jboss.as.naming] (MSC service thread 1-2) JBAS011800: Activating Naming Subsystem\n" +
+            "10:00:09,000 INFO  [org.jboss.as] (Controller Boot Thread) JBAS015874: JBoss AS 7.2.0.Final started in 9000ms\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void skipsPreviousBoots() throws Exception {
+        final File bootLog = temporaryFolder.newFile("boot.log");
+        write(bootLog, PREVIOUS_BOOT);
+        final long position = bootLog.length();
+        write(bootLog, PREVIOUS_BOOT +
+                "12:00:00,500 INFO  [org.jboss.as] (MSC service thread 1-1) JBAS015899: JBoss AS 7.2.0.Final starting\n" +
+                "12:00:01,000 INFO  [org.jboss.as.naming] (MSC service thread 1-2) JBAS011800: Activating Naming Subsystem\n" +
+                "12:00:01,250 INFO  [org.jboss.as.naming] (MSC service thread 1-2) JBAS011802: Starting Naming Service\n" +
+                "12:00:02,000 INFO  [org.jboss.as.server.deployment] (MSC service thread 1-3) JBAS015876: Starting deployment of \"app.war\"\n" +
+                "12:00:03,000 INFO  [org.jboss.as.server] (Controller Boot Thread) JBAS018559: Deployed \"app.war\"\n" +
+                "12:00:03,500 INFO  [org.jboss.as] (Controller Boot Thread) JBAS015874: JBoss AS 7.2.0.Final started in 3000ms\n");
+        final BootProfiler.Boot boot = new BootProfiler(time(12, 0, 0, 0), bootLog, position).parse();
+        assertEquals(3000L, boot.startedIn);
+        assertEquals(500L, boot.events.get(0).getKey().longValue());
+        assertEquals(1000L, boot.subsystems.get("naming")[0]);
+        assertEquals(1250L, boot.subsystems.get("naming")[1]);
+        assertEquals(2000L, boot.deployments.get("app.war")[0]);
+        assertEquals(3000L, boot.deployments.get("app.war")[1]);
+    }
+
+    @Test
+    public void lastBootAfterReload() throws Exception {
+        final File bootLog = temporaryFolder.newFile("boot.log");
+        write(bootLog, PREVIOUS_BOOT +
+                "10:00:10,000 INFO  [org.jboss.as] (MSC service thread 1-1) JBAS015899: JBoss AS 7.2.0.Final starting\n" +
+                "10:00:12,000 INFO  [org.jboss.as] (Controller Boot Thread) JBAS015874: JBoss AS 7.2.0.Final started in 2000ms\n");
+        final BootProfiler.Boot boot = new BootProfiler(time(10, 0, 0, 0), bootLog, 0L).parse();
+        assertEquals(2000L, boot.startedIn);
+        assertEquals(10000L, boot.events.get(0).getKey().longValue());
+        assertTrue(boot.subsystems.containsKey("org.jboss.as"));
+        assertEquals(1, boot.subsystems.size());
+    }
+
+    @Test
+    public void midnightRollover() throws Exception {
+        final File bootLog = temporaryFolder.newFile("boot.log");
+        write(bootLog, PREVIOUS_BOOT);
+        final long position = bootLog.length();
+        write(bootLog, PREVIOUS_BOOT +
+                "23:59:59,500 INFO  [org.jboss.as] (MSC service thread 1-1) JBAS015899: JBoss AS 7.2.0.Final starting\n" +
+                "00:00:00,250 INFO  [org.jboss.as.naming] (MSC service thread 1-2) JBAS011800: Activating Naming Subsystem\n" +
+                "00:00:01,000 INFO  [org.jboss.as] (Controller Boot Thread) JBAS015874: JBoss AS 7.2.0.Final started in 1500ms\n");
+        final BootProfiler.Boot boot = new BootProfiler(time(23, 59, 59, 0), bootLog, position).parse();
+        assertEquals(1500L, boot.startedIn);
+        assertEquals(500L, boot.events.get(0).getKey().longValue());
+        assertEquals(1250L, boot.subsystems.get("naming")[0]);
+        assertEquals(2000L, boot.events.get(1).getKey().longValue());
+    }
+
+    @Test
+    public void replacedBootLog() throws Exception {
+        final File bootLog = temporaryFolder.newFile("boot.log");
+        write(bootLog, "12:00:00,500 INFO  [org.jboss.as] (MSC service thread 1-1) JBAS015899: JBoss AS 7.2.0.Final starting\n" +
+                "12:00:02,500 INFO  [org.jboss.as] (Controller Boot Thread) JBAS015874: JBoss AS 7.2.0.Final started in 2000ms\n");
+        // The boot log was recreated since the launch and is shorter than the recorded position
+        final BootProfiler.Boot boot = new BootProfiler(time(12, 0, 0, 0), bootLog, 1024L * 1024L).parse();
+        assertEquals(2000L, boot.startedIn);
+    }
+
+    private static long time(final int hour, final int minute, final int second, final int millis) {
+        final Calendar calendar = Calendar.getInstance();
+        calendar.set(2026, Calendar.MARCH, 1, hour, minute, second);
+        calendar.set(Calendar.MILLISECOND, millis);
+        return calendar.getTimeInMillis();
+    }
+
+    private static void write(final File file, final String content) throws IOException {
+        final Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write(content);
+        } finally {
+            IoUtils.safeClose(writer);
+        }
+    }
+}